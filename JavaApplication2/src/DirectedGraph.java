@@ -2,7 +2,7 @@ import java.util.Iterator;
 import java.util.Stack;
 import java.util.Queue;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.PriorityQueue;
+import java.util.List;
 import javaapplication2.Cidade;
 /**
  * A class that implements the ADT directed graph.
@@ -12,8 +12,14 @@ import javaapplication2.Cidade;
  */
 public class DirectedGraph<T> implements GraphInterface<T>, java.io.Serializable
 {
+	// criteria of the route alternatives in a Cidade, for cheapest-path searches
+	public static final int COST = 0;
+	public static final int DISTANCE = 1;
+	public static final int TIME = 2;
+
 	private DictionaryInterface<T, VertexInterface<T>> vertices;
 	private int edgeCount;
+	private transient MultiCriteriaGraph<T> routes; // edges' costs in primitive arrays; null after a change
 	
 	public DirectedGraph()
 	{
@@ -24,6 +30,7 @@ public class DirectedGraph<T> implements GraphInterface<T>, java.io.Serializable
 	public boolean addVertex(T vertexLabel)
 	{
 	  VertexInterface<T> isDuplicate = vertices.add(vertexLabel, new Vertex(vertexLabel));
+	  routes = null;
 	  return isDuplicate == null; // was add to dictionary successful?
 	} // end addVertex
 
@@ -38,7 +45,10 @@ public class DirectedGraph<T> implements GraphInterface<T>, java.io.Serializable
 	    result = beginVertex.connect(endVertex, edgeWeight);
 	    
 	  if (result)
+	  {
 	    edgeCount++;
+	    routes = null;
+	  } // end if
 	    
 	  return result;
 	} // end addEdge
@@ -81,6 +91,7 @@ public class DirectedGraph<T> implements GraphInterface<T>, java.io.Serializable
 	{
 	  vertices.clear();
 	  edgeCount = 0;
+	  routes = null;
 	} // end clear
 
 	public int getNumberOfVertices()
@@ -236,66 +247,119 @@ public class DirectedGraph<T> implements GraphInterface<T>, java.io.Serializable
 	  return pathLength;
 	} // end getShortestPath
 
-	/** Precondition: path is an empty stack (NOT null) */
-	public double getCheapestPath(T begin, T end, Stack<T> path) // STUDENT EXERCISE
+	/** Task: Finds the path between two given vertices of least COST.
+	 *        Every route alternative of each edge is considered.
+	 *  Precondition: path is an empty stack (NOT null)
+	 *  @return the path's cost, or Double.POSITIVE_INFINITY if there is
+	 *          no path */
+	public double getCheapestPath(T begin, T end, Stack<T> path)
 	{
-		resetVertices();
-		boolean done = false;
+		return getCheapestPath(begin, end, path, COST);
+	} // end getCheapestPath
 
-		// use EntryPQ instead of Vertex because multiple entries contain 
-		// the same vertex but different costs - cost of path to vertex is EntryPQ's priority value
-		PriorityQueue<EntryPQ> priorityQueue = new PriorityQueue<EntryPQ>();
-		
-		VertexInterface<T> originVertex = vertices.getValue(begin);
-		VertexInterface<T> endVertex = vertices.getValue(end);
+	/** Task: Finds the least-cost path between two given vertices by one
+	 *        criterion.
+	 *  Precondition: path is an empty stack (NOT null)
+	 *  @param criterion  COST, DISTANCE or TIME
+	 *  @return the path's cost by the criterion, or
+	 *          Double.POSITIVE_INFINITY if there is no path */
+	public double getCheapestPath(T begin, T end, Stack<T> path, int criterion)
+	{
+		return getRoutes().getCheapestPath(begin, end, criterion, path);
+	} // end getCheapestPath
 
-		priorityQueue.add(new EntryPQ(originVertex, null, null));
-	
-		while (!done && !priorityQueue.isEmpty())
+	/** Task: Finds the least-cost path between two given vertices by one
+	 *        criterion, and which route alternative each hop takes.
+	 *  Precondition: path and hopAlternatives are empty stacks (NOT null)
+	 *  @param criterion        COST, DISTANCE or TIME
+	 *  @param hopAlternatives  receives, for each edge along the path, the
+	 *                          index in the edge's Cidade.getC() of the
+	 *                          alternative taken, the first edge's on top
+	 *  @return the path's cost by the criterion, or
+	 *          Double.POSITIVE_INFINITY if there is no path */
+	public double getCheapestPath(T begin, T end, Stack<T> path, int criterion,
+	                              Stack<Integer> hopAlternatives)
+	{
+		if ( (criterion < COST) || (criterion > TIME) )
+			throw new IllegalArgumentException("No criterion " + criterion);
+
+		double[] criterionWeights = new double[3];
+		criterionWeights[criterion] = 1;
+		return getCheapestPath(begin, end, path, criterionWeights, hopAlternatives);
+	} // end getCheapestPath
+
+	/** Task: Finds the path between two given vertices whose weighted sum
+	 *        of cost, distance and time is least.
+	 *  Precondition: path is an empty stack (NOT null)
+	 *  @param criterionWeights  the factors of COST, DISTANCE and TIME,
+	 *                           indexed by those constants
+	 *  @return the path's weighted sum, or Double.POSITIVE_INFINITY if
+	 *          there is no path */
+	public double getCheapestPath(T begin, T end, Stack<T> path, double[] criterionWeights)
+	{
+		return getRoutes().getCheapestPath(begin, end, criterionWeights, path);
+	} // end getCheapestPath
+
+	/** Task: Finds the path between two given vertices whose weighted sum
+	 *        of cost, distance and time is least, and which route
+	 *        alternative each hop takes.
+	 *  Precondition: path and hopAlternatives are empty stacks (NOT null)
+	 *  @param hopAlternatives  receives, for each edge along the path, the
+	 *                          index in the edge's Cidade.getC() of the
+	 *                          alternative taken, the first edge's on top
+	 *  @return the path's weighted sum, or Double.POSITIVE_INFINITY if
+	 *          there is no path */
+	public double getCheapestPath(T begin, T end, Stack<T> path, double[] criterionWeights,
+	                              Stack<Integer> hopAlternatives)
+	{
+		return getRoutes().getCheapestPath(begin, end, criterionWeights, path, hopAlternatives);
+	} // end getCheapestPath
+
+	/** Task: Finds every path between two given vertices that no other
+	 *        path matches or beats in cost, distance and time together.
+	 *        See MultiCriteriaGraph.getParetoPaths.
+	 *  @return a list of the paths, whose costs are indexed by COST,
+	 *          DISTANCE and TIME and whose alternatives are the indexes
+	 *          in each edge's Cidade.getC() of the route taken */
+	public List<ParetoPath<T>> getParetoPaths(T begin, T end)
+	{
+		return getRoutes().getParetoPaths(begin, end);
+	} // end getParetoPaths
+
+	// copies the edges' cost, distance and time into primitive arrays,
+	// once for each version of the graph
+	private MultiCriteriaGraph<T> getRoutes()
+	{
+		if (routes == null)
 		{
-			EntryPQ frontEntry = priorityQueue.remove();
-			VertexInterface<T> frontVertex = frontEntry.getVertex();
-			
-			if (!frontVertex.isVisited())
+			MultiCriteriaGraph<T> newRoutes = new MultiCriteriaGraph<T>(3);
+			double[] edgeWeights = new double[3];
+			Iterator<VertexInterface<T>> vertexIterator = vertices.getValueIterator();
+			while (vertexIterator.hasNext())
 			{
-				frontVertex.visit();
-				frontVertex.setCost(frontEntry.getCost());
-				frontVertex.setPredecessor(frontEntry.getPredecessor());
-				
-				if (frontVertex.equals(endVertex))
-					done = true;
-				else 
+				VertexInterface<T> nextVertex = vertexIterator.next();
+				newRoutes.addVertex(nextVertex.getLabel());
+				Iterator<VertexInterface<T>> neighbors = nextVertex.getNeighborIterator();
+				Iterator<Cidade> edgeWeightIterator = nextVertex.getWeightIterator();
+				while (neighbors.hasNext())
 				{
-					Iterator<VertexInterface<T>> neighbors = frontVertex.getNeighborIterator();
-					Iterator<Cidade> edgeWeights = frontVertex.getWeightIterator();
-					while (neighbors.hasNext())
+					T neighborLabel = neighbors.next().getLabel();
+					Cidade route = edgeWeightIterator.next();
+					for (int alternative = 0; alternative < route.getC().length; alternative++)
 					{
-						VertexInterface<T> nextNeighbor = neighbors.next();
-						Cidade weightOfEdgeToNeighbor = edgeWeights.next();
-						
-						if (!nextNeighbor.isVisited())
-						{
-							double nextCost = weightOfEdgeToNeighbor.getC()[0].getCusto() + frontVertex.getCost().getC()[0].getCusto();
-							priorityQueue.add(new EntryPQ(nextNeighbor, weightOfEdgeToNeighbor, frontVertex));
-						} // end if
-					} // end while
-				} // end if
-			} // end if
-		} // end while
+						edgeWeights[COST] = route.getC()[alternative].getCusto();
+						edgeWeights[DISTANCE] = route.getC()[alternative].getKms();
+						edgeWeights[TIME] = route.getC()[alternative].getDur();
+						newRoutes.addEdge(nextVertex.getLabel(), neighborLabel, edgeWeights, alternative);
+					} // end for
+				} // end while
+			} // end while
 
-		// traversal ends, construct cheapest path
-		double pathCost = endVertex.getCost().getC()[0].getCusto();
-		path.push(endVertex.getLabel());
-		
-		VertexInterface<T> vertex = endVertex;
-		while (vertex.hasPredecessor())
-		{
-			vertex = vertex.getPredecessor();
-			path.push(vertex.getLabel());
-		} // end while
+			routes = newRoutes;
+		} // end if
 
-		return pathCost;
-	} // end getCheapestPath
+		return routes;
+	} // end getRoutes
 
 	protected VertexInterface<T> findTerminal()
 	{
@@ -336,45 +400,4 @@ public class DirectedGraph<T> implements GraphInterface<T>, java.io.Serializable
                         
 		} // end while
 	} // end display 
-	
-	private class EntryPQ implements Comparable<EntryPQ>, java.io.Serializable
-	{
-		private VertexInterface<T> vertex; 	
-		private VertexInterface<T> previousVertex; 
-		private Cidade cost; // cost to nextVertex
-		
-		private EntryPQ(VertexInterface<T> vertex, Cidade cost, VertexInterface<T> previousVertex)
-		{
-			this.vertex = vertex;
-			this.previousVertex = previousVertex;
-			this.cost = cost;
-		} // end constructor
-		
-		public VertexInterface<T> getVertex()
-		{
-			return vertex;
-		} // end getVertex
-		
-		public VertexInterface<T> getPredecessor()
-		{
-			return previousVertex;
-		} // end getPredecessor
-
-		public Cidade getCost()
-		{
-			return cost;
-		} // end getCost
-		
-		public int compareTo(EntryPQ otherEntry)
-		{
-			// using opposite of reality since our priority queue uses a maxHeap;
-			// could revise using a minheap
-			return (int)Math.signum(otherEntry.cost.getC()[0].getCusto() - cost.getC()[0].getCusto());
-		} // end compareTo
-		
-		public String toString()
-		{
-			return vertex.toString() + " " + cost;
-		} // end toString 
-	} // end EntryPQ
 } // end DirectedGraph
\ No newline at end of file
@@ -0,0 +1,559 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Stack;
+
+/**
+ * A class of directed graphs whose edges each have several weights, one
+ * for each criterion such as cost, distance or time. The vertices are
+ * numbered and the edges are kept in compressed sparse row form: the edges
+ * leaving vertex v are at positions offsets[v] through offsets[v + 1] - 1
+ * of an array of targets, and the weights of all edges for one criterion
+ * are in one array of doubles. A search reads only primitive arrays, so
+ * comparing two paths never follows a reference.
+ *
+ * Edges are added first; the arrays are sorted by origin when the graph is
+ * first searched, and again after more edges are added. Several edges may
+ * join the same two vertices, for instance to offer alternative routes;
+ * each edge then carries a number, its alternative, that the paths found
+ * report for each hop so that the edges can be told apart. Weights must
+ * not be negative.
+ *
+ * @version 1.0
+ */
+public class MultiCriteriaGraph<T> implements java.io.Serializable
+{
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private final int numberOfCriteria;
+	private Map<T, Integer> vertexIds;  // number of each label
+	private T[] labels;                 // label of each vertex
+	private int numberOfVertices;
+	private int[] sources;              // origin of each edge
+	private int[] targets;              // end of each edge
+	private double[][] weights;         // weights[c][e] is edge e's weight for criterion c
+	private int[] alternatives;         // alternative of each edge
+	private int numberOfEdges;
+	private int[] offsets;              // first edge of each vertex, or null if not sorted
+
+	/** Task: Creates an empty graph.
+	 *  @param numberOfCriteria  the number of weights of each edge */
+	public MultiCriteriaGraph(int numberOfCriteria)
+	{
+		if (numberOfCriteria <= 0)
+			throw new IllegalArgumentException("An edge needs at least one weight");
+
+		this.numberOfCriteria = numberOfCriteria;
+		vertexIds = new HashMap<T, Integer>();
+		labels = (T[])new Object[DEFAULT_CAPACITY];
+		numberOfVertices = 0;
+		sources = new int[DEFAULT_CAPACITY];
+		targets = new int[DEFAULT_CAPACITY];
+		weights = new double[numberOfCriteria][DEFAULT_CAPACITY];
+		alternatives = new int[DEFAULT_CAPACITY];
+		numberOfEdges = 0;
+		offsets = null;
+	} // end constructor
+
+	public int getNumberOfCriteria()
+	{
+		return numberOfCriteria;
+	} // end getNumberOfCriteria
+
+	public int getNumberOfVertices()
+	{
+		return numberOfVertices;
+	} // end getNumberOfVertices
+
+	public int getNumberOfEdges()
+	{
+		return numberOfEdges;
+	} // end getNumberOfEdges
+
+	/** Task: Adds a vertex, which need not have any edges.
+	 *  @return true if the vertex is new */
+	public boolean addVertex(T vertexLabel)
+	{
+		int before = numberOfVertices;
+		intern(vertexLabel);
+		return numberOfVertices > before;
+	} // end addVertex
+
+	/** Task: Adds an edge of alternative 0, along with any of its vertices
+	 *        that are new. See addEdge(T, T, double[], int). */
+	public void addEdge(T begin, T end, double[] edgeWeights)
+	{
+		addEdge(begin, end, edgeWeights, 0);
+	} // end addEdge
+
+	/** Task: Adds an edge, along with any of its vertices that are new.
+	 *  @param edgeWeights  the edge's weight for each criterion
+	 *  @param alternative  a number that tells this edge apart from others
+	 *                      that join the same two vertices, such as the
+	 *                      index of a route alternative
+	 *  @throws IllegalArgumentException if there is not one weight for
+	 *          each criterion or a weight is negative */
+	public void addEdge(T begin, T end, double[] edgeWeights, int alternative)
+	{
+		if (edgeWeights.length != numberOfCriteria)
+			throw new IllegalArgumentException("Expected " + numberOfCriteria + " weights but got " +
+			                                   edgeWeights.length);
+		for (double edgeWeight : edgeWeights)
+		{
+			if (!(edgeWeight >= 0))
+				throw new IllegalArgumentException("Edge weights cannot be negative: " + edgeWeight);
+		} // end for
+
+		int beginId = intern(begin);
+		int endId = intern(end);
+		if (numberOfEdges == sources.length)
+		{
+			int newLength = 2 * numberOfEdges;
+			sources = Arrays.copyOf(sources, newLength);
+			targets = Arrays.copyOf(targets, newLength);
+			alternatives = Arrays.copyOf(alternatives, newLength);
+			for (int criterion = 0; criterion < numberOfCriteria; criterion++)
+				weights[criterion] = Arrays.copyOf(weights[criterion], newLength);
+		} // end if
+
+		sources[numberOfEdges] = beginId;
+		targets[numberOfEdges] = endId;
+		alternatives[numberOfEdges] = alternative;
+		for (int criterion = 0; criterion < numberOfCriteria; criterion++)
+			weights[criterion][numberOfEdges] = edgeWeights[criterion];
+		numberOfEdges++;
+		offsets = null;
+	} // end addEdge
+
+	/** Task: Finds the least-cost path between two given vertices by one
+	 *        criterion.
+	 *  Precondition: path is an empty stack (NOT null)
+	 *  @param criterion  the number of the weight to minimize
+	 *  @param path       a stack of the labels of the vertices along the
+	 *                    path, with the origin at the stack's top
+	 *  @return the path's cost, or Double.POSITIVE_INFINITY if there is
+	 *          no path */
+	public double getCheapestPath(T begin, T end, int criterion, Stack<T> path)
+	{
+		if ( (criterion < 0) || (criterion >= numberOfCriteria) )
+			throw new IllegalArgumentException("No criterion " + criterion);
+
+		double[] criterionWeights = new double[numberOfCriteria];
+		criterionWeights[criterion] = 1;
+		return getCheapestPath(begin, end, criterionWeights, path);
+	} // end getCheapestPath
+
+	public double getCheapestPath(T begin, T end, double[] criterionWeights, Stack<T> path)
+	{
+		return getCheapestPath(begin, end, criterionWeights, path, null);
+	} // end getCheapestPath
+
+	/** Task: Finds the path between two given vertices whose weighted sum
+	 *        of costs is least, using Dijkstra's algorithm. The cost of an
+	 *        edge is the sum over the criteria of its weight times the
+	 *        criterion's factor.
+	 *  Precondition: path is an empty stack (NOT null)
+	 *  @param criterionWeights  the factor of each criterion; none may be
+	 *                           negative
+	 *  @param path              a stack of the labels of the vertices along
+	 *                           the path, with the origin at the stack's top
+	 *  @param hopAlternatives   either null or an empty stack that receives
+	 *                           the alternative of each edge along the path,
+	 *                           with the first edge's at the stack's top
+	 *  @return the path's combined cost, or Double.POSITIVE_INFINITY if
+	 *          there is no path */
+	public double getCheapestPath(T begin, T end, double[] criterionWeights, Stack<T> path,
+	                              Stack<Integer> hopAlternatives)
+	{
+		checkFactors(criterionWeights);
+		double pathCost = Double.POSITIVE_INFINITY;
+		Integer beginId = vertexIds.get(begin);
+		Integer endId = vertexIds.get(end);
+		if ( (beginId != null) && (endId != null) )
+		{
+			sortEdges();
+			double[] edgeCost = combine(criterionWeights);
+			double[] cost = new double[numberOfVertices];
+			int[] predecessorEdge = new int[numberOfVertices]; // edge into each vertex
+			boolean[] settled = new boolean[numberOfVertices];
+			Arrays.fill(cost, Double.POSITIVE_INFINITY);
+
+			MinHeap priorityQueue = new MinHeap();
+			cost[beginId] = 0;
+			predecessorEdge[beginId] = -1;
+			priorityQueue.add(beginId, 0);
+			boolean done = false;
+			while (!done && !priorityQueue.isEmpty())
+			{
+				double frontCost = priorityQueue.getMinPriority();
+				int frontVertex = priorityQueue.removeMin();
+				// a vertex is queued again whenever a cheaper path to it is found
+				if (!settled[frontVertex] && (frontCost == cost[frontVertex]))
+				{
+					settled[frontVertex] = true;
+					done = (frontVertex == endId);
+					for (int edge = offsets[frontVertex]; !done && (edge < offsets[frontVertex + 1]); edge++)
+					{
+						int nextNeighbor = targets[edge];
+						double nextCost = frontCost + edgeCost[edge];
+						if (nextCost < cost[nextNeighbor])
+						{
+							cost[nextNeighbor] = nextCost;
+							predecessorEdge[nextNeighbor] = edge;
+							priorityQueue.add(nextNeighbor, nextCost);
+						} // end if
+					} // end for
+				} // end if
+			} // end while
+
+			pathCost = cost[endId];
+			if (pathCost < Double.POSITIVE_INFINITY)
+			{
+				int vertex = endId;
+				path.push(labels[vertex]);
+				for (int edge = predecessorEdge[vertex]; edge >= 0; edge = predecessorEdge[vertex])
+				{
+					vertex = sources[edge];
+					path.push(labels[vertex]);
+					if (hopAlternatives != null)
+						hopAlternatives.push(alternatives[edge]);
+				} // end for
+			} // end if
+		} // end if
+
+		return pathCost;
+	} // end getCheapestPath
+
+	/** Task: Finds the Pareto front of paths between two given vertices:
+	 *        every path whose costs are not all matched or beaten by one
+	 *        other path. Uses a label-setting search that keeps, for each
+	 *        vertex, the cost vectors of the paths to it that no other path
+	 *        found dominates. The front can grow quickly with the number
+	 *        of criteria and the size of the graph.
+	 *  @return a list of the paths on the front, in ascending order of
+	 *          the sum of their costs; empty if there is no path */
+	public List<ParetoPath<T>> getParetoPaths(T begin, T end)
+	{
+		List<ParetoPath<T>> result = new ArrayList<ParetoPath<T>>();
+		Integer beginId = vertexIds.get(begin);
+		Integer endId = vertexIds.get(end);
+		if ( (beginId != null) && (endId != null) )
+		{
+			sortEdges();
+			ParetoSearch search = new ParetoSearch(endId);
+			search.run(beginId);
+			for (int label = search.firstLabel[endId]; label >= 0; label = search.nextLabel[label])
+				result.add(search.getPath(label));
+
+			// the labels at a vertex are listed last settled first
+			java.util.Collections.reverse(result);
+		} // end if
+
+		return result;
+	} // end getParetoPaths
+
+	// gets the number of a label, numbering it if it is new
+	private int intern(T vertexLabel)
+	{
+		Integer id = vertexIds.get(vertexLabel);
+		if (id == null)
+		{
+			if (numberOfVertices == labels.length)
+				labels = Arrays.copyOf(labels, 2 * numberOfVertices);
+
+			id = numberOfVertices;
+			labels[numberOfVertices] = vertexLabel;
+			vertexIds.put(vertexLabel, id);
+			numberOfVertices++;
+			offsets = null;
+		} // end if
+
+		return id;
+	} // end intern
+
+	// orders the edges by origin with a counting sort, if they are not already
+	private void sortEdges()
+	{
+		if (offsets == null)
+		{
+			int[] newOffsets = new int[numberOfVertices + 1];
+			for (int edge = 0; edge < numberOfEdges; edge++)
+				newOffsets[sources[edge] + 1]++;
+			for (int vertex = 0; vertex < numberOfVertices; vertex++)
+				newOffsets[vertex + 1] += newOffsets[vertex];
+
+			int[] nextPosition = Arrays.copyOf(newOffsets, numberOfVertices);
+			int[] sortedSources = new int[sources.length];
+			int[] sortedTargets = new int[targets.length];
+			int[] sortedAlternatives = new int[alternatives.length];
+			double[][] sortedWeights = new double[numberOfCriteria][sources.length];
+			for (int edge = 0; edge < numberOfEdges; edge++)
+			{
+				int position = nextPosition[sources[edge]]++;
+				sortedSources[position] = sources[edge];
+				sortedTargets[position] = targets[edge];
+				sortedAlternatives[position] = alternatives[edge];
+				for (int criterion = 0; criterion < numberOfCriteria; criterion++)
+					sortedWeights[criterion][position] = weights[criterion][edge];
+			} // end for
+
+			sources = sortedSources;
+			targets = sortedTargets;
+			alternatives = sortedAlternatives;
+			weights = sortedWeights;
+			offsets = newOffsets;
+		} // end if
+	} // end sortEdges
+
+	// computes each edge's weighted sum of costs once, before a search; a
+	// single criterion is searched on its own array, which is not copied
+	private double[] combine(double[] criterionWeights)
+	{
+		int used = -1;
+		int usedCount = 0;
+		for (int criterion = 0; criterion < numberOfCriteria; criterion++)
+		{
+			if (criterionWeights[criterion] != 0)
+			{
+				used = criterion;
+				usedCount++;
+			} // end if
+		} // end for
+
+		if ( (usedCount == 1) && (criterionWeights[used] == 1) )
+			return weights[used];
+
+		double[] edgeCost = new double[numberOfEdges];
+		for (int criterion = 0; criterion < numberOfCriteria; criterion++)
+		{
+			double factor = criterionWeights[criterion];
+			if (factor != 0)
+			{
+				double[] criterionWeight = weights[criterion];
+				for (int edge = 0; edge < numberOfEdges; edge++)
+					edgeCost[edge] += factor * criterionWeight[edge];
+			} // end if
+		} // end for
+
+		return edgeCost;
+	} // end combine
+
+	private void checkFactors(double[] criterionWeights)
+	{
+		if (criterionWeights.length != numberOfCriteria)
+			throw new IllegalArgumentException("Expected " + numberOfCriteria + " factors but got " +
+			                                   criterionWeights.length);
+		for (double factor : criterionWeights)
+		{
+			if (!(factor >= 0))
+				throw new IllegalArgumentException("Criterion factors cannot be negative: " + factor);
+		} // end for
+	} // end checkFactors
+
+	// the state of one search for a Pareto front; a label is a path to a
+	// vertex, given by the vertex, the label it extends, the edge between
+	// them and its costs
+	private class ParetoSearch
+	{
+		private final int endVertex;
+		private int[] labelVertex;
+		private int[] previousLabel;
+		private int[] labelEdge;      // edge from the previous label's vertex, or -1
+		private double[] labelCost;   // costs of label l at l * numberOfCriteria onward
+		private int[] nextLabel;      // next settled label at the same vertex, or -1
+		private int[] firstLabel;     // first settled label at each vertex, or -1
+		private int labelCount;
+		private MinHeap priorityQueue;
+
+		private ParetoSearch(int endVertex)
+		{
+			this.endVertex = endVertex;
+			labelVertex = new int[DEFAULT_CAPACITY];
+			previousLabel = new int[DEFAULT_CAPACITY];
+			labelEdge = new int[DEFAULT_CAPACITY];
+			labelCost = new double[DEFAULT_CAPACITY * numberOfCriteria];
+			nextLabel = new int[DEFAULT_CAPACITY];
+			firstLabel = new int[numberOfVertices];
+			Arrays.fill(firstLabel, -1);
+			labelCount = 0;
+			priorityQueue = new MinHeap();
+		} // end constructor
+
+		private void run(int beginVertex)
+		{
+			int origin = newLabel(beginVertex, -1, -1);
+			priorityQueue.add(origin, 0);
+
+			// labels leave the queue in ascending order of their sums, so one
+			// that is not dominated when it leaves never will be
+			while (!priorityQueue.isEmpty())
+			{
+				int label = priorityQueue.removeMin();
+				int vertex = labelVertex[label];
+				if (!isDominated(vertex, label) && !isDominated(endVertex, label))
+				{
+					nextLabel[label] = firstLabel[vertex];
+					firstLabel[vertex] = label;
+					if (vertex != endVertex)
+						extend(label);
+				} // end if
+			} // end while
+		} // end run
+
+		// queues the paths that follow each edge out of a settled label
+		private void extend(int label)
+		{
+			int vertex = labelVertex[label];
+			for (int edge = offsets[vertex]; edge < offsets[vertex + 1]; edge++)
+			{
+				int extended = newLabel(targets[edge], label, edge);
+				int start = extended * numberOfCriteria;
+				int previousStart = label * numberOfCriteria;
+				double sum = 0;
+				for (int criterion = 0; criterion < numberOfCriteria; criterion++)
+				{
+					labelCost[start + criterion] = labelCost[previousStart + criterion] +
+					                               weights[criterion][edge];
+					sum += labelCost[start + criterion];
+				} // end for
+
+				if (isDominated(targets[edge], extended) || isDominated(endVertex, extended))
+					labelCount--; // discard it
+				else
+					priorityQueue.add(extended, sum);
+			} // end for
+		} // end extend
+
+		// sees whether a settled label at vertex matches or beats label in every criterion
+		private boolean isDominated(int vertex, int label)
+		{
+			boolean dominated = false;
+			int start = label * numberOfCriteria;
+			for (int other = firstLabel[vertex]; !dominated && (other >= 0); other = nextLabel[other])
+			{
+				int otherStart = other * numberOfCriteria;
+				dominated = true;
+				for (int criterion = 0; dominated && (criterion < numberOfCriteria); criterion++)
+					dominated = labelCost[otherStart + criterion] <= labelCost[start + criterion];
+			} // end for
+
+			return dominated;
+		} // end isDominated
+
+		// adds a label whose costs are zero until set
+		private int newLabel(int vertex, int previous, int edge)
+		{
+			if (labelCount == labelVertex.length)
+			{
+				int newLength = 2 * labelCount;
+				labelVertex = Arrays.copyOf(labelVertex, newLength);
+				previousLabel = Arrays.copyOf(previousLabel, newLength);
+				labelEdge = Arrays.copyOf(labelEdge, newLength);
+				nextLabel = Arrays.copyOf(nextLabel, newLength);
+				labelCost = Arrays.copyOf(labelCost, newLength * numberOfCriteria);
+			} // end if
+
+			labelVertex[labelCount] = vertex;
+			previousLabel[labelCount] = previous;
+			labelEdge[labelCount] = edge;
+			Arrays.fill(labelCost, labelCount * numberOfCriteria, (labelCount + 1) * numberOfCriteria, 0);
+			return labelCount++;
+		} // end newLabel
+
+		private ParetoPath<T> getPath(int label)
+		{
+			List<T> vertices = new ArrayList<T>();
+			for (int step = label; step >= 0; step = previousLabel[step])
+				vertices.add(labels[labelVertex[step]]);
+			java.util.Collections.reverse(vertices);
+
+			int[] hopAlternatives = new int[vertices.size() - 1];
+			int hop = hopAlternatives.length - 1;
+			for (int step = label; labelEdge[step] >= 0; step = previousLabel[step])
+			{
+				hopAlternatives[hop] = alternatives[labelEdge[step]];
+				hop--;
+			} // end for
+
+			int start = label * numberOfCriteria;
+			return new ParetoPath<T>(vertices, hopAlternatives,
+			                         Arrays.copyOfRange(labelCost, start, start + numberOfCriteria));
+		} // end getPath
+	} // end ParetoSearch
+
+	// a binary min-heap of int keys with double priorities; a key may be
+	// in the heap more than once
+	private static class MinHeap
+	{
+		private int[] keys;
+		private double[] priorities;
+		private int size;
+
+		private MinHeap()
+		{
+			keys = new int[DEFAULT_CAPACITY];
+			priorities = new double[DEFAULT_CAPACITY];
+			size = 0;
+		} // end constructor
+
+		private boolean isEmpty()
+		{
+			return size == 0;
+		} // end isEmpty
+
+		private double getMinPriority()
+		{
+			return priorities[0];
+		} // end getMinPriority
+
+		private void add(int key, double priority)
+		{
+			if (size == keys.length)
+			{
+				keys = Arrays.copyOf(keys, 2 * size);
+				priorities = Arrays.copyOf(priorities, 2 * size);
+			} // end if
+
+			int index = size++;
+			while (index > 0)
+			{
+				int parent = (index - 1) / 2;
+				if (priorities[parent] <= priority)
+					break;
+				keys[index] = keys[parent];
+				priorities[index] = priorities[parent];
+				index = parent;
+			} // end while
+
+			keys[index] = key;
+			priorities[index] = priority;
+		} // end add
+
+		private int removeMin()
+		{
+			int result = keys[0];
+			size--;
+			int key = keys[size];
+			double priority = priorities[size];
+			int index = 0;
+			int child = 1;
+			while (child < size)
+			{
+				if ( (child + 1 < size) && (priorities[child + 1] < priorities[child]) )
+					child++;
+				if (priority <= priorities[child])
+					break;
+				keys[index] = keys[child];
+				priorities[index] = priorities[child];
+				index = child;
+				child = 2 * index + 1;
+			} // end while
+
+			keys[index] = key;
+			priorities[index] = priority;
+			return result;
+		} // end removeMin
+	} // end MinHeap
+} // end MultiCriteriaGraph
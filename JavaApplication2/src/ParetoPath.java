@@ -0,0 +1,78 @@
+import java.util.Collections;
+import java.util.List;
+import java.util.Stack;
+
+/**
+ * A class of paths on a Pareto front: paths that no other path matches
+ * or beats in every criterion. A path has its vertices, the alternative of
+ * the edge it takes at each hop, and its total cost by each criterion.
+ *
+ * @version 1.0
+ */
+public class ParetoPath<T> implements java.io.Serializable
+{
+	private final List<T> vertices;   // origin first
+	private final int[] alternatives; // of the edge leaving each vertex but the last
+	private final double[] costs;     // total cost by each criterion
+
+	ParetoPath(List<T> vertices, int[] alternatives, double[] costs)
+	{
+		this.vertices = Collections.unmodifiableList(vertices);
+		this.alternatives = alternatives;
+		this.costs = costs;
+	} // end constructor
+
+	/** Task: Gets the labels of the vertices along the path.
+	 *  @return an unmodifiable list that begins with the origin */
+	public List<T> getVertices()
+	{
+		return vertices;
+	} // end getVertices
+
+	/** Task: Pushes the labels of the path's vertices onto a stack, as
+	 *        getCheapestPath does.
+	 *  @param path  a stack that receives the labels, with the origin at
+	 *               the stack's top */
+	public void getPath(Stack<T> path)
+	{
+		for (int index = vertices.size() - 1; index >= 0; index--)
+			path.push(vertices.get(index));
+	} // end getPath
+
+	/** Task: Gets the alternative of the edge the path takes from one
+	 *        vertex to the next, which tells apart edges that join the
+	 *        same two vertices.
+	 *  @param hop  the position of the edge's origin in getVertices(),
+	 *              from 0 to the number of vertices - 2
+	 *  @return the alternative given when the edge was added */
+	public int getAlternative(int hop)
+	{
+		return alternatives[hop];
+	} // end getAlternative
+
+	/** Task: Gets the alternative of each edge along the path.
+	 *  @return a new array whose entry i is getAlternative(i) */
+	public int[] getAlternatives()
+	{
+		return alternatives.clone();
+	} // end getAlternatives
+
+	/** Task: Gets the path's total cost by one criterion. */
+	public double getCost(int criterion)
+	{
+		return costs[criterion];
+	} // end getCost
+
+	/** Task: Gets the path's total cost by each criterion.
+	 *  @return a new array of the costs */
+	public double[] getCosts()
+	{
+		return costs.clone();
+	} // end getCosts
+
+	public String toString()
+	{
+		return vertices + " " + java.util.Arrays.toString(alternatives) + " " +
+		       java.util.Arrays.toString(costs);
+	} // end toString
+} // end ParetoPath
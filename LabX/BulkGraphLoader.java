@@ -0,0 +1,273 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * A class that builds a directed graph from many edges at once. Edges are
+ * collected as int vertex numbers in primitive arrays, each label being
+ * looked up once per edge, and the graph is built at the end by sorting
+ * the edges by their origin with a counting sort. This avoids the
+ * per-edge dictionary lookups, Vertex objects and duplicate-edge scans of
+ * DirectedGraph.addEdge, so loading takes time proportional to the number
+ * of edges.
+ *
+ * As in DirectedGraph, an edge from a vertex to itself is ignored, and of
+ * several edges between the same two vertices only the first is kept.
+ *
+ * @version 1.0
+ */
+public class BulkGraphLoader<T>
+{
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	private DictionaryInterface<T, Integer> vertexIds; // number of each label
+	private T[] labels;          // label of each vertex
+	private int numberOfVertices;
+	private int[] sources;       // origin of each edge, in the order given
+	private int[] targets;       // end of each edge
+	private double[] weights;    // weight of each edge
+	private int numberOfEdges;
+	private T lastBegin;         // label of the most recent edge's origin
+	private int lastBeginId;     // and its number
+
+	public BulkGraphLoader()
+	{
+		this(DEFAULT_CAPACITY);
+	} // end default constructor
+
+	/** Task: Creates a loader with room for a given number of edges
+	 *        before its arrays must grow.
+	 *  @param expectedEdges  the expected number of edges */
+	public BulkGraphLoader(int expectedEdges)
+	{
+		int capacity = Math.max(expectedEdges, 16);
+		vertexIds = new HashedDictionary<T, Integer>(capacity);
+		labels = (T[])new Object[capacity];
+		numberOfVertices = 0;
+		sources = new int[capacity];
+		targets = new int[capacity];
+		weights = new double[capacity];
+		numberOfEdges = 0;
+		lastBegin = null;
+	} // end constructor
+
+	/** Task: Adds a vertex, which need not have any edges.
+	 *  @param vertexLabel  an object that labels the vertex
+	 *  @return true if the vertex is new */
+	public boolean addVertex(T vertexLabel)
+	{
+		int before = numberOfVertices;
+		intern(vertexLabel);
+		return numberOfVertices > before;
+	} // end addVertex
+
+	/** Task: Adds a weighted edge, along with any of its vertices that
+	 *        are new. */
+	public void addEdge(T begin, T end, double edgeWeight)
+	{
+		// edge lists are usually grouped by origin, so look it up only when it changes
+		if ( (lastBegin == null) || !lastBegin.equals(begin) )
+		{
+			lastBeginId = intern(begin);
+			lastBegin = begin;
+		} // end if
+
+		int endId = intern(end);
+		if (numberOfEdges == sources.length)
+		{
+			int newLength = 2 * numberOfEdges;
+			sources = Arrays.copyOf(sources, newLength);
+			targets = Arrays.copyOf(targets, newLength);
+			weights = Arrays.copyOf(weights, newLength);
+		} // end if
+
+		sources[numberOfEdges] = lastBeginId;
+		targets[numberOfEdges] = endId;
+		weights[numberOfEdges] = edgeWeight;
+		numberOfEdges++;
+	} // end addEdge
+
+	public void addEdge(T begin, T end)
+	{
+		addEdge(begin, end, 0);
+	} // end addEdge
+
+	public void addEdges(Iterator<? extends GraphEdge<? extends T>> edges)
+	{
+		while (edges.hasNext())
+		{
+			GraphEdge<? extends T> nextEdge = edges.next();
+			addEdge(nextEdge.getBegin(), nextEdge.getEnd(), nextEdge.getWeight());
+		} // end while
+	} // end addEdges
+
+	/** Task: Adds the edges of a stream, in the stream's order. */
+	public void addEdges(Stream<? extends GraphEdge<? extends T>> edges)
+	{
+		addEdges(edges.iterator());
+	} // end addEdges
+
+	/** Task: Reads edges from a text file with one edge per line: the
+	 *        origin label, the end label and an optional weight, separated
+	 *        by a delimiter such as ',' or '\t'. Blank lines and lines
+	 *        that begin with '#' are skipped. Fields are not quoted, and
+	 *        spaces around them are removed.
+	 *  @param file       the path of a UTF-8 file
+	 *  @param delimiter  the character between fields
+	 *  @return a loader holding the file's edges
+	 *  @throws IOException if the file cannot be read or a line has the
+	 *          wrong number of fields or a malformed weight */
+	public static BulkGraphLoader<String> read(Path file, char delimiter) throws IOException
+	{
+		BulkGraphLoader<String> loader = new BulkGraphLoader<String>();
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8))
+		{
+			int lineNumber = 0;
+			String line = reader.readLine();
+			while (line != null)
+			{
+				lineNumber++;
+				if (!line.trim().isEmpty() && !line.startsWith("#"))
+					addLine(loader, line, delimiter, file, lineNumber);
+				line = reader.readLine();
+			} // end while
+		} // end try
+
+		return loader;
+	} // end read
+
+	public int getNumberOfVertices()
+	{
+		return numberOfVertices;
+	} // end getNumberOfVertices
+
+	/** Task: Gets the number of edges added, including any loops and
+	 *        repeated edges that building the graph will drop. */
+	public int getNumberOfEdges()
+	{
+		return numberOfEdges;
+	} // end getNumberOfEdges
+
+	/** Task: Builds a frozen graph of the vertices and edges added so far.
+	 *        Vertices are numbered in the order they were first seen, and
+	 *        each vertex's edges keep the order they were added in.
+	 *  @return a new frozen graph */
+	public FrozenDirectedGraph<T> toFrozenGraph()
+	{
+		// count the edges leaving each vertex
+		int[] offsets = new int[numberOfVertices + 1];
+		for (int edge = 0; edge < numberOfEdges; edge++)
+			offsets[sources[edge] + 1]++;
+		for (int vertex = 0; vertex < numberOfVertices; vertex++)
+			offsets[vertex + 1] += offsets[vertex];
+
+		// place each edge in its origin's row, keeping the order given
+		int[] sortedTargets = new int[numberOfEdges];
+		double[] sortedWeights = new double[numberOfEdges];
+		int[] nextPosition = Arrays.copyOf(offsets, numberOfVertices);
+		for (int edge = 0; edge < numberOfEdges; edge++)
+		{
+			int position = nextPosition[sources[edge]]++;
+			sortedTargets[position] = targets[edge];
+			sortedWeights[position] = weights[edge];
+		} // end for
+
+		// drop loops and repeated edges, moving the rest toward the front;
+		// lastRow[v] is the most recent row that had an edge to v
+		int[] lastRow = nextPosition; // no longer needed for placing edges
+		Arrays.fill(lastRow, -1);
+		int kept = 0;
+		int rowStart = 0;
+		for (int vertex = 0; vertex < numberOfVertices; vertex++)
+		{
+			int rowEnd = offsets[vertex + 1];
+			for (int position = rowStart; position < rowEnd; position++)
+			{
+				int end = sortedTargets[position];
+				if ( (end != vertex) && (lastRow[end] != vertex) )
+				{
+					lastRow[end] = vertex;
+					sortedTargets[kept] = end;
+					sortedWeights[kept] = sortedWeights[position];
+					kept++;
+				} // end if
+			} // end for
+
+			rowStart = rowEnd;
+			offsets[vertex + 1] = kept;
+		} // end for
+
+		if (kept < numberOfEdges)
+		{
+			sortedTargets = Arrays.copyOf(sortedTargets, kept);
+			sortedWeights = Arrays.copyOf(sortedWeights, kept);
+		} // end if
+
+		CompressedGraph graph = new CompressedGraph(offsets, sortedTargets, sortedWeights);
+		return new FrozenDirectedGraph<T>(Arrays.copyOf(labels, numberOfVertices), graph);
+	} // end toFrozenGraph
+
+	/** Task: Builds a directed graph of the vertices and edges added so
+	 *        far. Its vertices are kept in a HashedDictionary, and the
+	 *        frozen graph it was built from is kept as its snapshot, so
+	 *        searching it does not first require freezing it.
+	 *  @return a new directed graph */
+	public DirectedGraph<T> toDirectedGraph()
+	{
+		DirectedGraph<T> graph =
+		           new DirectedGraph<T>(new HashedDictionary<T, VertexInterface<T>>(numberOfVertices));
+		graph.load(toFrozenGraph());
+		return graph;
+	} // end toDirectedGraph
+
+	// gets the number of a label, numbering it if it is new
+	private int intern(T vertexLabel)
+	{
+		Integer id = vertexIds.getValue(vertexLabel);
+		if (id == null)
+		{
+			if (numberOfVertices == labels.length)
+				labels = Arrays.copyOf(labels, 2 * numberOfVertices);
+
+			id = numberOfVertices;
+			labels[numberOfVertices] = vertexLabel;
+			vertexIds.add(vertexLabel, id);
+			numberOfVertices++;
+		} // end if
+
+		return id;
+	} // end intern
+
+	// adds the edge on one line of a delimited file
+	private static void addLine(BulkGraphLoader<String> loader, String line, char delimiter,
+	                            Path file, int lineNumber) throws IOException
+	{
+		int first = line.indexOf(delimiter);
+		int second = (first < 0) ? -1 : line.indexOf(delimiter, first + 1);
+		if ( (first < 0) || ((second >= 0) && (line.indexOf(delimiter, second + 1) >= 0)) )
+			throw new IOException(file + ":" + lineNumber + ": expected 2 or 3 fields");
+
+		String begin = line.substring(0, first).trim();
+		String end = (second < 0) ? line.substring(first + 1).trim()
+		                          : line.substring(first + 1, second).trim();
+		double edgeWeight = 0;
+		if (second >= 0)
+		{
+			try
+			{
+				edgeWeight = Double.parseDouble(line.substring(second + 1).trim());
+			}
+			catch (NumberFormatException e)
+			{
+				throw new IOException(file + ":" + lineNumber + ": malformed weight", e);
+			} // end try
+		} // end if
+
+		loader.addEdge(begin, end, edgeWeight);
+	} // end addLine
+} // end BulkGraphLoader
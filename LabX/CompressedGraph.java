@@ -0,0 +1,831 @@
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * A class of immutable directed graphs whose vertices are the integers
+ * 0 through n - 1. The edges are stored in compressed sparse row form:
+ * the edges that begin at vertex v occupy positions offsets[v] through
+ * offsets[v + 1] - 1 of the parallel arrays targets and weights, in the
+ * order in which they were given.
+ *
+ * Searches read the edges only through getFirstEdge, getEndEdge,
+ * getEdgeTarget and getEdgeWeight, so a subclass may keep them elsewhere,
+ * as MappedCompressedGraph keeps them in a file mapped into memory.
+ *
+ * @version 1.0
+ */
+public class CompressedGraph implements java.io.Serializable
+{
+	private final int numberOfVertices;
+	private final int numberOfEdges;
+	private final int[] offsets;    // numberOfVertices + 1 edge positions
+	private final int[] targets;    // end vertex of each edge
+	private final double[] weights; // weight of each edge
+	private transient volatile CompressedGraph reverse; // same edges, pointing the other way
+
+	/** Task: Creates a graph from compressed sparse row arrays. The arrays
+	 *        are used as given, not copied.
+	 *  @param offsets  an array of n + 1 nondecreasing edge positions,
+	 *                  with offsets[0] == 0 and offsets[n] == number of edges
+	 *  @param targets  the end vertex of each edge
+	 *  @param weights  the weight of each edge */
+	public CompressedGraph(int[] offsets, int[] targets, double[] weights)
+	{
+		if ( (offsets.length == 0) || (offsets[0] != 0) ||
+		     (targets.length != offsets[offsets.length - 1]) ||
+		     (weights.length != targets.length) )
+			throw new IllegalArgumentException("Malformed compressed sparse row arrays");
+
+		this.numberOfVertices = offsets.length - 1;
+		this.numberOfEdges = targets.length;
+		this.offsets = offsets;
+		this.targets = targets;
+		this.weights = weights;
+	} // end constructor
+
+	/** Task: Creates a graph whose subclass stores the edges itself and
+	 *        overrides the methods that read them.
+	 *  @param numberOfVertices  the number of vertices
+	 *  @param numberOfEdges     the number of edges */
+	protected CompressedGraph(int numberOfVertices, int numberOfEdges)
+	{
+		this.numberOfVertices = numberOfVertices;
+		this.numberOfEdges = numberOfEdges;
+		this.offsets = null;
+		this.targets = null;
+		this.weights = null;
+	} // end constructor
+
+	public int getNumberOfVertices()
+	{
+		return numberOfVertices;
+	} // end getNumberOfVertices
+
+	public int getNumberOfEdges()
+	{
+		return numberOfEdges;
+	} // end getNumberOfEdges
+
+	/** Task: Gets the position of the first edge that begins at a vertex.
+	 *  @param vertex  a vertex of the graph
+	 *  @return the position of the vertex's first edge */
+	public int getFirstEdge(int vertex)
+	{
+		return offsets[vertex];
+	} // end getFirstEdge
+
+	/** Task: Gets the position just past the last edge that begins at a
+	 *        vertex.
+	 *  @param vertex  a vertex of the graph
+	 *  @return the position following the vertex's last edge */
+	public int getEndEdge(int vertex)
+	{
+		return offsets[vertex + 1];
+	} // end getEndEdge
+
+	public int getEdgeTarget(int edge)
+	{
+		return targets[edge];
+	} // end getEdgeTarget
+
+	public double getEdgeWeight(int edge)
+	{
+		return weights[edge];
+	} // end getEdgeWeight
+
+	public int getOutDegree(int vertex)
+	{
+		return getEndEdge(vertex) - getFirstEdge(vertex);
+	} // end getOutDegree
+
+	public boolean hasEdge(int begin, int end)
+	{
+		boolean found = false;
+		int last = getEndEdge(begin);
+		for (int edge = getFirstEdge(begin); !found && (edge < last); edge++)
+		{
+			if (getEdgeTarget(edge) == end)
+				found = true;
+		} // end for
+
+		return found;
+	} // end hasEdge
+
+	/** Task: Gets the graph that has this graph's vertices and edges, with
+	 *        every edge pointing the other way. It is built on first use.
+	 *        Its edges that end at a vertex appear in the order of their
+	 *        origin vertices.
+	 *  @return the reversed graph */
+	public CompressedGraph getReverse()
+	{
+		CompressedGraph result = reverse;
+		if (result == null)
+		{
+			synchronized (this)
+			{
+				result = reverse;
+				if (result == null)
+				{
+					result = createReverse();
+					reverse = result;
+				} // end if
+			} // end synchronized
+		} // end if
+
+		return result;
+	} // end getReverse
+
+	/** Task: Gets the calling thread's traversal context, ready for
+	 *        searches of this graph.
+	 *  @return a context for the calling thread */
+	public TraversalContext getContext()
+	{
+		return TraversalContext.forCurrentThread(numberOfVertices);
+	} // end getContext
+
+	/** Task: Performs a breadth-first traversal from a given vertex.
+	 *  @param origin   the origin vertex of the traversal
+	 *  @param context  the context to search with; at the completion of
+	 *                  the method, context.getVertex(i) is the i-th vertex
+	 *                  visited
+	 *  @return the number of vertices visited */
+	public int getBreadthFirstTraversal(int origin, TraversalContext context)
+	{
+		context.reset(numberOfVertices);
+		int[] order = context.getVertexArray();
+
+		// order doubles as the vertex queue: entries front..count-1 are queued
+		int front = 0;
+		int count = 0;
+		context.visit(origin);
+		order[count++] = origin;
+
+		while (front < count)
+		{
+			int frontVertex = order[front++];
+			int last = getEndEdge(frontVertex);
+			for (int edge = getFirstEdge(frontVertex); edge < last; edge++)
+			{
+				int nextNeighbor = getEdgeTarget(edge);
+				if (!context.isVisited(nextNeighbor))
+				{
+					context.visit(nextNeighbor);
+					order[count++] = nextNeighbor;
+				} // end if
+			} // end for
+		} // end while
+
+		return count;
+	} // end getBreadthFirstTraversal
+
+	/** Task: Performs a depth-first traversal from a given vertex.
+	 *  @param origin   the origin vertex of the traversal
+	 *  @param context  the context to search with; at the completion of
+	 *                  the method, context.getVertex(i) is the i-th vertex
+	 *                  visited
+	 *  @return the number of vertices visited */
+	public int getDepthFirstTraversal(int origin, TraversalContext context)
+	{
+		context.reset(numberOfVertices);
+		int[] order = context.getVertexArray();
+		int[] nextEdge = context.getNextEdgeArray(); // first unexamined edge of each stacked vertex
+
+		// the stack holds the visited vertices whose edges are not all
+		// examined; they are found from the end of order through predecessors
+		int count = 0;
+		context.visit(origin);
+		context.setPredecessor(origin, -1);
+		order[count++] = origin;
+		nextEdge[origin] = getFirstEdge(origin);
+		int topVertex = origin;
+
+		while (topVertex >= 0)
+		{
+			int edge = nextEdge[topVertex];
+			int last = getEndEdge(topVertex);
+			while ( (edge < last) && context.isVisited(getEdgeTarget(edge)) )
+				edge++;
+
+			if (edge < last)
+			{
+				int nextNeighbor = getEdgeTarget(edge);
+				nextEdge[topVertex] = edge + 1;
+				context.visit(nextNeighbor);
+				context.setPredecessor(nextNeighbor, topVertex);
+				order[count++] = nextNeighbor;
+				nextEdge[nextNeighbor] = getFirstEdge(nextNeighbor);
+				topVertex = nextNeighbor;
+			}
+			else // all neighbors are visited
+				topVertex = context.getPredecessor(topVertex);
+		} // end while
+
+		return count;
+	} // end getDepthFirstTraversal
+
+	/** Task: Orders the vertices of a graph without cycles so that every
+	 *        vertex comes after all of the vertices it has edges to. Uses
+	 *        Kahn's algorithm: vertices leave a queue once every edge into
+	 *        them has been removed, in time proportional to the number of
+	 *        vertices plus the number of edges.
+	 *  @param context  the context to search with; at the completion of
+	 *                  the method, context.getVertex(i) is the i-th vertex
+	 *                  in the order, so the last one has no incoming edges
+	 *  @return the number of vertices, getNumberOfVertices()
+	 *  @throws CyclicGraphException if the graph has a cycle; the
+	 *          exception's cycle is a list of Integer vertex numbers */
+	public int getTopologicalOrder(TraversalContext context)
+	{
+		context.reset(numberOfVertices);
+		int[] order = context.getVertexArray();
+		int[] inDegree = context.getNextEdgeArray();
+		java.util.Arrays.fill(inDegree, 0, numberOfVertices, 0);
+		for (int edge = 0; edge < numberOfEdges; edge++)
+			inDegree[getEdgeTarget(edge)]++;
+
+		// vertices are placed from the end of order toward its beginning;
+		// entries back+1..front are queued, entries front+1.. are done
+		int front = numberOfVertices - 1;
+		int back = numberOfVertices - 1;
+		for (int vertex = 0; vertex < numberOfVertices; vertex++)
+		{
+			if (inDegree[vertex] == 0)
+			{
+				context.visit(vertex);
+				order[back--] = vertex;
+			} // end if
+		} // end for
+
+		while (front > back)
+		{
+			int frontVertex = order[front--];
+			int last = getEndEdge(frontVertex);
+			for (int edge = getFirstEdge(frontVertex); edge < last; edge++)
+			{
+				int nextNeighbor = getEdgeTarget(edge);
+				inDegree[nextNeighbor]--;
+				if (inDegree[nextNeighbor] == 0)
+				{
+					context.visit(nextNeighbor);
+					order[back--] = nextNeighbor;
+				} // end if
+			} // end for
+		} // end while
+
+		if (back >= 0)
+			throw new CyclicGraphException(findCycle(context));
+
+		return numberOfVertices;
+	} // end getTopologicalOrder
+
+	/** Task: Divides the vertices into strongly connected components, the
+	 *        largest sets of vertices that each have a path to all of the
+	 *        others. Uses Pearce's iterative form of Tarjan's algorithm, in
+	 *        time proportional to the number of vertices plus the number
+	 *        of edges, without recursion and without allocating: a single
+	 *        array holds both the depth-first search's stack and the stack
+	 *        of vertices waiting for their component.
+	 *
+	 *        Components are numbered in the order they are completed, so
+	 *        every edge between two components leads from the one with
+	 *        the larger number to the one with the smaller, and component
+	 *        0 has no edges leaving it.
+	 *  @param context    the context to search with
+	 *  @param component  an array of at least getNumberOfVertices()
+	 *                    entries; at the completion of the method,
+	 *                    component[v] is the number of v's component
+	 *  @return the number of components */
+	public int getStronglyConnectedComponents(TraversalContext context, int[] component)
+	{
+		context.reset(numberOfVertices);
+		int[] stack = context.getVertexArray(); // search stack from the front, waiting vertices from the back
+		int[] nextEdge = context.getNextEdgeArray();
+
+		// until its component is found, component[v] is the least visit
+		// number v is known to reach; the context's predecessor of v holds
+		// v's own visit number. Finished components are numbered down from
+		// numberOfVertices - 1, above every visit number still in use.
+		int visitNumber = 1;
+		int nextComponent = numberOfVertices - 1;
+		int top = -1;
+		int bottom = numberOfVertices;
+		for (int root = 0; root < numberOfVertices; root++)
+		{
+			if (!context.isVisited(root))
+			{
+				context.visit(root);
+				context.setPredecessor(root, visitNumber);
+				component[root] = visitNumber++;
+				nextEdge[root] = getFirstEdge(root);
+				stack[++top] = root;
+			} // end if
+
+			while (top >= 0)
+			{
+				int vertex = stack[top];
+				int edge = nextEdge[vertex];
+				int last = getEndEdge(vertex);
+				boolean descended = false;
+				while (!descended && (edge < last))
+				{
+					int nextNeighbor = getEdgeTarget(edge);
+					if (context.isVisited(nextNeighbor))
+					{
+						if (component[nextNeighbor] < component[vertex])
+							component[vertex] = component[nextNeighbor];
+						edge++;
+					}
+					else
+					{
+						// the edge is examined again once nextNeighbor is finished
+						nextEdge[vertex] = edge;
+						context.visit(nextNeighbor);
+						context.setPredecessor(nextNeighbor, visitNumber);
+						component[nextNeighbor] = visitNumber++;
+						nextEdge[nextNeighbor] = getFirstEdge(nextNeighbor);
+						stack[++top] = nextNeighbor;
+						descended = true;
+					} // end if
+				} // end while
+
+				if (!descended)
+				{
+					top--;
+					if (component[vertex] == context.getPredecessor(vertex))
+					{
+						// vertex is the first one visited in its component
+						// the rest of which is waiting at the back of stack
+						visitNumber--;
+						while ( (bottom < numberOfVertices) &&
+						        (component[vertex] <= component[stack[bottom]]) )
+						{
+							component[stack[bottom++]] = nextComponent;
+							visitNumber--;
+						} // end while
+
+						component[vertex] = nextComponent;
+						nextComponent--;
+					}
+					else
+						stack[--bottom] = vertex;
+				} // end if
+			} // end while
+		} // end for
+
+		for (int vertex = 0; vertex < numberOfVertices; vertex++)
+			component[vertex] = numberOfVertices - 1 - component[vertex];
+
+		return numberOfVertices - 1 - nextComponent;
+	} // end getStronglyConnectedComponents
+
+	/** Task: Finds the path between two given vertices that has the
+	 *        fewest edges.
+	 *  @param begin    the path's origin vertex
+	 *  @param end      the path's destination vertex
+	 *  @param context  the context to search with; at the completion of
+	 *                  the method, its predecessors lead from end back
+	 *                  to begin
+	 *  @return the length of the shortest path, or -1 if end cannot be
+	 *          reached from begin */
+	public int getShortestPath(int begin, int end, TraversalContext context)
+	{
+		context.reset(numberOfVertices);
+		int[] vertexQueue = context.getVertexArray();
+		int front = 0;
+		int back = 0;
+		boolean done = (begin == end);
+
+		context.visit(begin);
+		context.setCost(begin, 0);
+		context.setPredecessor(begin, -1);
+		vertexQueue[back++] = begin;
+
+		while (!done && (front < back))
+		{
+			int frontVertex = vertexQueue[front++];
+			double nextLength = 1 + context.getCost(frontVertex);
+			int last = getEndEdge(frontVertex);
+			for (int edge = getFirstEdge(frontVertex); !done && (edge < last); edge++)
+			{
+				int nextNeighbor = getEdgeTarget(edge);
+				if (!context.isVisited(nextNeighbor))
+				{
+					context.visit(nextNeighbor);
+					context.setCost(nextNeighbor, nextLength);
+					context.setPredecessor(nextNeighbor, frontVertex);
+					vertexQueue[back++] = nextNeighbor;
+				} // end if
+
+				if (nextNeighbor == end)
+					done = true;
+			} // end for
+		} // end while
+
+		return context.isVisited(end) ? (int)context.getCost(end) : -1;
+	} // end getShortestPath
+
+	/** Task: Finds the least-cost path between two given vertices.
+	 *  @param begin    the path's origin vertex
+	 *  @param end      the path's destination vertex
+	 *  @param context  the context to search with; at the completion of
+	 *                  the method, its predecessors lead from end back
+	 *                  to begin
+	 *  @return the cost of the cheapest path, or Double.POSITIVE_INFINITY
+	 *          if end cannot be reached from begin */
+	public double getCheapestPath(int begin, int end, TraversalContext context)
+	{
+		return getCheapestPath(begin, end, context, null);
+	} // end getCheapestPath
+
+	/** Task: Finds the least-cost path between two given vertices by the
+	 *        A* algorithm: vertices leave the priority queue in order of
+	 *        their path cost plus an estimate of the cost from them to end.
+	 *        Without an estimate this is Dijkstra's algorithm.
+	 *  @param begin      the path's origin vertex
+	 *  @param end        the path's destination vertex
+	 *  @param context    the context to search with; at the completion of
+	 *                    the method, its predecessors lead from end back
+	 *                    to begin
+	 *  @param heuristic  either null or a function giving, for a vertex,
+	 *                    a lower bound on the cost of a path from it to end;
+	 *                    it is called once for each vertex reached
+	 *  @return the cost of the cheapest path, or Double.POSITIVE_INFINITY
+	 *          if end cannot be reached from begin */
+	public double getCheapestPath(int begin, int end, TraversalContext context,
+	                              IntToDoubleFunction heuristic)
+	{
+		context.reset(numberOfVertices);
+
+		// each reached vertex is visited and in the heap, keyed by its best
+		// cost so far plus its estimate, until it is settled and leaves the
+		// heap; a settled vertex returns only if an estimate that is not
+		// consistent let it leave too early
+		IndexedMinHeap priorityQueue = context.getPriorityQueue();
+		context.visit(begin);
+		context.setCost(begin, 0);
+		context.setPredecessor(begin, -1);
+		priorityQueue.add(begin, (heuristic == null) ? 0 : heuristic.applyAsDouble(begin));
+		boolean done = false;
+		int settledCount = 0;
+
+		while (!done && !priorityQueue.isEmpty())
+		{
+			int frontVertex = priorityQueue.removeMin();
+			settledCount++;
+
+			if (frontVertex == end)
+				done = true;
+			else
+			{
+				double frontCost = context.getCost(frontVertex);
+				int last = getEndEdge(frontVertex);
+				for (int edge = getFirstEdge(frontVertex); edge < last; edge++)
+				{
+					int nextNeighbor = getEdgeTarget(edge);
+					double nextCost = frontCost + getEdgeWeight(edge);
+					if (!context.isVisited(nextNeighbor))
+					{
+						context.visit(nextNeighbor);
+						context.setCost(nextNeighbor, nextCost);
+						context.setPredecessor(nextNeighbor, frontVertex);
+						double estimate = (heuristic == null) ? 0 : heuristic.applyAsDouble(nextNeighbor);
+						priorityQueue.add(nextNeighbor, nextCost + estimate);
+					}
+					else if (nextCost < context.getCost(nextNeighbor))
+					{
+						if (priorityQueue.contains(nextNeighbor))
+						{
+							// the estimate is the part of the priority beyond the cost
+							double estimate = priorityQueue.getPriority(nextNeighbor) -
+							                  context.getCost(nextNeighbor);
+							priorityQueue.decreasePriority(nextNeighbor,
+							       Math.min(nextCost + estimate, priorityQueue.getPriority(nextNeighbor)));
+						}
+						else // reopen a settled vertex
+						{
+							double estimate = (heuristic == null) ? 0 : heuristic.applyAsDouble(nextNeighbor);
+							priorityQueue.add(nextNeighbor, nextCost + estimate);
+						} // end if
+
+						context.setCost(nextNeighbor, nextCost);
+						context.setPredecessor(nextNeighbor, frontVertex);
+					} // end if
+				} // end for
+			} // end if
+		} // end while
+
+		context.setSettledCount(settledCount);
+		return done ? context.getCost(end) : Double.POSITIVE_INFINITY;
+	} // end getCheapestPath
+
+	/** Task: Finds the least-cost paths from a given vertex to every
+	 *        vertex, by Dijkstra's algorithm run to completion.
+	 *  @param origin       the origin vertex of the paths
+	 *  @param context      the context to search with
+	 *  @param cost         an array of numberOfVertices entries that
+	 *                      receives the cost of the cheapest path to each
+	 *                      vertex, or Double.POSITIVE_INFINITY if the vertex
+	 *                      cannot be reached
+	 *  @param predecessor  an array of numberOfVertices entries that
+	 *                      receives each vertex's predecessor on its
+	 *                      cheapest path, or -1 for the origin and for
+	 *                      vertices that cannot be reached */
+	public void getCheapestPaths(int origin, TraversalContext context, double[] cost,
+	                             int[] predecessor)
+	{
+		getCheapestPath(origin, -1, context, null); // no vertex ends the search early
+		for (int vertex = 0; vertex < numberOfVertices; vertex++)
+		{
+			if (context.isVisited(vertex))
+			{
+				cost[vertex] = context.getCost(vertex);
+				predecessor[vertex] = context.getPredecessor(vertex);
+			}
+			else
+			{
+				cost[vertex] = Double.POSITIVE_INFINITY;
+				predecessor[vertex] = -1;
+			} // end if
+		} // end for
+	} // end getCheapestPaths
+
+	/** Task: Finds the path between two given vertices that has the
+	 *        fewest edges by searching forward from begin and backward
+	 *        from end, a level at a time from whichever side has the
+	 *        smaller frontier, until the searches meet.
+	 *  @param begin    the path's origin vertex
+	 *  @param end      the path's destination vertex
+	 *  @param context  the context to search with; at the completion of
+	 *                  the method, its predecessors lead from end back
+	 *                  to begin
+	 *  @return the length of the shortest path, or -1 if end cannot be
+	 *          reached from begin */
+	public int getBidirectionalShortestPath(int begin, int end, TraversalContext context)
+	{
+		if (begin == end)
+			return getShortestPath(begin, end, context);
+
+		CompressedGraph backwardGraph = getReverse();
+		TraversalContext forward = context;
+		TraversalContext backward = context.getReverseContext();
+		forward.reset(numberOfVertices);
+		backward.reset(numberOfVertices);
+		int[] forwardQueue = forward.getVertexArray();
+		int[] backwardQueue = backward.getVertexArray();
+		int forwardFront = 0;
+		int forwardBack = 0;
+		int backwardFront = 0;
+		int backwardBack = 0;
+
+		forward.visit(begin);
+		forward.setCost(begin, 0);
+		forward.setPredecessor(begin, -1);
+		forwardQueue[forwardBack++] = begin;
+		backward.visit(end);
+		backward.setCost(end, 0);
+		backward.setPredecessor(end, -1);
+		backwardQueue[backwardBack++] = end;
+
+		double bestLength = Double.POSITIVE_INFINITY;
+		int meetingVertex = -1;
+		while ( (meetingVertex < 0) &&
+		        (forwardFront < forwardBack) && (backwardFront < backwardBack) )
+		{
+			// expand one whole level so every meeting at this depth is seen
+			boolean expandForward = (forwardBack - forwardFront) <= (backwardBack - backwardFront);
+			CompressedGraph side = expandForward ? this : backwardGraph;
+			TraversalContext near = expandForward ? forward : backward;
+			TraversalContext far = expandForward ? backward : forward;
+			int[] vertexQueue = expandForward ? forwardQueue : backwardQueue;
+			int front = expandForward ? forwardFront : backwardFront;
+			int back = expandForward ? forwardBack : backwardBack;
+
+			int levelEnd = back;
+			while (front < levelEnd)
+			{
+				int frontVertex = vertexQueue[front++];
+				double nextLength = 1 + near.getCost(frontVertex);
+				int last = side.getEndEdge(frontVertex);
+				for (int edge = side.getFirstEdge(frontVertex); edge < last; edge++)
+				{
+					int nextNeighbor = side.getEdgeTarget(edge);
+					if (!near.isVisited(nextNeighbor))
+					{
+						near.visit(nextNeighbor);
+						near.setCost(nextNeighbor, nextLength);
+						near.setPredecessor(nextNeighbor, frontVertex);
+						vertexQueue[back++] = nextNeighbor;
+
+						if (far.isVisited(nextNeighbor) &&
+						    (nextLength + far.getCost(nextNeighbor) < bestLength))
+						{
+							bestLength = nextLength + far.getCost(nextNeighbor);
+							meetingVertex = nextNeighbor;
+						} // end if
+					} // end if
+				} // end for
+			} // end while
+
+			if (expandForward)
+			{
+				forwardFront = front;
+				forwardBack = back;
+			}
+			else
+			{
+				backwardFront = front;
+				backwardBack = back;
+			} // end if
+		} // end while
+
+		int pathLength = -1;
+		if (meetingVertex >= 0)
+		{
+			joinPaths(forward, backward, meetingVertex, bestLength);
+			pathLength = (int)bestLength;
+		} // end if
+
+		return pathLength;
+	} // end getBidirectionalShortestPath
+
+	/** Task: Finds the least-cost path between two given vertices by
+	 *        running Dijkstra's algorithm forward from begin and backward
+	 *        from end at the same time. The search stops once the least
+	 *        costs left in the two priority queues add up to at least the
+	 *        cost of the best path found where the searches met.
+	 *  @param begin    the path's origin vertex
+	 *  @param end      the path's destination vertex
+	 *  @param context  the context to search with; at the completion of
+	 *                  the method, its predecessors lead from end back
+	 *                  to begin
+	 *  @return the cost of the cheapest path, or Double.POSITIVE_INFINITY
+	 *          if end cannot be reached from begin */
+	public double getBidirectionalCheapestPath(int begin, int end, TraversalContext context)
+	{
+		if (begin == end)
+			return getCheapestPath(begin, end, context);
+
+		CompressedGraph backwardGraph = getReverse();
+		TraversalContext forward = context;
+		TraversalContext backward = context.getReverseContext();
+		forward.reset(numberOfVertices);
+		backward.reset(numberOfVertices);
+		IndexedMinHeap forwardQueue = forward.getPriorityQueue();
+		IndexedMinHeap backwardQueue = backward.getPriorityQueue();
+
+		forward.visit(begin);
+		forward.setCost(begin, 0);
+		forward.setPredecessor(begin, -1);
+		forwardQueue.add(begin, 0);
+		backward.visit(end);
+		backward.setCost(end, 0);
+		backward.setPredecessor(end, -1);
+		backwardQueue.add(end, 0);
+
+		double bestCost = Double.POSITIVE_INFINITY;
+		int meetingVertex = -1;
+		boolean done = false;
+		while (!done && !forwardQueue.isEmpty() && !backwardQueue.isEmpty())
+		{
+			if (forwardQueue.getMinPriority() + backwardQueue.getMinPriority() >= bestCost)
+				done = true;
+			else
+			{
+				boolean expandForward = forwardQueue.getSize() <= backwardQueue.getSize();
+				CompressedGraph side = expandForward ? this : backwardGraph;
+				TraversalContext near = expandForward ? forward : backward;
+				TraversalContext far = expandForward ? backward : forward;
+				IndexedMinHeap priorityQueue = expandForward ? forwardQueue : backwardQueue;
+
+				int frontVertex = priorityQueue.removeMin();
+				double frontCost = near.getCost(frontVertex);
+				int last = side.getEndEdge(frontVertex);
+				for (int edge = side.getFirstEdge(frontVertex); edge < last; edge++)
+				{
+					int nextNeighbor = side.getEdgeTarget(edge);
+					double nextCost = frontCost + side.getEdgeWeight(edge);
+					boolean improved = false;
+					if (!near.isVisited(nextNeighbor))
+					{
+						near.visit(nextNeighbor);
+						priorityQueue.add(nextNeighbor, nextCost);
+						improved = true;
+					}
+					else if (priorityQueue.contains(nextNeighbor) &&
+					         (nextCost < near.getCost(nextNeighbor)))
+					{
+						priorityQueue.decreasePriority(nextNeighbor, nextCost);
+						improved = true;
+					} // end if
+
+					if (improved)
+					{
+						near.setCost(nextNeighbor, nextCost);
+						near.setPredecessor(nextNeighbor, frontVertex);
+						if (far.isVisited(nextNeighbor) &&
+						    (nextCost + far.getCost(nextNeighbor) < bestCost))
+						{
+							bestCost = nextCost + far.getCost(nextNeighbor);
+							meetingVertex = nextNeighbor;
+						} // end if
+					} // end if
+				} // end for
+			} // end if
+		} // end while
+
+		if (meetingVertex >= 0)
+			joinPaths(forward, backward, meetingVertex, bestCost);
+
+		return bestCost;
+	} // end getBidirectionalCheapestPath
+
+	// extends the forward search's predecessors along the backward search's
+	// path from the meeting vertex to its origin, so that they lead from
+	// the end of the whole path back to its beginning
+	private void joinPaths(TraversalContext forward, TraversalContext backward,
+	                       int meetingVertex, double pathCost)
+	{
+		int vertex = meetingVertex;
+		int nextVertex = backward.getPredecessor(vertex);
+		while (nextVertex >= 0)
+		{
+			forward.visit(nextVertex);
+			forward.setPredecessor(nextVertex, vertex);
+			vertex = nextVertex;
+			nextVertex = backward.getPredecessor(vertex);
+		} // end while
+
+		forward.setCost(vertex, pathCost);
+	} // end joinPaths
+
+	// builds the reversed graph by counting each vertex's incoming edges
+	private CompressedGraph createReverse()
+	{
+		int[] reverseOffsets = new int[numberOfVertices + 1];
+		for (int edge = 0; edge < numberOfEdges; edge++)
+			reverseOffsets[getEdgeTarget(edge) + 1]++;
+		for (int vertex = 0; vertex < numberOfVertices; vertex++)
+			reverseOffsets[vertex + 1] += reverseOffsets[vertex];
+
+		int[] nextPosition = java.util.Arrays.copyOf(reverseOffsets, numberOfVertices);
+		int[] reverseTargets = new int[numberOfEdges];
+		double[] reverseWeights = new double[numberOfEdges];
+		for (int vertex = 0; vertex < numberOfVertices; vertex++)
+		{
+			int last = getEndEdge(vertex);
+			for (int edge = getFirstEdge(vertex); edge < last; edge++)
+			{
+				int position = nextPosition[getEdgeTarget(edge)]++;
+				reverseTargets[position] = vertex;
+				reverseWeights[position] = getEdgeWeight(edge);
+			} // end for
+		} // end for
+
+		CompressedGraph result = new CompressedGraph(reverseOffsets, reverseTargets, reverseWeights);
+		result.reverse = this;
+		return result;
+	} // end createReverse
+
+	/** Task: Finds a cycle among the vertices a topological sort could
+	 *        not order, which are the unvisited ones. Each of them has an
+	 *        edge from another unvisited vertex, so walking backward along
+	 *        such edges must eventually repeat a vertex.
+	 *  @return the cycle's vertices in edge order */
+	private java.util.List<Integer> findCycle(TraversalContext context)
+	{
+		CompressedGraph backwardGraph = getReverse();
+		TraversalContext walked = context.getReverseContext();
+		walked.reset(numberOfVertices);
+
+		int vertex = 0;
+		while (context.isVisited(vertex))
+			vertex++;
+
+		// walk backward, recording for each vertex the one walked from
+		int previousVertex = -1;
+		while (!walked.isVisited(vertex))
+		{
+			walked.visit(vertex);
+			walked.setPredecessor(vertex, previousVertex);
+			previousVertex = vertex;
+
+			int edge = backwardGraph.getFirstEdge(vertex);
+			while (context.isVisited(backwardGraph.getEdgeTarget(edge)))
+				edge++;
+			vertex = backwardGraph.getEdgeTarget(edge);
+		} // end while
+
+		// vertex repeats; following the recorded steps from the vertex
+		// walked to last leads back to it along forward edges
+		java.util.List<Integer> cycle = new java.util.ArrayList<Integer>();
+		int start = vertex;
+		cycle.add(start);
+		vertex = previousVertex;
+		while (vertex != start)
+		{
+			cycle.add(vertex);
+			vertex = walked.getPredecessor(vertex);
+		} // end while
+
+		return cycle;
+	} // end findCycle
+} // end CompressedGraph
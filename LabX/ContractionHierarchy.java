@@ -0,0 +1,568 @@
+import java.util.Arrays;
+import java.util.Stack;
+
+/**
+ * A class that answers cheapest-path queries on a frozen graph much faster
+ * than Dijkstra's algorithm, after preprocessing the graph once into a
+ * contraction hierarchy.
+ *
+ * Preprocessing contracts the vertices one at a time, least important
+ * first. Contracting a vertex adds a shortcut edge from each of its
+ * uncontracted predecessors to each of its uncontracted successors, unless
+ * a witness search finds a path between the two that avoids the vertex and
+ * costs no more. A vertex's importance is its edge difference: the number
+ * of shortcuts contracting it would add, less the number of its edges, plus
+ * the number of its neighbors already contracted and its depth among them.
+ * The importance of a vertex's neighbors is recomputed after it is
+ * contracted, and a vertex's own is recomputed when it reaches the front
+ * of the queue, which it leaves only if it is still the least important.
+ *
+ * A query searches forward from the origin and backward from the
+ * destination, each following only edges toward vertices contracted later,
+ * and the shortcuts on the cheapest path found are unpacked into the edges
+ * of the graph that they stand for.
+ *
+ * Edge weights must be nonnegative. A hierarchy describes the graph as it
+ * was when the hierarchy was built. Queries use per-thread working storage,
+ * so any number of threads may query one hierarchy at once.
+ *
+ * @version 1.0
+ */
+public class ContractionHierarchy<T> implements java.io.Serializable
+{
+	private static final int WITNESS_SETTLE_LIMIT = 500; // vertices one witness search may settle
+	private static final int ESTIMATE_SETTLE_LIMIT = 16; // and one made only to rate a vertex
+
+	private final FrozenDirectedGraph<T> graph;
+	private final int[] rank;           // position of each vertex in the contraction order
+	private final int numberOfEdges;    // edges of the graph and shortcuts
+	private final int[] edgeOrigin;     // origin vertex of each edge
+	private final int[] edgeEnd;        // end vertex of each edge
+	private final int[] firstHalf;      // for a shortcut, the edge from its origin to the
+	                                    // vertex it bypasses; -1 for an edge of the graph
+	private final int[] secondHalf;     // for a shortcut, the edge from that vertex on
+	private final CompressedGraph upward;   // edges to vertices contracted later
+	private final int[] upwardEdges;        // number of each edge of upward
+	private final CompressedGraph downward; // edges from vertices contracted later,
+	                                        // reversed to lead from their end vertex
+	private final int[] downwardEdges;      // number of each edge of downward
+
+	/** Task: Builds the contraction hierarchy of a frozen graph.
+	 *  @param graph  a graph whose edge weights are nonnegative
+	 *  @throws IllegalArgumentException if an edge weight is negative */
+	public ContractionHierarchy(FrozenDirectedGraph<T> graph)
+	{
+		this.graph = graph;
+		Contraction contraction = new Contraction(graph.getCompressedGraph());
+		contraction.contractAll();
+
+		rank = contraction.rank;
+		numberOfEdges = contraction.edgeCount;
+		edgeOrigin = Arrays.copyOf(contraction.edgeOrigin, numberOfEdges);
+		edgeEnd = Arrays.copyOf(contraction.edgeEnd, numberOfEdges);
+		firstHalf = Arrays.copyOf(contraction.firstHalf, numberOfEdges);
+		secondHalf = Arrays.copyOf(contraction.secondHalf, numberOfEdges);
+
+		int numberOfVertices = rank.length;
+		int[] upwardOffsets = new int[numberOfVertices + 1];
+		int[] downwardOffsets = new int[numberOfVertices + 1];
+		for (int edge = 0; edge < numberOfEdges; edge++)
+		{
+			int origin = edgeOrigin[edge];
+			int end = edgeEnd[edge];
+			if (rank[origin] < rank[end])
+				upwardOffsets[origin + 1]++;
+			else
+				downwardOffsets[end + 1]++;
+		} // end for
+
+		for (int vertex = 0; vertex < numberOfVertices; vertex++)
+		{
+			upwardOffsets[vertex + 1] += upwardOffsets[vertex];
+			downwardOffsets[vertex + 1] += downwardOffsets[vertex];
+		} // end for
+
+		int upwardCount = upwardOffsets[numberOfVertices];
+		int downwardCount = downwardOffsets[numberOfVertices];
+		int[] upwardTargets = new int[upwardCount];
+		double[] upwardWeights = new double[upwardCount];
+		upwardEdges = new int[upwardCount];
+		int[] downwardTargets = new int[downwardCount];
+		double[] downwardWeights = new double[downwardCount];
+		downwardEdges = new int[downwardCount];
+		int[] nextUpward = Arrays.copyOf(upwardOffsets, numberOfVertices);
+		int[] nextDownward = Arrays.copyOf(downwardOffsets, numberOfVertices);
+		for (int edge = 0; edge < numberOfEdges; edge++)
+		{
+			int origin = edgeOrigin[edge];
+			int end = edgeEnd[edge];
+			if (rank[origin] < rank[end])
+			{
+				int position = nextUpward[origin]++;
+				upwardTargets[position] = end;
+				upwardWeights[position] = contraction.edgeWeight[edge];
+				upwardEdges[position] = edge;
+			}
+			else
+			{
+				int position = nextDownward[end]++;
+				downwardTargets[position] = origin;
+				downwardWeights[position] = contraction.edgeWeight[edge];
+				downwardEdges[position] = edge;
+			} // end if
+		} // end for
+
+		upward = new CompressedGraph(upwardOffsets, upwardTargets, upwardWeights);
+		downward = new CompressedGraph(downwardOffsets, downwardTargets, downwardWeights);
+	} // end constructor
+
+	/** Task: Gets the number of shortcut edges the hierarchy added. */
+	public int getNumberOfShortcuts()
+	{
+		return numberOfEdges - graph.getNumberOfEdges();
+	} // end getNumberOfShortcuts
+
+	/** Task: Finds the least-cost path between two given vertices.
+	 *  Precondition: path is an empty stack (NOT null)
+	 *  @param begin  an object that labels the path's origin vertex
+	 *  @param end    an object that labels the path's destination vertex
+	 *  @param path   a stack of the labels of the vertices along the path,
+	 *                with the origin at the stack's top
+	 *  @return the cost of the path, or Double.POSITIVE_INFINITY if there
+	 *          is none */
+	public double getCheapestPath(T begin, T end, Stack<T> path)
+	{
+		double pathCost = Double.POSITIVE_INFINITY;
+		int beginVertex = graph.getVertexId(begin);
+		int endVertex = graph.getVertexId(end);
+		if ( (beginVertex >= 0) && (endVertex >= 0) )
+		{
+			TraversalContext forward = upward.getContext();
+			TraversalContext backward = forward.getReverseContext();
+			int meetingVertex = search(beginVertex, endVertex, forward, backward);
+			if (meetingVertex >= 0)
+			{
+				pathCost = forward.getCost(meetingVertex) + backward.getCost(meetingVertex);
+				pushPath(beginVertex, meetingVertex, forward, backward, path);
+			} // end if
+		} // end if
+
+		return pathCost;
+	} // end getCheapestPath
+
+	// searches upward from begin in the forward context and from end in the
+	// backward context, in which the predecessor of a vertex is the number
+	// of the edge the search reached it by; returns the vertex on the
+	// cheapest path at which the searches meet, or -1 if there is no path
+	private int search(int begin, int end, TraversalContext forward, TraversalContext backward)
+	{
+		int numberOfVertices = rank.length;
+		forward.reset(numberOfVertices);
+		backward.reset(numberOfVertices);
+		IndexedMinHeap forwardQueue = forward.getPriorityQueue();
+		IndexedMinHeap backwardQueue = backward.getPriorityQueue();
+
+		forward.visit(begin);
+		forward.setCost(begin, 0);
+		forward.setPredecessor(begin, -1);
+		forwardQueue.add(begin, 0);
+		backward.visit(end);
+		backward.setCost(end, 0);
+		backward.setPredecessor(end, -1);
+		backwardQueue.add(end, 0);
+
+		double bestCost = (begin == end) ? 0 : Double.POSITIVE_INFINITY;
+		int meetingVertex = (begin == end) ? begin : -1;
+
+		// unlike a plain two-way search, neither side may stop until its
+		// own queue holds nothing cheaper than the best path, since each
+		// side sees only part of the graph
+		boolean forwardActive = true;
+		boolean backwardActive = true;
+		while (forwardActive || backwardActive)
+		{
+			forwardActive = !forwardQueue.isEmpty() && (forwardQueue.getMinPriority() < bestCost);
+			backwardActive = !backwardQueue.isEmpty() && (backwardQueue.getMinPriority() < bestCost);
+			if (forwardActive || backwardActive)
+			{
+				boolean expandForward = forwardActive &&
+				                        (!backwardActive || (forwardQueue.getSize() <= backwardQueue.getSize()));
+				CompressedGraph side = expandForward ? upward : downward;
+				int[] sideEdges = expandForward ? upwardEdges : downwardEdges;
+				TraversalContext near = expandForward ? forward : backward;
+				TraversalContext far = expandForward ? backward : forward;
+				IndexedMinHeap priorityQueue = expandForward ? forwardQueue : backwardQueue;
+
+				int frontVertex = priorityQueue.removeMin();
+				double frontCost = near.getCost(frontVertex);
+				int last = side.getEndEdge(frontVertex);
+				for (int edge = side.getFirstEdge(frontVertex); edge < last; edge++)
+				{
+					int nextNeighbor = side.getEdgeTarget(edge);
+					double nextCost = frontCost + side.getEdgeWeight(edge);
+					boolean improved = false;
+					if (!near.isVisited(nextNeighbor))
+					{
+						near.visit(nextNeighbor);
+						priorityQueue.add(nextNeighbor, nextCost);
+						improved = true;
+					}
+					else if (priorityQueue.contains(nextNeighbor) &&
+					         (nextCost < near.getCost(nextNeighbor)))
+					{
+						priorityQueue.decreasePriority(nextNeighbor, nextCost);
+						improved = true;
+					} // end if
+
+					if (improved)
+					{
+						near.setCost(nextNeighbor, nextCost);
+						near.setPredecessor(nextNeighbor, sideEdges[edge]);
+						if (far.isVisited(nextNeighbor) &&
+						    (nextCost + far.getCost(nextNeighbor) < bestCost))
+						{
+							bestCost = nextCost + far.getCost(nextNeighbor);
+							meetingVertex = nextNeighbor;
+						} // end if
+					} // end if
+				} // end for
+			} // end if
+		} // end while
+
+		return meetingVertex;
+	} // end search
+
+	// pushes the labels along the path the searches found, unpacking its
+	// shortcuts, so that the path's origin ends up on top
+	private void pushPath(int begin, int meetingVertex, TraversalContext forward,
+	                      TraversalContext backward, Stack<T> path)
+	{
+		// the edges to unpack, the path's first edge on top
+		IntArrayStack edges = new IntArrayStack();
+		IntArrayStack backwardEdges = new IntArrayStack();
+		for (int edge = backward.getPredecessor(meetingVertex); edge >= 0;
+		     edge = backward.getPredecessor(edgeEnd[edge]))
+			backwardEdges.push(edge);
+		while (!backwardEdges.isEmpty())
+			edges.push(backwardEdges.pop());
+
+		int vertex = meetingVertex;
+		for (int edge = forward.getPredecessor(vertex); edge >= 0; edge = forward.getPredecessor(vertex))
+		{
+			edges.push(edge);
+			vertex = edgeOrigin[edge];
+		} // end for
+
+		IntArrayStack vertices = new IntArrayStack();
+		vertices.push(begin);
+		while (!edges.isEmpty())
+		{
+			int edge = edges.pop();
+			if (firstHalf[edge] < 0)
+				vertices.push(edgeEnd[edge]);
+			else
+			{
+				edges.push(secondHalf[edge]);
+				edges.push(firstHalf[edge]);
+			} // end if
+		} // end while
+
+		int[] order = vertices.toArray(); // the path's end first
+		T[] pathLabels = (T[])new Object[order.length];
+		for (int index = 0; index < order.length; index++)
+			pathLabels[index] = graph.getLabel(order[index]);
+
+		path.addAll(Arrays.asList(pathLabels));
+	} // end pushPath
+
+	// the working state of preprocessing, discarded once the hierarchy is built
+	private static class Contraction
+	{
+		private final int numberOfVertices;
+		private int edgeCount;
+		private int[] edgeOrigin;
+		private int[] edgeEnd;
+		private double[] edgeWeight;
+		private int[] firstHalf;
+		private int[] secondHalf;
+		private final int[][] outEdges;  // edges leaving each vertex to uncontracted vertices
+		private final int[] outCount;
+		private final int[][] inEdges;   // edges entering each vertex from uncontracted vertices
+		private final int[] inCount;
+		private final int[] rank;        // or -1 if not yet contracted
+		private final int[] contractedNeighbors;
+		private final TraversalContext witness;
+		private final int[] marks;       // currentMark for the vertices of the current step
+		private int currentMark;
+		private final int[] depth;       // one more than the greatest depth of a contracted neighbor
+		private final IntArrayStack neighbors; // of the vertex being contracted
+
+		private Contraction(CompressedGraph graph)
+		{
+			numberOfVertices = graph.getNumberOfVertices();
+			int numberOfEdges = graph.getNumberOfEdges();
+			edgeCount = 0;
+			edgeOrigin = new int[Math.max(numberOfEdges, 16)];
+			edgeEnd = new int[edgeOrigin.length];
+			edgeWeight = new double[edgeOrigin.length];
+			firstHalf = new int[edgeOrigin.length];
+			secondHalf = new int[edgeOrigin.length];
+			outEdges = new int[numberOfVertices][];
+			outCount = new int[numberOfVertices];
+			inEdges = new int[numberOfVertices][];
+			inCount = new int[numberOfVertices];
+			rank = new int[numberOfVertices];
+			Arrays.fill(rank, -1);
+			contractedNeighbors = new int[numberOfVertices];
+			witness = new TraversalContext(numberOfVertices);
+			marks = new int[numberOfVertices];
+			currentMark = 0;
+			depth = new int[numberOfVertices];
+			neighbors = new IntArrayStack();
+
+			int[] inDegree = new int[numberOfVertices];
+			for (int edge = 0; edge < numberOfEdges; edge++)
+				inDegree[graph.getEdgeTarget(edge)]++;
+			for (int vertex = 0; vertex < numberOfVertices; vertex++)
+			{
+				outEdges[vertex] = new int[Math.max(graph.getOutDegree(vertex), 1)];
+				inEdges[vertex] = new int[Math.max(inDegree[vertex], 1)];
+			} // end for
+
+			for (int vertex = 0; vertex < numberOfVertices; vertex++)
+			{
+				for (int edge = graph.getFirstEdge(vertex); edge < graph.getEndEdge(vertex); edge++)
+				{
+					if (graph.getEdgeWeight(edge) < 0)
+						throw new IllegalArgumentException("A contraction hierarchy needs nonnegative " +
+						                                   "edge weights");
+					addEdge(vertex, graph.getEdgeTarget(edge), graph.getEdgeWeight(edge), -1, -1);
+				} // end for
+			} // end for
+		} // end constructor
+
+		private void contractAll()
+		{
+			IndexedMinHeap queue = new IndexedMinHeap(numberOfVertices);
+			for (int vertex = 0; vertex < numberOfVertices; vertex++)
+				queue.add(vertex, getImportance(vertex));
+
+			int nextRank = 0;
+			while (!queue.isEmpty())
+			{
+				int vertex = queue.removeMin();
+				int importance = getImportance(vertex);
+				if (!queue.isEmpty() && (importance > queue.getMinPriority()))
+					queue.add(vertex, importance); // no longer the least important
+				else
+				{
+					addShortcuts(vertex, true);
+					removeVertex(vertex);
+					rank[vertex] = nextRank;
+					nextRank++;
+
+					// contracting the vertex changed its neighbors' importance
+					while (!neighbors.isEmpty())
+					{
+						int neighbor = neighbors.pop();
+						contractedNeighbors[neighbor]++;
+						depth[neighbor] = Math.max(depth[neighbor], depth[vertex] + 1);
+						queue.changePriority(neighbor, getImportance(neighbor));
+					} // end while
+				} // end if
+			} // end while
+		} // end contractAll
+
+		private int getImportance(int vertex)
+		{
+			return addShortcuts(vertex, false) - outCount[vertex] - inCount[vertex] +
+			       contractedNeighbors[vertex] + depth[vertex];
+		} // end getImportance
+
+		// finds the shortcuts that contracting a vertex needs, adding them
+		// if add is true; returns their number. Rating a vertex uses
+		// shorter witness searches, which may overcount the shortcuts
+		private int addShortcuts(int vertex, boolean add)
+		{
+			int shortcutCount = 0;
+			double maxOutWeight = 0;
+			for (int index = 0; index < outCount[vertex]; index++)
+				maxOutWeight = Math.max(maxOutWeight, edgeWeight[outEdges[vertex][index]]);
+
+			for (int inIndex = 0; inIndex < inCount[vertex]; inIndex++)
+			{
+				int inEdge = inEdges[vertex][inIndex];
+				int origin = edgeOrigin[inEdge];
+				// the searches need to settle only the successors
+				currentMark++;
+				int targetCount = 0;
+				for (int outIndex = 0; outIndex < outCount[vertex]; outIndex++)
+				{
+					int end = edgeEnd[outEdges[vertex][outIndex]];
+					if (end != origin)
+					{
+						marks[end] = currentMark;
+						targetCount++;
+					} // end if
+				} // end for
+
+				findWitnesses(origin, vertex, edgeWeight[inEdge] + maxOutWeight, targetCount,
+				              add ? WITNESS_SETTLE_LIMIT : ESTIMATE_SETTLE_LIMIT);
+				for (int outIndex = 0; outIndex < outCount[vertex]; outIndex++)
+				{
+					int outEdge = outEdges[vertex][outIndex];
+					int end = edgeEnd[outEdge];
+					double viaCost = edgeWeight[inEdge] + edgeWeight[outEdge];
+					if ( (end != origin) &&
+					     (!witness.isVisited(end) || (witness.getCost(end) > viaCost)) )
+					{
+						shortcutCount++;
+						if (add)
+							addOrImproveEdge(origin, end, viaCost, inEdge, outEdge);
+					} // end if
+				} // end for
+			} // end for
+
+			return shortcutCount;
+		} // end addShortcuts
+
+		// searches from origin among uncontracted vertices other than
+		// avoided, until paths cost more than maxCost, the given number of
+		// marked targets are settled or settleLimit vertices are settled;
+		// a visited vertex's cost is that of some path to it
+		private void findWitnesses(int origin, int avoided, double maxCost, int targetCount,
+		                           int settleLimit)
+		{
+			witness.reset(numberOfVertices);
+			IndexedMinHeap priorityQueue = witness.getPriorityQueue();
+			witness.visit(origin);
+			witness.setCost(origin, 0);
+			priorityQueue.add(origin, 0);
+			int settledCount = 0;
+			while ( (targetCount > 0) && !priorityQueue.isEmpty() &&
+			        (priorityQueue.getMinPriority() <= maxCost) && (settledCount < settleLimit) )
+			{
+				int frontVertex = priorityQueue.removeMin();
+				settledCount++;
+				if (marks[frontVertex] == currentMark)
+					targetCount--;
+				double frontCost = witness.getCost(frontVertex);
+				for (int index = 0; index < outCount[frontVertex]; index++)
+				{
+					int edge = outEdges[frontVertex][index];
+					int nextNeighbor = edgeEnd[edge];
+					double nextCost = frontCost + edgeWeight[edge];
+					if (nextNeighbor != avoided)
+					{
+						if (!witness.isVisited(nextNeighbor))
+						{
+							witness.visit(nextNeighbor);
+							witness.setCost(nextNeighbor, nextCost);
+							priorityQueue.add(nextNeighbor, nextCost);
+						}
+						else if (priorityQueue.contains(nextNeighbor) &&
+						         (nextCost < witness.getCost(nextNeighbor)))
+						{
+							witness.setCost(nextNeighbor, nextCost);
+							priorityQueue.decreasePriority(nextNeighbor, nextCost);
+						} // end if
+					} // end if
+				} // end for
+			} // end while
+		} // end findWitnesses
+
+		// adds a shortcut, or lowers the weight of an existing edge between
+		// the same vertices; no shortcut uses that edge yet, since shortcuts
+		// are made only around contracted vertices
+		private void addOrImproveEdge(int origin, int end, double weight, int first, int second)
+		{
+			int existing = -1;
+			for (int index = 0; (existing < 0) && (index < outCount[origin]); index++)
+			{
+				if (edgeEnd[outEdges[origin][index]] == end)
+					existing = outEdges[origin][index];
+			} // end for
+
+			if (existing < 0)
+				addEdge(origin, end, weight, first, second);
+			else if (weight < edgeWeight[existing])
+			{
+				edgeWeight[existing] = weight;
+				firstHalf[existing] = first;
+				secondHalf[existing] = second;
+			} // end if
+		} // end addOrImproveEdge
+
+		private void addEdge(int origin, int end, double weight, int first, int second)
+		{
+			if (edgeCount == edgeOrigin.length)
+			{
+				int newLength = 2 * edgeCount;
+				edgeOrigin = Arrays.copyOf(edgeOrigin, newLength);
+				edgeEnd = Arrays.copyOf(edgeEnd, newLength);
+				edgeWeight = Arrays.copyOf(edgeWeight, newLength);
+				firstHalf = Arrays.copyOf(firstHalf, newLength);
+				secondHalf = Arrays.copyOf(secondHalf, newLength);
+			} // end if
+
+			int edge = edgeCount;
+			edgeCount++;
+			edgeOrigin[edge] = origin;
+			edgeEnd[edge] = end;
+			edgeWeight[edge] = weight;
+			firstHalf[edge] = first;
+			secondHalf[edge] = second;
+
+			if (outCount[origin] == outEdges[origin].length)
+				outEdges[origin] = Arrays.copyOf(outEdges[origin], 2 * outCount[origin]);
+			outEdges[origin][outCount[origin]++] = edge;
+			if (inCount[end] == inEdges[end].length)
+				inEdges[end] = Arrays.copyOf(inEdges[end], 2 * inCount[end]);
+			inEdges[end][inCount[end]++] = edge;
+		} // end addEdge
+
+		// drops a contracted vertex's edges from its neighbors' lists, and
+		// pushes each neighbor once onto neighbors
+		private void removeVertex(int vertex)
+		{
+			currentMark++;
+			for (int index = 0; index < outCount[vertex]; index++)
+			{
+				int end = edgeEnd[outEdges[vertex][index]];
+				inCount[end] = removeEdge(inEdges[end], inCount[end], outEdges[vertex][index]);
+				addNeighbor(end);
+			} // end for
+
+			for (int index = 0; index < inCount[vertex]; index++)
+			{
+				int origin = edgeOrigin[inEdges[vertex][index]];
+				outCount[origin] = removeEdge(outEdges[origin], outCount[origin], inEdges[vertex][index]);
+				addNeighbor(origin);
+			} // end for
+
+			outCount[vertex] = 0;
+			inCount[vertex] = 0;
+		} // end removeVertex
+
+		private void addNeighbor(int neighbor)
+		{
+			if (marks[neighbor] != currentMark)
+			{
+				marks[neighbor] = currentMark;
+				neighbors.push(neighbor);
+			} // end if
+		} // end addNeighbor
+
+		// removes an edge from the first count entries of a list, moving
+		// the last entry into its place; returns the new count
+		private static int removeEdge(int[] edges, int count, int edge)
+		{
+			int index = 0;
+			while (edges[index] != edge)
+				index++;
+
+			edges[index] = edges[count - 1];
+			return count - 1;
+		} // end removeEdge
+	} // end Contraction
+} // end ContractionHierarchy
@@ -0,0 +1,131 @@
+import java.util.Random;
+import java.util.Stack;
+
+/**
+ * A driver that checks ContractionHierarchy against Dijkstra's algorithm.
+ * Each trial builds a random graph, half of them with small integer
+ * weights so that ties and zero-weight edges occur, contracts it, and
+ * answers random queries both with the hierarchy and with
+ * FrozenDirectedGraph.getCheapestPath. The costs must agree, and each
+ * path from the hierarchy must run from the origin to the destination
+ * along edges of the graph whose weights add up to its cost.
+ *
+ * Usage: java ContractionHierarchyDriver [trials [seed]]
+ * Trial i uses the seed plus i, so a failing trial, which is printed with
+ * its seed, can be run alone with a trial count of 1 and that seed.
+ *
+ * @version 1.0
+ */
+public class ContractionHierarchyDriver
+{
+	private static final int MAX_VERTICES = 120;
+	private static final int QUERIES = 300; // per trial
+
+	public static void main(String[] args)
+	{
+		int trials = (args.length > 0) ? Integer.parseInt(args[0]) : 200;
+		long seed = (args.length > 1) ? Long.parseLong(args[1]) : 14;
+
+		int failures = 0;
+		for (int trial = 0; trial < trials; trial++)
+		{
+			String failure = check(seed + trial);
+			if (failure != null)
+			{
+				failures++;
+				System.out.println("seed " + (seed + trial) + ": " + failure);
+			} // end if
+		} // end for
+
+		System.out.println(trials + " trials, " + failures + " failed");
+		if (failures > 0)
+			System.exit(1);
+	} // end main
+
+	/** Task: Runs one trial.
+	 *  @return a description of the first error found, or null if none */
+	private static String check(long seed)
+	{
+		Random generator = new Random(seed);
+		int size = 2 + generator.nextInt(MAX_VERTICES - 1);
+		boolean integral = generator.nextBoolean();
+		DirectedGraph<Integer> graph =
+		           new DirectedGraph<Integer>(new HashedDictionary<Integer, VertexInterface<Integer>>(size));
+		for (int vertex = 0; vertex < size; vertex++)
+			graph.addVertex(vertex);
+
+		int edgeCount = generator.nextInt(5 * size);
+		for (int edge = 0; edge < edgeCount; edge++)
+		{
+			double edgeWeight = integral ? generator.nextInt(3) : 10 * generator.nextDouble();
+			graph.addEdge(generator.nextInt(size), generator.nextInt(size), edgeWeight);
+		} // end for
+
+		FrozenDirectedGraph<Integer> frozenGraph = graph.freeze();
+		ContractionHierarchy<Integer> hierarchy = new ContractionHierarchy<Integer>(frozenGraph);
+		String failure = null;
+		for (int query = 0; (failure == null) && (query < QUERIES); query++)
+		{
+			int origin = generator.nextInt(size);
+			int destination = generator.nextInt(size);
+			Stack<Integer> path = new Stack<Integer>();
+			double expected = frozenGraph.getCheapestPath(origin, destination, new Stack<Integer>());
+			double cost = hierarchy.getCheapestPath(origin, destination, path);
+			String pair = origin + " to " + destination;
+			if (!isClose(cost, expected))
+				failure = pair + " costs " + cost + " but Dijkstra finds " + expected;
+			else if (cost == Double.POSITIVE_INFINITY)
+			{
+				if (!path.isEmpty())
+					failure = pair + " has no path but returned " + path;
+			}
+			else if (path.isEmpty() || (path.peek() != origin))
+				failure = pair + " returned " + path + ", which does not begin at the origin";
+			else
+			{
+				// follow the path, adding up the weights of its edges
+				double pathCost = 0;
+				int previous = path.pop();
+				while ( (failure == null) && !path.isEmpty() )
+				{
+					int next = path.pop();
+					double edgeWeight = getEdgeWeight(frozenGraph, previous, next);
+					if (Double.isNaN(edgeWeight))
+						failure = pair + " uses " + previous + " to " + next + ", which is not an edge";
+					pathCost += edgeWeight;
+					previous = next;
+				} // end while
+
+				if ( (failure == null) && (previous != destination) )
+					failure = pair + " ends at " + previous;
+				else if ( (failure == null) && !isClose(pathCost, cost) )
+					failure = pair + " has edges that cost " + pathCost + ", not " + cost;
+			} // end if
+		} // end for
+
+		return failure;
+	} // end check
+
+	/** Task: Gets the weight of the edge between two vertices.
+	 *  @return the weight, or NaN if there is no such edge */
+	private static double getEdgeWeight(FrozenDirectedGraph<Integer> frozenGraph, int begin, int end)
+	{
+		CompressedGraph edges = frozenGraph.getCompressedGraph();
+		int beginVertex = frozenGraph.getVertexId(begin);
+		int endVertex = frozenGraph.getVertexId(end);
+		double result = Double.NaN;
+		for (int edge = edges.getFirstEdge(beginVertex); edge < edges.getEndEdge(beginVertex); edge++)
+		{
+			if (edges.getEdgeTarget(edge) == endVertex)
+				result = edges.getEdgeWeight(edge);
+		} // end for
+
+		return result;
+	} // end getEdgeWeight
+
+	// sums of the same weights taken in another order may differ in the last bits
+	private static boolean isClose(double first, double second)
+	{
+		return (first == second) || (Math.abs(first - second) <= 1e-9 * Math.max(1, Math.abs(second)));
+	} // end isClose
+} // end ContractionHierarchyDriver
@@ -0,0 +1,47 @@
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A class of runtime exceptions thrown when an operation that needs a
+ * graph without cycles, such as a topological sort, meets a cycle. The
+ * exception carries the vertices of one such cycle.
+ *
+ * @version 1.0
+ */
+public class CyclicGraphException extends RuntimeException
+{
+	private static final int MAX_VERTICES_SHOWN = 10; // in the message
+
+	private final List<?> cycle;
+
+	/** Task: Creates an exception for a given cycle.
+	 *  @param cycle  the vertices of the cycle in edge order; the last
+	 *                vertex has an edge to the first */
+	public CyclicGraphException(List<?> cycle)
+	{
+		super(describe(cycle));
+		this.cycle = Collections.unmodifiableList(cycle);
+	} // end constructor
+
+	/** Task: Gets the cycle that was found.
+	 *  @return a list of the cycle's vertices, each having an edge to the
+	 *          next and the last having an edge to the first */
+	public List<?> getCycle()
+	{
+		return cycle;
+	} // end getCycle
+
+	private static String describe(List<?> cycle)
+	{
+		StringBuilder message = new StringBuilder("The graph has a cycle: ");
+		int shown = Math.min(cycle.size(), MAX_VERTICES_SHOWN);
+		for (int index = 0; index < shown; index++)
+			message.append(cycle.get(index)).append(" -> ");
+
+		if (shown < cycle.size())
+			message.append("... (" + cycle.size() + " vertices) -> ");
+
+		message.append(cycle.isEmpty() ? "" : cycle.get(0));
+		return message.toString();
+	} // end describe
+} // end CyclicGraphException
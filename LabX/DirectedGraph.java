@@ -1,8 +1,10 @@
 import java.util.Iterator;
+import java.util.List;
 import java.util.Stack;
 import java.util.Queue;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.ToDoubleBiFunction;
 /**
  * A class that implements the ADT directed graph.
  * 
@@ -13,17 +15,51 @@ public class DirectedGraph<T> implements GraphInterface<T>, java.io.Serializable
 {
 	private DictionaryInterface<T, VertexInterface<T>> vertices;
 	private int edgeCount;
+	private transient volatile FrozenDirectedGraph<T> snapshot; // answers queries; null after a change
+	private DictionaryInterface<T, Vertex<T>> predecessors; // for each vertex, a vertex whose edges
+	                                      // go to the origins of the edges into it, or null if not indexed
+	private transient PathCache<T> pathCache; // recent path searches, or null if not cached
+	private Vertex<T>[] vertexTable; // each vertex at its number; null at unused numbers
+	private int vertexIdCount;       // numbers given out, in use or free
+	private IntArrayStack freeIds;   // numbers of removed vertices, reused first
+	private transient volatile long searchWork; // by path searches since the last change
 	
 	public DirectedGraph()
 	{
 		vertices = new LinkedDictionary<T, VertexInterface<T>>();
 		edgeCount = 0;
+		clearVertexIds();
 	} // end default constructor
 
+	/** Task: Creates an empty graph that keeps its vertices in a given
+	 *        dictionary, such as a HashedDictionary for large graphs.
+	 *  @param vertexDictionary  an empty dictionary of vertices keyed
+	 *                           by their labels
+	 *  @throws IllegalArgumentException if the dictionary is not empty */
+	public DirectedGraph(DictionaryInterface<T, VertexInterface<T>> vertexDictionary)
+	{
+		if (!vertexDictionary.isEmpty())
+			throw new IllegalArgumentException("The dictionary of vertices must be empty");
+
+		vertices = vertexDictionary;
+		edgeCount = 0;
+		clearVertexIds();
+	} // end constructor
+
+	/** Task: Adds a vertex with a given label, leaving the graph unchanged
+	 *        if it already has one, so that the vertex keeps its edges. */
 	public boolean addVertex(T vertexLabel)
 	{
-	  VertexInterface<T> isDuplicate = vertices.add(vertexLabel, new Vertex(vertexLabel));
-	  return isDuplicate == null; // was add to dictionary successful?
+	  boolean result = vertices.getValue(vertexLabel) == null;
+	  if (result)
+	  {
+	    Vertex<T> newVertex = new Vertex<T>(vertexLabel);
+	    numberVertex(newVertex);
+	    vertices.add(vertexLabel, newVertex);
+	    discardSnapshot();
+	  } // end if
+
+	  return result;
 	} // end addVertex
 
 	public boolean addEdge(T begin, T end, double edgeWeight)
@@ -37,7 +73,12 @@ public class DirectedGraph<T> implements GraphInterface<T>, java.io.Serializable
 	    result = beginVertex.connect(endVertex, edgeWeight);
 	    
 	  if (result)
+	  {
 	    edgeCount++;
+	    discardSnapshot();
+	    if (predecessors != null)
+	      addPredecessor(endVertex, beginVertex);
+	  } // end if
 	    
 	  return result;
 	} // end addEdge
@@ -47,26 +88,97 @@ public class DirectedGraph<T> implements GraphInterface<T>, java.io.Serializable
 	  return addEdge(begin, end, 0);
 	} // end addEdge
 
-
-	public boolean hasEdge(T begin, T end)
+	/** Task: Removes the edge between two given vertices. Once the
+	 *        vertices are found, this takes constant amortized time;
+	 *        finding them takes constant expected time in a HashedDictionary
+	 *        but time proportional to the number of vertices in the default
+	 *        LinkedDictionary. */
+	public boolean removeEdge(T begin, T end)
 	{
-	  boolean found = false;
+	  boolean result = false;
 	  
 	  VertexInterface<T> beginVertex = vertices.getValue(begin);
 	  VertexInterface<T> endVertex = vertices.getValue(end);
 	  
 	  if ( (beginVertex != null) && (endVertex != null) )
+	    result = beginVertex.disconnect(endVertex);
+	    
+	  if (result)
+	  {
+	    edgeCount--;
+	    discardSnapshot();
+	    if (predecessors != null)
+	      predecessors.getValue(end).disconnect(beginVertex);
+	  } // end if
+	    
+	  return result;
+	} // end removeEdge
+
+	/** Task: Removes a given vertex and its edges. With the reverse index
+	 *        enabled, the edges into the vertex are found from it, in
+	 *        amortized time proportional to the number of the vertex's
+	 *        edges when the vertices are kept in a HashedDictionary; the
+	 *        default LinkedDictionary adds time proportional to the number
+	 *        of vertices. Without the index, which this method does not
+	 *        enable, every vertex is examined for an edge into the removed
+	 *        one, in time proportional to the number of vertices plus the
+	 *        number of edges. */
+	public boolean removeVertex(T vertexLabel)
+	{
+	  VertexInterface<T> removedVertex = vertices.getValue(vertexLabel);
+	  if (removedVertex != null)
 	  {
-	    Iterator<VertexInterface<T>> neighbors = 
-	                                 beginVertex.getNeighborIterator();
-	    while (!found && neighbors.hasNext())
+	    Iterator<VertexInterface<T>> neighbors = removedVertex.getNeighborIterator();
+	    while (neighbors.hasNext())
 	    {
 	      VertexInterface<T> nextNeighbor = neighbors.next();
-	      if (endVertex.equals(nextNeighbor))
-	        found = true;
+	      if (predecessors != null)
+	        predecessors.getValue(nextNeighbor.getLabel()).disconnect(removedVertex);
+	      edgeCount--;
 	    } // end while
+	    
+	    if (predecessors != null)
+	    {
+	      Vertex<T> origins = predecessors.remove(vertexLabel);
+	      if (origins != null)
+	      {
+	        Iterator<VertexInterface<T>> originIterator = origins.getNeighborIterator();
+	        while (originIterator.hasNext())
+	        {
+	          originIterator.next().disconnect(removedVertex);
+	          edgeCount--;
+	        } // end while
+	      } // end if
+	    }
+	    else
+	    {
+	      for (int id = 0; id < vertexIdCount; id++)
+	      {
+	        if ( (vertexTable[id] != null) && vertexTable[id].disconnect(removedVertex) )
+	          edgeCount--;
+	      } // end for
+	    } // end if
+	    
+	    vertices.remove(vertexLabel);
+	    int removedId = ((Vertex<T>)removedVertex).getId();
+	    vertexTable[removedId] = null;
+	    freeIds.push(removedId);
+	    discardSnapshot();
 	  } // end if
 	  
+	  return removedVertex != null;
+	} // end removeVertex
+
+	public boolean hasEdge(T begin, T end)
+	{
+	  boolean found = false;
+	  
+	  VertexInterface<T> beginVertex = vertices.getValue(begin);
+	  VertexInterface<T> endVertex = vertices.getValue(end);
+	  
+	  if ( (beginVertex != null) && (endVertex != null) )
+	    found = beginVertex.hasEdgeTo(endVertex);
+	  
 	  return found;
 	} // end hasEdge
 
@@ -79,6 +191,10 @@ public class DirectedGraph<T> implements GraphInterface<T>, java.io.Serializable
 	{
 	  vertices.clear();
 	  edgeCount = 0;
+	  clearVertexIds();
+	  discardSnapshot();
+	  if (predecessors != null)
+	    predecessors.clear();
 	} // end clear
 
 	public int getNumberOfVertices()
@@ -91,287 +207,884 @@ public class DirectedGraph<T> implements GraphInterface<T>, java.io.Serializable
 	  return edgeCount;
 	} // end getNumberOfEdges
 
-	protected void resetVertices()
+	/** Task: Starts keeping the results of getShortestPath and
+	 *        getCheapestPath in a cache of a given size, evicting the
+	 *        least recently used path when it is full. The cache is
+	 *        emptied whenever the graph changes. Enabling the cache again
+	 *        replaces it with an empty one.
+	 *  @param capacity  the largest number of paths kept */
+	public void enablePathCache(int capacity)
 	{
-	  Iterator<VertexInterface<T>> vertexIterator = vertices.getValueIterator();
-	  while (vertexIterator.hasNext())
-	  {
-	    VertexInterface<T> nextVertex = vertexIterator.next();
-	    nextVertex.unvisit();
-	    nextVertex.setCost(0);
-	    nextVertex.setPredecessor(null);
-	  } // end while
-	} // end resetVertices
+		pathCache = new PathCache<T>(capacity);
+	} // end enablePathCache
+
+	public void disablePathCache()
+	{
+		pathCache = null;
+	} // end disablePathCache
+
+	/** Task: Gets the graph's path cache, whose counts of hits and misses
+	 *        show how often searches were avoided.
+	 *  @return the cache, or null if paths are not cached */
+	public PathCache<T> getPathCache()
+	{
+		return pathCache;
+	} // end getPathCache
+
+	/** Task: Starts keeping, for each vertex, the origins of the edges
+	 *        into it, so that getPredecessorIterator and getInDegree take
+	 *        time proportional to the vertex's in-degree. The index is
+	 *        built from the current edges, then kept up to date as edges
+	 *        are added and removed. */
+	public void enableReverseIndex()
+	{
+		if (predecessors == null)
+		{
+			predecessors = new HashedDictionary<T, Vertex<T>>(getNumberOfVertices());
+			Iterator<VertexInterface<T>> vertexIterator = vertices.getValueIterator();
+			while (vertexIterator.hasNext())
+			{
+				VertexInterface<T> nextVertex = vertexIterator.next();
+				Iterator<VertexInterface<T>> neighbors = nextVertex.getNeighborIterator();
+				while (neighbors.hasNext())
+					addPredecessor(neighbors.next(), nextVertex);
+			} // end while
+		} // end if
+	} // end enableReverseIndex
+
+	public boolean isReverseIndexEnabled()
+	{
+		return predecessors != null;
+	} // end isReverseIndexEnabled
+
+	/** Task: Creates an iterator of the vertices that have edges to a
+	 *        given vertex. Without a reverse index, every vertex is
+	 *        examined for an edge to the given one.
+	 *  @param vertexLabel  an object that labels a vertex
+	 *  @return an iterator of the labels of the vertex's predecessors,
+	 *          in no particular order; it is empty if the vertex is not
+	 *          in the graph */
+	public Iterator<T> getPredecessorIterator(T vertexLabel)
+	{
+		Iterator<T> result;
+		FrozenDirectedGraph<T> frozenGraph;
+		if (predecessors != null)
+		{
+			Vertex<T> origins = predecessors.getValue(vertexLabel);
+			if (origins == null)
+				origins = new Vertex<T>(vertexLabel);
+			result = new labelIterator(origins.getNeighborIterator());
+		}
+		else if ( (frozenGraph = getPaidSnapshot()) != null )
+			result = frozenGraph.getPredecessorIterator(vertexLabel);
+		else
+		{
+			List<T> origins = new java.util.ArrayList<T>();
+			VertexInterface<T> endVertex = vertices.getValue(vertexLabel);
+			if (endVertex != null)
+			{
+				for (int id = 0; id < vertexIdCount; id++)
+				{
+					if ( (vertexTable[id] != null) && vertexTable[id].hasEdgeTo(endVertex) )
+						origins.add(vertexTable[id].getLabel());
+				} // end for
+
+				addSearchWork(vertexIdCount);
+			} // end if
+
+			result = java.util.Collections.unmodifiableList(origins).iterator();
+		} // end if
+
+		return result;
+	} // end getPredecessorIterator
+
+	/** Task: Gets the number of edges into a given vertex. Without a
+	 *        reverse index, every vertex is examined for an edge to the
+	 *        given one.
+	 *  @param vertexLabel  an object that labels a vertex
+	 *  @return the in-degree, or 0 if the vertex is not in the graph */
+	public int getInDegree(T vertexLabel)
+	{
+		int result = 0;
+		FrozenDirectedGraph<T> frozenGraph;
+		if (predecessors != null)
+		{
+			Vertex<T> origins = predecessors.getValue(vertexLabel);
+			result = (origins == null) ? 0 : origins.getNumberOfEdges();
+		}
+		else if ( (frozenGraph = getPaidSnapshot()) != null )
+			result = frozenGraph.getInDegree(vertexLabel);
+		else
+		{
+			VertexInterface<T> endVertex = vertices.getValue(vertexLabel);
+			if (endVertex != null)
+			{
+				for (int id = 0; id < vertexIdCount; id++)
+				{
+					if ( (vertexTable[id] != null) && vertexTable[id].hasEdgeTo(endVertex) )
+						result++;
+				} // end for
+
+				addSearchWork(vertexIdCount);
+			} // end if
+		} // end if
+
+		return result;
+	} // end getInDegree
 
 	public Queue<T> getBreadthFirstTraversal(T origin)
 	{
-	  resetVertices();
-	  Queue<T> traversalOrder = new LinkedBlockingQueue<T>();
-	  Queue<VertexInterface<T>> vertexQueue = 
-	                                     new LinkedBlockingQueue<VertexInterface<T>>();
-	  VertexInterface<T> originVertex = vertices.getValue(origin);
-	  originVertex.visit();
-	  traversalOrder.add(origin);    // enqueue vertex label
-	  vertexQueue.add(originVertex); // enqueue vertex
-	  
-	  while (!vertexQueue.isEmpty())
-	  {
-	    VertexInterface<T> frontVertex = vertexQueue.remove();
-	    
-	    Iterator<VertexInterface<T>> neighbors = frontVertex.getNeighborIterator();
-	    while (neighbors.hasNext())
-	    {
-	      VertexInterface<T> nextNeighbor = neighbors.next();
-	      if (!nextNeighbor.isVisited())
-	      {
-	        nextNeighbor.visit();
-	        traversalOrder.add(nextNeighbor.getLabel());
-	        vertexQueue.add(nextNeighbor);
-	      } // end if
-	    } // end while
-	  } // end while
-	  
-	  return traversalOrder;
+		Queue<T> traversalOrder;
+		FrozenDirectedGraph<T> frozenGraph = getPaidSnapshot();
+		if (frozenGraph != null)
+			traversalOrder = frozenGraph.getBreadthFirstTraversal(origin);
+		else
+		{
+			Vertex<T> originVertex = (Vertex<T>)vertices.getValue(origin);
+			TraversalContext context = TraversalContext.forCurrentThread(vertexTable.length);
+			int count = (originVertex == null) ? 0 : searchBreadthFirst(originVertex.getId(), context);
+			traversalOrder = toQueue(context.getVertexArray(), count);
+		} // end if
+
+		return traversalOrder;
 	} // end getBreadthFirstTraversal
 
+	/** Task: Performs a breadth-first traversal that expands each level of
+	 *        the search in parallel. See
+	 *        FrozenDirectedGraph.getParallelBreadthFirstTraversal. */
+	public Queue<T> getParallelBreadthFirstTraversal(T origin)
+	{
+		return freeze().getParallelBreadthFirstTraversal(origin);
+	} // end getParallelBreadthFirstTraversal
+
 	public Queue<T> getDepthFirstTraversal(T origin)
 	{
-		// assumes graph is not empty
-		resetVertices();
-		Queue<T> traversalOrder = new LinkedBlockingQueue<T>();
-		Stack<VertexInterface<T>> vertexStack = new Stack<VertexInterface<T>>();
-		
-		VertexInterface<T> originVertex = vertices.getValue(origin);
-		originVertex.visit();
-		traversalOrder.add(origin); // enqueue vertex label
-		vertexStack.push(originVertex); // enqueue vertex
-	
-		while (!vertexStack.isEmpty())
+		Queue<T> traversalOrder;
+		FrozenDirectedGraph<T> frozenGraph = getPaidSnapshot();
+		if (frozenGraph != null)
+			traversalOrder = frozenGraph.getDepthFirstTraversal(origin);
+		else
 		{
-			VertexInterface<T> topVertex = vertexStack.peek();
-			VertexInterface<T> nextNeighbor = topVertex.getUnvisitedNeighbor();
+			Vertex<T> originVertex = (Vertex<T>)vertices.getValue(origin);
+			TraversalContext context = TraversalContext.forCurrentThread(vertexTable.length);
+			int count = (originVertex == null) ? 0 : searchDepthFirst(originVertex.getId(), context);
+			traversalOrder = toQueue(context.getVertexArray(), count);
+		} // end if
 
-			if (nextNeighbor != null)
-			{
-				nextNeighbor.visit();
-				traversalOrder.add(nextNeighbor.getLabel());
-				vertexStack.push(nextNeighbor);
-			}
-			else // all neighbors are visited
-				vertexStack.pop(); 
-		} // end while
-			
 		return traversalOrder;
 	} // end getDepthFirstTraversal
 
 	public Stack<T> getTopologicalOrder() 
 	{
-		resetVertices();
-
-		Stack<T> vertexStack = new Stack<T>();
-		int numberOfVertices = getNumberOfVertices();
-		for (int counter = 1; counter <= numberOfVertices; counter++)
+		Stack<T> vertexStack;
+		FrozenDirectedGraph<T> frozenGraph = getPaidSnapshot();
+		if (frozenGraph != null)
+			vertexStack = frozenGraph.getTopologicalOrder();
+		else
 		{
-			VertexInterface<T> nextVertex = findTerminal();
-			nextVertex.visit();
-			vertexStack.push(nextVertex.getLabel());
-		} // end for
-		
-		return vertexStack;	
+			TraversalContext context = TraversalContext.forCurrentThread(vertexTable.length);
+			int count = searchTopologicalOrder(context);
+			if (count < 0) // the snapshot finds and reports the cycle
+				vertexStack = freeze().getTopologicalOrder();
+			else
+			{
+				T[] order = (T[])new Object[count];
+				int[] ids = context.getVertexArray();
+				for (int index = 0; index < count; index++)
+					order[index] = vertexTable[ids[index]].getLabel();
+
+				vertexStack = new Stack<T>();
+				vertexStack.addAll(java.util.Arrays.asList(order));
+			} // end if
+		} // end if
+
+		return vertexStack;
 	} // end getTopologicalOrder
 
+	/** Task: Finds the strongly connected components of the graph. See
+	 *        FrozenDirectedGraph.getStronglyConnectedComponents. The
+	 *        components keep the graph's snapshot, so this builds it if
+	 *        the graph has none. */
+	public StronglyConnectedComponents<T> getStronglyConnectedComponents()
+	{
+		return freeze().getStronglyConnectedComponents();
+	} // end getStronglyConnectedComponents
+
 	/** Precondition: path is an empty stack (NOT null) */
 	public int getShortestPath(T begin, T end, Stack<T> path)
 	{
-	  resetVertices();
-	  boolean done = false;
-	  Queue<VertexInterface<T>> vertexQueue = 
-	                                     new LinkedBlockingQueue<VertexInterface<T>>();
-	  VertexInterface<T> originVertex = vertices.getValue(begin);
-	  VertexInterface<T> endVertex = vertices.getValue(end);
-	  
-	  originVertex.visit();
-	  // Assertion: resetVertices() has executed setCost(0)
-	  // and setPredecessor(null) for originVertex
-	  
-	  vertexQueue.add(originVertex);
-	  
-	  while (!done && !vertexQueue.isEmpty())
-	  {
-	    VertexInterface<T> frontVertex = vertexQueue.remove();
-	    
-	    Iterator<VertexInterface<T>> neighbors = 
-	                                 frontVertex.getNeighborIterator();
-	    while (!done && neighbors.hasNext())
-	    {
-	      VertexInterface<T> nextNeighbor = neighbors.next();
-	      
-	      if (!nextNeighbor.isVisited())
-	      {
-	        nextNeighbor.visit();
-	        nextNeighbor.setCost(1 + frontVertex.getCost());
-	        nextNeighbor.setPredecessor(frontVertex);
-	        vertexQueue.add(nextNeighbor);
-	      } // end if
-	      
-	      if (nextNeighbor.equals(endVertex))
-	        done = true;
-	    } // end while
-	  } // end while
-	  
-	  // traversal ends; construct shortest path
-	  int pathLength = (int)endVertex.getCost();
-	  path.push(endVertex.getLabel());
-	  
-	  VertexInterface<T> vertex = endVertex;
-	  while (vertex.hasPredecessor())
-	  {
-	    vertex = vertex.getPredecessor();
-	    path.push(vertex.getLabel());
-	  } // end while
-	  
-	  return pathLength;
+		int pathLength;
+		PathCache<T> cache = pathCache;
+		if (cache == null)
+			pathLength = (int)findPath(begin, end, false, path);
+		else
+			pathLength = (int)getCachedPath(cache, begin, end, false, path);
+
+		return pathLength;
 	} // end getShortestPath
 
 	/** Precondition: path is an empty stack (NOT null) */
-	public double getCheapestPath(T begin, T end, Stack<T> path) // STUDENT EXERCISE
+	public double getCheapestPath(T begin, T end, Stack<T> path)
 	{
-		resetVertices();
-		boolean done = false;
+		double pathCost;
+		PathCache<T> cache = pathCache;
+		if (cache == null)
+			pathCost = findPath(begin, end, true, path);
+		else
+			pathCost = getCachedPath(cache, begin, end, true, path);
 
-		// use EntryPQ instead of Vertex because multiple entries contain 
-		// the same vertex but different costs - cost of path to vertex is EntryPQ's priority value
-		PriorityQueue<EntryPQ> priorityQueue = new PriorityQueue<EntryPQ>();
-		
-		VertexInterface<T> originVertex = vertices.getValue(begin);
-		VertexInterface<T> endVertex = vertices.getValue(end);
+		return pathCost;
+	} // end getCheapestPath
 
-		priorityQueue.add(new EntryPQ(originVertex, 0, null));
-	
-		while (!done && !priorityQueue.isEmpty())
+	/** Precondition: path is an empty stack (NOT null) */
+	public double getCheapestPath(T begin, final T end, Stack<T> path,
+	                              final ToDoubleBiFunction<? super T, ? super T> heuristic)
+	{
+		double pathCost = Double.POSITIVE_INFINITY;
+		FrozenDirectedGraph<T> frozenGraph = getPaidSnapshot();
+		if (frozenGraph != null)
+			pathCost = frozenGraph.getCheapestPath(begin, end, path, heuristic);
+		else
 		{
-			EntryPQ frontEntry = priorityQueue.remove();
-			VertexInterface<T> frontVertex = frontEntry.getVertex();
-			
-			if (!frontVertex.isVisited())
+			Vertex<T> beginVertex = (Vertex<T>)vertices.getValue(begin);
+			Vertex<T> endVertex = (Vertex<T>)vertices.getValue(end);
+			if ( (beginVertex != null) && (endVertex != null) )
 			{
-				frontVertex.visit();
-				frontVertex.setCost(frontEntry.getCost());
-				frontVertex.setPredecessor(frontEntry.getPredecessor());
-				
-				if (frontVertex.equals(endVertex))
-					done = true;
-				else 
+				IntToDoubleFunction estimate = new IntToDoubleFunction()
 				{
-					Iterator<VertexInterface<T>> neighbors = frontVertex.getNeighborIterator();
-					Iterator<Double> edgeWeights = frontVertex.getWeightIterator();
-					while (neighbors.hasNext())
+					public double applyAsDouble(int vertex)
 					{
-						VertexInterface<T> nextNeighbor = neighbors.next();
-						Double weightOfEdgeToNeighbor = edgeWeights.next();
-						
-						if (!nextNeighbor.isVisited())
-						{
-							double nextCost = weightOfEdgeToNeighbor + frontVertex.getCost();
-							priorityQueue.add(new EntryPQ(nextNeighbor, nextCost, frontVertex));
-						} // end if
-					} // end while
-				} // end if
+						return heuristic.applyAsDouble(vertexTable[vertex].getLabel(), end);
+					} // end applyAsDouble
+				}; // end estimate
+
+				TraversalContext context = TraversalContext.forCurrentThread(vertexTable.length);
+				pathCost = searchCheapestPath(beginVertex.getId(), endVertex.getId(), context, estimate);
+				if (pathCost < Double.POSITIVE_INFINITY)
+					pushPath(endVertex.getId(), context, path);
 			} // end if
+		} // end if
+
+		return pathCost;
+	} // end getCheapestPath
+
+	/** Task: Finds a path with the fewest edges. Until the graph has a
+	 *        snapshot, this searches in one direction only, as
+	 *        getShortestPath does, and may return another path of the
+	 *        same length.
+	 *  Precondition: path is an empty stack (NOT null) */
+	public int getBidirectionalShortestPath(T begin, T end, Stack<T> path)
+	{
+		int pathLength;
+		FrozenDirectedGraph<T> frozenGraph = getPaidSnapshot();
+		if (frozenGraph != null)
+			pathLength = frozenGraph.getBidirectionalShortestPath(begin, end, path);
+		else
+			pathLength = (int)findPath(begin, end, false, path);
+
+		return pathLength;
+	} // end getBidirectionalShortestPath
+
+	/** Task: Finds a least-cost path. Until the graph has a snapshot,
+	 *        this searches in one direction only, as getCheapestPath does,
+	 *        and may return another path of the same cost.
+	 *  Precondition: path is an empty stack (NOT null) */
+	public double getBidirectionalCheapestPath(T begin, T end, Stack<T> path)
+	{
+		double pathCost;
+		FrozenDirectedGraph<T> frozenGraph = getPaidSnapshot();
+		if (frozenGraph != null)
+			pathCost = frozenGraph.getBidirectionalCheapestPath(begin, end, path);
+		else
+			pathCost = findPath(begin, end, true, path);
+
+		return pathCost;
+	} // end getBidirectionalCheapestPath
+
+	/** Task: Finds the k cheapest loopless paths between two given
+	 *        vertices. See FrozenDirectedGraph.getKCheapestPaths. Yen's
+	 *        algorithm searches the snapshot, which this builds if the
+	 *        graph has none, unless a search of the vertices' edges shows
+	 *        that no path exists or k is 1, when that search's path is the
+	 *        answer. */
+	public List<WeightedPath<T>> getKCheapestPaths(T begin, T end, int k)
+	{
+		List<WeightedPath<T>> result = null;
+		if ( (k > 0) && (getPaidSnapshot() == null) )
+		{
+			Stack<T> path = new Stack<T>();
+			double pathCost = findPath(begin, end, true, path);
+			if (pathCost == Double.POSITIVE_INFINITY)
+				result = new java.util.ArrayList<WeightedPath<T>>();
+			else if (k == 1)
+			{
+				List<T> pathLabels = new java.util.ArrayList<T>(path.size());
+				while (!path.isEmpty())
+					pathLabels.add(path.pop());
+				result = new java.util.ArrayList<WeightedPath<T>>(1);
+				result.add(new WeightedPath<T>(pathLabels, pathCost));
+			} // end if
+		} // end if
+
+		if (result == null)
+			result = freeze().getKCheapestPaths(begin, end, k);
+
+		return result;
+	} // end getKCheapestPaths
+
+	/** Task: Finds the least-cost paths from a given vertex to every
+	 *        vertex. See FrozenDirectedGraph.getCheapestPathTree. The tree
+	 *        keeps the graph's snapshot, so this builds it if the graph
+	 *        has none. */
+	public ShortestPathTree<T> getCheapestPathTree(T origin)
+	{
+		return freeze().getCheapestPathTree(origin);
+	} // end getCheapestPathTree
+
+	/** Task: Finds the trees of cheapest paths from several vertices in
+	 *        parallel. See FrozenDirectedGraph.getCheapestPathTrees. */
+	public List<ShortestPathTree<T>> getCheapestPathTrees(List<? extends T> origins)
+	{
+		return freeze().getCheapestPathTrees(origins);
+	} // end getCheapestPathTrees
+
+	public List<ShortestPathTree<T>> getCheapestPathTrees(List<? extends T> origins,
+	                                                      ExecutorService executor)
+	{
+		return freeze().getCheapestPathTrees(origins, executor);
+	} // end getCheapestPathTrees
+
+	/** Task: Finds the cheapest paths between every pair of vertices.
+	 *        See FrozenDirectedGraph.getAllCheapestPathTrees. */
+	public List<ShortestPathTree<T>> getAllCheapestPathTrees()
+	{
+		return freeze().getAllCheapestPathTrees();
+	} // end getAllCheapestPathTrees
+
+	// answers a path search from a cache, searching only on a miss
+	private double getCachedPath(PathCache<T> cache, T begin, T end, boolean weighted,
+	                             Stack<T> path)
+	{
+		double result = cache.get(begin, end, weighted, path);
+		if (Double.isNaN(result))
+		{
+			Stack<T> foundPath = new Stack<T>();
+			result = findPath(begin, end, weighted, foundPath);
+
+			cache.put(begin, end, weighted, result, foundPath);
+			path.addAll(foundPath);
+		} // end if
+
+		return result;
+	} // end getCachedPath
+
+	// gets the snapshot if the graph has one, or builds it if the searches
+	// since the last change have already done as much work as building
+	// one; otherwise returns null, and the query searches the vertices' own
+	// edges instead, so that a query made just after a change takes time in
+	// proportion to the part of the graph it explores
+	private FrozenDirectedGraph<T> getPaidSnapshot()
+	{
+		FrozenDirectedGraph<T> result = snapshot;
+		if ( (result == null) && (searchWork >= getNumberOfVertices() + (long)edgeCount) )
+			result = freeze();
+
+		return result;
+	} // end getPaidSnapshot
+
+	// finds a path by searching the snapshot or, if getPaidSnapshot gives
+	// none, the vertices' edges
+	private double findPath(T begin, T end, boolean weighted, Stack<T> path)
+	{
+		double result;
+		FrozenDirectedGraph<T> frozenGraph = getPaidSnapshot();
+		if (frozenGraph != null)
+		{
+			if (weighted)
+				result = frozenGraph.getCheapestPath(begin, end, path);
+			else
+				result = frozenGraph.getShortestPath(begin, end, path);
+		}
+		else
+		{
+			result = weighted ? Double.POSITIVE_INFINITY : -1;
+			Vertex<T> beginVertex = (Vertex<T>)vertices.getValue(begin);
+			Vertex<T> endVertex = (Vertex<T>)vertices.getValue(end);
+			if ( (beginVertex != null) && (endVertex != null) )
+			{
+				TraversalContext context = TraversalContext.forCurrentThread(vertexTable.length);
+				if (weighted)
+					result = searchCheapestPath(beginVertex.getId(), endVertex.getId(), context, null);
+				else
+					result = searchShortestPath(beginVertex.getId(), endVertex.getId(), context);
+
+				if (weighted ? (result < Double.POSITIVE_INFINITY) : (result >= 0))
+					pushPath(endVertex.getId(), context, path);
+			} // end if
+		} // end if
+
+		return result;
+	} // end findPath
+
+	// pushes the labels of a path found by a search of the vertices' edges
+	// from end back to its origin, leaving the origin on top
+	private void pushPath(int end, TraversalContext context, Stack<T> path)
+	{
+		for (int vertex = end; vertex >= 0; vertex = context.getPredecessor(vertex))
+			path.push(vertexTable[vertex].getLabel());
+	} // end pushPath
+
+	// converts the first count vertex numbers of order to a queue of labels
+	private Queue<T> toQueue(int[] order, int count)
+	{
+		Queue<T> result = new java.util.ArrayDeque<T>(Math.max(count, 1));
+		for (int index = 0; index < count; index++)
+			result.add(vertexTable[order[index]].getLabel());
+
+		return result;
+	} // end toQueue
+
+	// performs a breadth-first traversal of the vertices' edges, as
+	// CompressedGraph.getBreadthFirstTraversal does of its arrays
+	private int searchBreadthFirst(int origin, TraversalContext context)
+	{
+		context.reset(vertexTable.length);
+		int[] order = context.getVertexArray();
+		int front = 0;
+		int count = 0;
+		long work = 0;
+		context.visit(origin);
+		order[count++] = origin;
+
+		while (front < count)
+		{
+			Iterator<Vertex<T>.Edge> edges = vertexTable[order[front++]].getEdgeIterator();
+			while (edges.hasNext())
+			{
+				int nextNeighbor = ((Vertex<T>)edges.next().getEndVertex()).getId();
+				work++;
+				if (!context.isVisited(nextNeighbor))
+				{
+					context.visit(nextNeighbor);
+					order[count++] = nextNeighbor;
+				} // end if
+			} // end while
 		} // end while
 
-		// traversal ends, construct cheapest path
-		double pathCost = endVertex.getCost();
-		path.push(endVertex.getLabel());
-		
-		VertexInterface<T> vertex = endVertex;
-		while (vertex.hasPredecessor())
+		addSearchWork(work + count);
+		return count;
+	} // end searchBreadthFirst
+
+	// performs a depth-first traversal of the vertices' edges, as
+	// CompressedGraph.getDepthFirstTraversal does of its arrays, keeping
+	// the edges not yet examined of each vertex on the path in a stack
+	private int searchDepthFirst(int origin, TraversalContext context)
+	{
+		context.reset(vertexTable.length);
+		int[] order = context.getVertexArray();
+		java.util.ArrayDeque<Iterator<Vertex<T>.Edge>> edgeStack =
+		                                    new java.util.ArrayDeque<Iterator<Vertex<T>.Edge>>();
+		int count = 0;
+		long work = 0;
+		context.visit(origin);
+		order[count++] = origin;
+		edgeStack.push(vertexTable[origin].getEdgeIterator());
+
+		while (!edgeStack.isEmpty())
 		{
-			vertex = vertex.getPredecessor();
-			path.push(vertex.getLabel());
+			Iterator<Vertex<T>.Edge> edges = edgeStack.peek();
+			int nextNeighbor = -1;
+			while ( (nextNeighbor < 0) && edges.hasNext() )
+			{
+				int neighbor = ((Vertex<T>)edges.next().getEndVertex()).getId();
+				work++;
+				if (!context.isVisited(neighbor))
+					nextNeighbor = neighbor;
+			} // end while
+
+			if (nextNeighbor >= 0)
+			{
+				context.visit(nextNeighbor);
+				order[count++] = nextNeighbor;
+				edgeStack.push(vertexTable[nextNeighbor].getEdgeIterator());
+			}
+			else // all neighbors are visited
+				edgeStack.pop();
 		} // end while
 
-		return pathCost;
-	} // end getCheapestPath
+		addSearchWork(work + count);
+		return count;
+	} // end searchDepthFirst
 
-	protected VertexInterface<T> findTerminal()
+	// orders the vertices by Kahn's algorithm over the vertices' edges, as
+	// CompressedGraph.getTopologicalOrder does over its arrays, taking the
+	// vertices with no incoming edges in the order the snapshot numbers
+	// them so that both give the same order; context.getVertex(i) is then
+	// the i-th vertex in the order. Returns the number of vertices, or -1
+	// if the graph has a cycle.
+	private int searchTopologicalOrder(TraversalContext context)
 	{
-		boolean found = false;
-		VertexInterface<T> result = null;
+		int numberOfVertices = getNumberOfVertices();
+		context.reset(vertexTable.length);
+		int[] order = context.getVertexArray();
+		int[] inDegree = context.getNextEdgeArray();
+		java.util.Arrays.fill(inDegree, 0, vertexIdCount, 0);
+		for (int id = 0; id < vertexIdCount; id++)
+		{
+			if (vertexTable[id] != null)
+			{
+				Iterator<Vertex<T>.Edge> edges = vertexTable[id].getEdgeIterator();
+				while (edges.hasNext())
+					inDegree[((Vertex<T>)edges.next().getEndVertex()).getId()]++;
+			} // end if
+		} // end for
 
+		// vertices are placed from the end of order toward its beginning;
+		// entries back+1..front are queued, entries front+1.. are done
+		int front = numberOfVertices - 1;
+		int back = numberOfVertices - 1;
 		Iterator<VertexInterface<T>> vertexIterator = vertices.getValueIterator();
+		while (vertexIterator.hasNext())
+		{
+			int vertex = ((Vertex<T>)vertexIterator.next()).getId();
+			if (inDegree[vertex] == 0)
+				order[back--] = vertex;
+		} // end while
 
-		while (!found && vertexIterator.hasNext())
+		while (front > back)
 		{
-			VertexInterface<T> nextVertex = vertexIterator.next();
-			
-			// if nextVertex is unvisited AND has only visited neighbors)			
-			if (!nextVertex.isVisited())
-			{ 
-				if (nextVertex.getUnvisitedNeighbor() == null )
-				{ 
-					found = true;
-					result = nextVertex;
+			Iterator<Vertex<T>.Edge> edges = vertexTable[order[front--]].getEdgeIterator();
+			while (edges.hasNext())
+			{
+				int nextNeighbor = ((Vertex<T>)edges.next().getEndVertex()).getId();
+				inDegree[nextNeighbor]--;
+				if (inDegree[nextNeighbor] == 0)
+					order[back--] = nextNeighbor;
+			} // end while
+		} // end while
+
+		addSearchWork(vertexIdCount + 2L * edgeCount);
+		return (back >= 0) ? -1 : numberOfVertices;
+	} // end searchTopologicalOrder
+
+	// finds the path with the fewest edges by a breadth-first search of the
+	// vertices' edges, as CompressedGraph.getShortestPath does of its arrays
+	private int searchShortestPath(int begin, int end, TraversalContext context)
+	{
+		context.reset(vertexTable.length);
+		int[] vertexQueue = context.getVertexArray();
+		int front = 0;
+		int back = 0;
+		boolean done = (begin == end);
+		long work = 0;
+
+		context.visit(begin);
+		context.setCost(begin, 0);
+		context.setPredecessor(begin, -1);
+		vertexQueue[back++] = begin;
+
+		while (!done && (front < back))
+		{
+			int frontVertex = vertexQueue[front++];
+			double nextLength = 1 + context.getCost(frontVertex);
+			Iterator<Vertex<T>.Edge> edges = vertexTable[frontVertex].getEdgeIterator();
+			while (!done && edges.hasNext())
+			{
+				int nextNeighbor = ((Vertex<T>)edges.next().getEndVertex()).getId();
+				work++;
+				if (!context.isVisited(nextNeighbor))
+				{
+					context.visit(nextNeighbor);
+					context.setCost(nextNeighbor, nextLength);
+					context.setPredecessor(nextNeighbor, frontVertex);
+					vertexQueue[back++] = nextNeighbor;
 				} // end if
+
+				if (nextNeighbor == end)
+					done = true;
+			} // end while
+		} // end while
+
+		addSearchWork(work + back);
+		return context.isVisited(end) ? (int)context.getCost(end) : -1;
+	} // end searchShortestPath
+
+	// finds the least-cost path by Dijkstra's algorithm, or by A* with a
+	// heuristic that is not null, over the vertices' edges, as
+	// CompressedGraph.getCheapestPath does over its arrays
+	private double searchCheapestPath(int begin, int end, TraversalContext context,
+	                                  IntToDoubleFunction heuristic)
+	{
+		context.reset(vertexTable.length);
+		IndexedMinHeap priorityQueue = context.getPriorityQueue();
+		context.visit(begin);
+		context.setCost(begin, 0);
+		context.setPredecessor(begin, -1);
+		priorityQueue.add(begin, (heuristic == null) ? 0 : heuristic.applyAsDouble(begin));
+		boolean done = false;
+		int settledCount = 0;
+		long work = 0; // vertices settled plus edges examined
+
+		while (!done && !priorityQueue.isEmpty())
+		{
+			int frontVertex = priorityQueue.removeMin();
+			settledCount++;
+			work++;
+
+			if (frontVertex == end)
+				done = true;
+			else
+			{
+				double frontCost = context.getCost(frontVertex);
+				Iterator<Vertex<T>.Edge> edges = vertexTable[frontVertex].getEdgeIterator();
+				while (edges.hasNext())
+				{
+					Vertex<T>.Edge nextEdge = edges.next();
+					int nextNeighbor = ((Vertex<T>)nextEdge.getEndVertex()).getId();
+					double nextCost = frontCost + nextEdge.getWeight();
+					work++;
+					if (!context.isVisited(nextNeighbor))
+					{
+						context.visit(nextNeighbor);
+						context.setCost(nextNeighbor, nextCost);
+						context.setPredecessor(nextNeighbor, frontVertex);
+						double estimate = (heuristic == null) ? 0 : heuristic.applyAsDouble(nextNeighbor);
+						priorityQueue.add(nextNeighbor, nextCost + estimate);
+					}
+					else if (nextCost < context.getCost(nextNeighbor))
+					{
+						if (priorityQueue.contains(nextNeighbor))
+						{
+							// the estimate is the part of the priority beyond the cost
+							double estimate = priorityQueue.getPriority(nextNeighbor) -
+							                  context.getCost(nextNeighbor);
+							priorityQueue.decreasePriority(nextNeighbor,
+							       Math.min(nextCost + estimate, priorityQueue.getPriority(nextNeighbor)));
+						}
+						else // a negative weight or an inconsistent estimate reopens a settled vertex
+						{
+							double estimate = (heuristic == null) ? 0 : heuristic.applyAsDouble(nextNeighbor);
+							priorityQueue.add(nextNeighbor, nextCost + estimate);
+						} // end if
+
+						context.setCost(nextNeighbor, nextCost);
+						context.setPredecessor(nextNeighbor, frontVertex);
+					} // end if
+				} // end while
 			} // end if
 		} // end while
 
+		context.setSettledCount(settledCount);
+		addSearchWork(work);
+		return done ? context.getCost(end) : Double.POSITIVE_INFINITY;
+	} // end searchCheapestPath
+
+	// counts work toward rebuilding the snapshot; an update lost to another
+	// thread searching at the same time only postpones the rebuild
+	private void addSearchWork(long work)
+	{
+		searchWork = searchWork + work;
+	} // end addSearchWork
+
+	// gives a new vertex a number, reusing that of a removed vertex if any
+	private void numberVertex(Vertex<T> newVertex)
+	{
+		int id;
+		if (!freeIds.isEmpty())
+			id = freeIds.pop();
+		else
+		{
+			id = vertexIdCount;
+			vertexIdCount++;
+			if (id == vertexTable.length)
+				vertexTable = java.util.Arrays.copyOf(vertexTable, 2 * vertexTable.length);
+		} // end if
+
+		newVertex.setId(id);
+		vertexTable[id] = newVertex;
+	} // end numberVertex
+
+	private void clearVertexIds()
+	{
+		vertexTable = (Vertex<T>[])new Vertex[16];
+		vertexIdCount = 0;
+		freeIds = new IntArrayStack();
+	} // end clearVertexIds
+
+	/** Task: Discards the snapshot and any cached paths, as every change
+	 *        to the graph must, so that the next query that needs a
+	 *        snapshot builds it again. */
+	void discardSnapshot()
+	{
+		snapshot = null;
+		searchWork = 0;
+		if (pathCache != null)
+			pathCache.clear();
+	} // end discardSnapshot
+
+	// records that an edge from begin ends at end
+	private void addPredecessor(VertexInterface<T> end, VertexInterface<T> begin)
+	{
+		Vertex<T> origins = predecessors.getValue(end.getLabel());
+		if (origins == null)
+		{
+			origins = new Vertex<T>(end.getLabel());
+			predecessors.add(end.getLabel(), origins);
+		} // end if
+
+		origins.connectUnchecked(begin, 0);
+	} // end addPredecessor
+
+	/** Task: Fills this empty graph with the vertices and edges of a
+	 *        frozen graph, which becomes the graph's snapshot. The frozen
+	 *        graph must have no loops and no parallel edges.
+	 *  @param frozenGraph  the graph to copy */
+	void load(FrozenDirectedGraph<T> frozenGraph)
+	{
+		CompressedGraph graph = frozenGraph.getCompressedGraph();
+		int numberOfVertices = graph.getNumberOfVertices();
+		Vertex<T>[] vertexArray = (Vertex<T>[])new Vertex[numberOfVertices];
+		for (int vertex = 0; vertex < numberOfVertices; vertex++)
+		{
+			T label = frozenGraph.getLabel(vertex);
+			vertexArray[vertex] = new Vertex<T>(label);
+			numberVertex(vertexArray[vertex]);
+			vertices.add(label, vertexArray[vertex]);
+		} // end for
+
+		for (int vertex = 0; vertex < numberOfVertices; vertex++)
+		{
+			for (int edge = graph.getFirstEdge(vertex); edge < graph.getEndEdge(vertex); edge++)
+			{
+				int end = graph.getEdgeTarget(edge);
+				vertexArray[vertex].connectUnchecked(vertexArray[end], graph.getEdgeWeight(edge));
+				if (predecessors != null)
+					addPredecessor(vertexArray[end], vertexArray[vertex]);
+			} // end for
+		} // end for
+
+		edgeCount = graph.getNumberOfEdges();
+		snapshot = frozenGraph;
+	} // end load
+
+	/** Task: Creates an immutable copy of this graph in compressed sparse
+	 *        row form. Later changes to this graph do not affect the copy.
+	 *        The copy is kept and returned again until the graph changes.
+	 *        Traversals and path searches run on this copy with per-thread
+	 *        working storage, so any number of threads may search the
+	 *        graph at once provided none of them changes it meanwhile.
+	 *        Building the copy takes time proportional to the number of
+	 *        vertices plus the number of edges. After a change, the
+	 *        traversals, the path searches and the queries of
+	 *        predecessors search the vertices' edge lists instead until
+	 *        their work since the change adds up to that of a rebuild;
+	 *        the queries whose results keep the copy build it at once.
+	 *  @return a frozen graph with the same vertices and edges */
+	public FrozenDirectedGraph<T> freeze()
+	{
+		FrozenDirectedGraph<T> result = snapshot;
+		if (result == null)
+		{
+			synchronized (this)
+			{
+				result = snapshot;
+				if (result == null)
+				{
+					result = createSnapshot();
+					snapshot = result;
+				} // end if
+			} // end synchronized
+		} // end if
+
 		return result;
-	} // end findTerminal
+	} // end freeze
 
-	// Used for testing
-	public void display()
+	private FrozenDirectedGraph<T> createSnapshot()
 	{
-		System.out.println("Graph has " + getNumberOfVertices() + " vertices and " +
-		                                  getNumberOfEdges() + " edges.");
-		
-		System.out.println("\nEdges exist from the first vertex in each line to the other vertices in the line.");
-		System.out.println("(Edge weights are given; weights are zero for unweighted graphs):\n");
+		int numberOfVertices = getNumberOfVertices();
+		T[] labels = (T[])new Object[numberOfVertices];
+		DictionaryInterface<T, Integer> vertexIds = new HashedDictionary<T, Integer>(numberOfVertices);
+		int[] offsets = new int[numberOfVertices + 1];
+
+		// number the vertices and find where each one's edges begin
+		int vertex = 0;
 		Iterator<VertexInterface<T>> vertexIterator = vertices.getValueIterator();
 		while (vertexIterator.hasNext())
 		{
-			((Vertex<T>)(vertexIterator.next())).display();
+			VertexInterface<T> nextVertex = vertexIterator.next();
+			labels[vertex] = nextVertex.getLabel();
+			vertexIds.add(labels[vertex], vertex);
+
+			int degree = 0;
+			Iterator<VertexInterface<T>> neighbors = nextVertex.getNeighborIterator();
+			while (neighbors.hasNext())
+			{
+				neighbors.next();
+				degree++;
+			} // end while
+
+			offsets[vertex + 1] = offsets[vertex] + degree;
+			vertex++;
 		} // end while
-	} // end display 
-	
-	private class EntryPQ implements Comparable<EntryPQ>, java.io.Serializable
+
+		int[] targets = new int[offsets[numberOfVertices]];
+		double[] weights = new double[targets.length];
+		int edge = 0;
+		vertexIterator = vertices.getValueIterator();
+		while (vertexIterator.hasNext())
+		{
+			VertexInterface<T> nextVertex = vertexIterator.next();
+			Iterator<VertexInterface<T>> neighbors = nextVertex.getNeighborIterator();
+			Iterator<Double> edgeWeights = nextVertex.getWeightIterator();
+			while (neighbors.hasNext())
+			{
+				targets[edge] = vertexIds.getValue(neighbors.next().getLabel());
+				weights[edge] = edgeWeights.next();
+				edge++;
+			} // end while
+		} // end while
+
+		return new FrozenDirectedGraph<T>(labels, vertexIds, new CompressedGraph(offsets, targets, weights));
+	} // end createSnapshot
+
+	// iterates over the labels of the vertices of another iterator
+	private class labelIterator implements Iterator<T>
 	{
-		private VertexInterface<T> vertex; 	
-		private VertexInterface<T> previousVertex; 
-		private double cost; // cost to nextVertex
-		
-		private EntryPQ(VertexInterface<T> vertex, double cost, VertexInterface<T> previousVertex)
+		private Iterator<VertexInterface<T>> vertexIterator;
+
+		private labelIterator(Iterator<VertexInterface<T>> vertexIterator)
 		{
-			this.vertex = vertex;
-			this.previousVertex = previousVertex;
-			this.cost = cost;
+			this.vertexIterator = vertexIterator;
 		} // end constructor
-		
-		public VertexInterface<T> getVertex()
-		{
-			return vertex;
-		} // end getVertex
-		
-		public VertexInterface<T> getPredecessor()
+
+		public boolean hasNext()
 		{
-			return previousVertex;
-		} // end getPredecessor
+			return vertexIterator.hasNext();
+		} // end hasNext
 
-		public double getCost()
+		public T next()
 		{
-			return cost;
-		} // end getCost
-		
-		public int compareTo(EntryPQ otherEntry)
+			return vertexIterator.next().getLabel();
+		} // end next
+
+		public void remove()
 		{
-			// using opposite of reality since our priority queue uses a maxHeap;
-			// could revise using a minheap
-			return (int)Math.signum(otherEntry.cost - cost);
-		} // end compareTo
+			throw new UnsupportedOperationException();
+		} // end remove
+	} // end labelIterator
+
+	// Used for testing
+	public void display()
+	{
+		System.out.println("Graph has " + getNumberOfVertices() + " vertices and " +
+		                                  getNumberOfEdges() + " edges.");
 		
-		public String toString()
+		System.out.println("\nEdges exist from the first vertex in each line to the other vertices in the line.");
+		System.out.println("(Edge weights are given; weights are zero for unweighted graphs):\n");
+		Iterator<VertexInterface<T>> vertexIterator = vertices.getValueIterator();
+		while (vertexIterator.hasNext())
 		{
-			return vertex.toString() + " " + cost;
-		} // end toString 
-	} // end EntryPQ
+			((Vertex<T>)(vertexIterator.next())).display();
+		} // end while
+	} // end display 
 } // end DirectedGraph
\ No newline at end of file
@@ -0,0 +1,251 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.Stack;
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * A driver that checks DirectedGraph against a plain matrix of edges
+ * while vertices and edges are added and removed at random. Half of the
+ * trials enable the reverse index first and half never do. After every
+ * operation, the edges, the number of edges and the in-degree of a vertex
+ * must match the matrix, and removing a vertex must leave the reverse
+ * index enabled or disabled as it was. The queries that search the
+ * vertices' edges until a change has been paid for are then asked again of
+ * the graph's snapshot, and both answers must agree.
+ *
+ * Usage: java DirectedGraphDriver [trials [seed]]
+ * Trial i uses the seed plus i, so a failing trial, which is printed with
+ * its seed, can be run alone with a trial count of 1 and that seed.
+ *
+ * @version 1.0
+ */
+public class DirectedGraphDriver
+{
+	private static final int MAX_VERTICES = 30;
+	private static final int OPERATIONS = 300; // per trial
+	private static final ToDoubleBiFunction<Integer, Integer> NO_ESTIMATE =
+	                                              new ToDoubleBiFunction<Integer, Integer>()
+	{
+		public double applyAsDouble(Integer vertex, Integer destination)
+		{
+			return 0;
+		} // end applyAsDouble
+	}; // end NO_ESTIMATE
+
+	public static void main(String[] args)
+	{
+		int trials = (args.length > 0) ? Integer.parseInt(args[0]) : 500;
+		long seed = (args.length > 1) ? Long.parseLong(args[1]) : 16;
+
+		int failures = 0;
+		for (int trial = 0; trial < trials; trial++)
+		{
+			String failure = check(seed + trial);
+			if (failure != null)
+			{
+				failures++;
+				System.out.println("seed " + (seed + trial) + ": " + failure);
+			} // end if
+		} // end for
+
+		System.out.println(trials + " trials, " + failures + " failed");
+		if (failures > 0)
+			System.exit(1);
+	} // end main
+
+	/** Task: Runs one trial.
+	 *  @return a description of the first error found, or null if none */
+	private static String check(long seed)
+	{
+		Random generator = new Random(seed);
+		int size = 2 + generator.nextInt(MAX_VERTICES - 1);
+		boolean indexed = generator.nextBoolean();
+		DirectedGraph<Integer> graph = generator.nextBoolean()
+		           ? new DirectedGraph<Integer>()
+		           : new DirectedGraph<Integer>(new HashedDictionary<Integer, VertexInterface<Integer>>());
+		if (indexed)
+			graph.enableReverseIndex();
+
+		boolean[] present = new boolean[size];
+		boolean[][] edge = new boolean[size][size];
+		String failure = null;
+		for (int operation = 0; (failure == null) && (operation < OPERATIONS); operation++)
+		{
+			int begin = generator.nextInt(size);
+			int end = generator.nextInt(size);
+			String step;
+			int choice = generator.nextInt(10);
+			if (choice < 2)
+			{
+				step = "addVertex(" + begin + ")";
+				graph.addVertex(begin);
+				present[begin] = true;
+			}
+			else if (choice < 3)
+			{
+				step = "removeVertex(" + begin + ")";
+				graph.removeVertex(begin);
+				present[begin] = false;
+				for (int other = 0; other < size; other++)
+				{
+					edge[begin][other] = false;
+					edge[other][begin] = false;
+				} // end for
+			}
+			else if (choice < 5)
+			{
+				step = "removeEdge(" + begin + ", " + end + ")";
+				graph.removeEdge(begin, end);
+				edge[begin][end] = false;
+			}
+			else
+			{
+				step = "addEdge(" + begin + ", " + end + ")";
+				graph.addEdge(begin, end, generator.nextInt(5));
+				if (present[begin] && present[end] && (begin != end))
+					edge[begin][end] = true;
+			} // end if
+
+			failure = compare(graph, present, edge, indexed, generator.nextInt(size));
+			if (failure == null)
+				failure = compareWithSnapshot(graph, generator.nextInt(size), generator.nextInt(size));
+			if (failure != null)
+				failure = "after " + step + ", " + failure;
+		} // end for
+
+		return failure;
+	} // end check
+
+	/** Task: Compares a graph with the matrix it should match.
+	 *  @return a description of the first difference, or null if none */
+	private static String compare(DirectedGraph<Integer> graph, boolean[] present, boolean[][] edge,
+	                              boolean indexed, int sampled)
+	{
+		String failure = null;
+		int edgeCount = 0;
+		for (int begin = 0; (failure == null) && (begin < present.length); begin++)
+		{
+			for (int end = 0; (failure == null) && (end < present.length); end++)
+			{
+				if (edge[begin][end])
+					edgeCount++;
+				if (graph.hasEdge(begin, end) != edge[begin][end])
+					failure = "hasEdge(" + begin + ", " + end + ") is " + !edge[begin][end];
+			} // end for
+		} // end for
+
+		int inDegree = 0;
+		for (int begin = 0; begin < present.length; begin++)
+		{
+			if (edge[begin][sampled])
+				inDegree++;
+		} // end for
+
+		if (failure != null)
+			return failure;
+		else if (graph.isReverseIndexEnabled() != indexed)
+			failure = "the reverse index is " + (indexed ? "disabled" : "enabled");
+		else if (graph.getNumberOfEdges() != edgeCount)
+			failure = graph.getNumberOfEdges() + " edges, not " + edgeCount;
+		else if (graph.getInDegree(sampled) != inDegree)
+			failure = "vertex " + sampled + " has in-degree " + graph.getInDegree(sampled) + ", not " + inDegree;
+
+		return failure;
+	} // end compare
+
+	/** Task: Asks a graph that may have no snapshot some queries, then
+	 *        asks its snapshot the same queries.
+	 *  @return a description of the first difference, or null if none */
+	private static String compareWithSnapshot(DirectedGraph<Integer> graph, int begin, int end)
+	{
+		// each query starts with no snapshot and no work since a change,
+		// so that it searches the vertices' edges
+		graph.discardSnapshot();
+		List<Integer> breadthFirst = new ArrayList<Integer>(graph.getBreadthFirstTraversal(begin));
+		graph.discardSnapshot();
+		List<Integer> depthFirst = new ArrayList<Integer>(graph.getDepthFirstTraversal(begin));
+		graph.discardSnapshot();
+		List<Integer> order = getTopologicalOrder(graph);
+		graph.discardSnapshot();
+		Set<Integer> origins = new HashSet<Integer>();
+		for (Iterator<Integer> originIterator = graph.getPredecessorIterator(end); originIterator.hasNext(); )
+			origins.add(originIterator.next());
+		graph.discardSnapshot();
+		Stack<Integer> path = new Stack<Integer>();
+		double cost = graph.getCheapestPath(begin, end, path, NO_ESTIMATE);
+		graph.discardSnapshot();
+		int length = graph.getBidirectionalShortestPath(begin, end, new Stack<Integer>());
+		graph.discardSnapshot();
+		double bidirectionalCost = graph.getBidirectionalCheapestPath(begin, end, new Stack<Integer>());
+		graph.discardSnapshot();
+		List<WeightedPath<Integer>> cheapest = graph.getKCheapestPaths(begin, end, 1);
+
+		FrozenDirectedGraph<Integer> frozenGraph = graph.freeze();
+		Set<Integer> frozenOrigins = new HashSet<Integer>();
+		for (Iterator<Integer> originIterator = frozenGraph.getPredecessorIterator(end); originIterator.hasNext(); )
+			frozenOrigins.add(originIterator.next());
+		double frozenCost = frozenGraph.getCheapestPath(begin, end, new Stack<Integer>());
+		List<WeightedPath<Integer>> frozenCheapest = frozenGraph.getKCheapestPaths(begin, end, 1);
+
+		String failure = null;
+		if (!breadthFirst.equals(new ArrayList<Integer>(frozenGraph.getBreadthFirstTraversal(begin))))
+			failure = "breadth-first traversal from " + begin + " is " + breadthFirst;
+		else if (!depthFirst.equals(new ArrayList<Integer>(frozenGraph.getDepthFirstTraversal(begin))))
+			failure = "depth-first traversal from " + begin + " is " + depthFirst;
+		else if ( (order == null) ? (getTopologicalOrder(frozenGraph) != null)
+		                          : !order.equals(getTopologicalOrder(frozenGraph)) )
+			failure = "topological order is " + order;
+		else if (!origins.equals(frozenOrigins))
+			failure = "predecessors of " + end + " are " + origins;
+		else if (cost != frozenCost)
+			failure = "A* from " + begin + " to " + end + " costs " + cost + ", not " + frozenCost;
+		else if ( (cost < Double.POSITIVE_INFINITY) &&
+		          (path.isEmpty() || (path.peek() != begin) || (path.get(0) != end)) )
+			failure = "A* from " + begin + " to " + end + " returned " + path;
+		else if (length != frozenGraph.getShortestPath(begin, end, new Stack<Integer>()))
+			failure = "bidirectional path from " + begin + " to " + end + " has length " + length;
+		else if (bidirectionalCost != frozenCost)
+			failure = "bidirectional path from " + begin + " to " + end + " costs " + bidirectionalCost;
+		else if ( (cheapest.size() != frozenCheapest.size()) ||
+		          (!cheapest.isEmpty() && (cheapest.get(0).getCost() != frozenCheapest.get(0).getCost())) )
+			failure = "cheapest of k paths from " + begin + " to " + end + " is " + cheapest;
+
+		return failure;
+	} // end compareWithSnapshot
+
+	/** Task: Gets a topological order as a list from the top of its stack.
+	 *  @return the order, or null if the graph has a cycle */
+	private static List<Integer> getTopologicalOrder(DirectedGraph<Integer> graph)
+	{
+		List<Integer> order;
+		try
+		{
+			order = new ArrayList<Integer>(graph.getTopologicalOrder());
+		}
+		catch (CyclicGraphException e)
+		{
+			order = null;
+		} // end try
+
+		return order;
+	} // end getTopologicalOrder
+
+	private static List<Integer> getTopologicalOrder(FrozenDirectedGraph<Integer> frozenGraph)
+	{
+		List<Integer> order;
+		try
+		{
+			order = new ArrayList<Integer>(frozenGraph.getTopologicalOrder());
+		}
+		catch (CyclicGraphException e)
+		{
+			order = null;
+		} // end try
+
+		return order;
+	} // end getTopologicalOrder
+} // end DirectedGraphDriver
@@ -0,0 +1,189 @@
+import java.util.Arrays;
+
+/**
+ * A class of disjoint sets, also called union-find: a collection of
+ * elements divided into sets that can be merged but not split. Each set
+ * is a tree of its elements whose root represents it. Merging joins the
+ * root of the shorter tree to the root of the taller, and finding a root
+ * while merging makes every other element on the way point to its
+ * grandparent, so a sequence of operations takes time that is very nearly
+ * constant per operation.
+ *
+ * isConnected only reads the trees, which are never taller than the
+ * logarithm of the number of elements, so any number of threads may call
+ * it at once provided that none is adding or merging.
+ *
+ * Elements are numbered in the order they are added, and the trees are
+ * kept in primitive arrays indexed by those numbers.
+ *
+ * @version 1.0
+ */
+public class DisjointSets<T>
+{
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private DictionaryInterface<T, Integer> ids; // number of each element
+	private int[] parent;  // parent of each element in its tree, or itself for a root
+	private byte[] rank;   // bound on the height of each root's tree
+	private int size;      // number of elements
+	private int setCount;  // number of sets
+
+	public DisjointSets()
+	{
+		this(DEFAULT_CAPACITY);
+	} // end default constructor
+
+	/** Task: Creates an empty collection with room for a given number of
+	 *        elements before its arrays must grow. */
+	public DisjointSets(int initialCapacity)
+	{
+		int capacity = Math.max(initialCapacity, 1);
+		ids = new HashedDictionary<T, Integer>(capacity);
+		parent = new int[capacity];
+		rank = new byte[capacity];
+		size = 0;
+		setCount = 0;
+	} // end constructor
+
+	/** Task: Creates a collection of the elements numbered 0 through
+	 *        numberOfElements - 1, each in a set of its own, for callers
+	 *        that name elements only by number. */
+	static <T> DisjointSets<T> ofNumbers(int numberOfElements)
+	{
+		DisjointSets<T> sets = new DisjointSets<T>(1);
+		sets.parent = new int[Math.max(numberOfElements, 1)];
+		sets.rank = new byte[sets.parent.length];
+		for (int element = 0; element < numberOfElements; element++)
+			sets.parent[element] = element;
+		sets.size = numberOfElements;
+		sets.setCount = numberOfElements;
+		return sets;
+	} // end ofNumbers
+
+	/** Task: Adds an element in a set of its own.
+	 *  @param element  the element to add
+	 *  @return true if the element is new, or false if it was already
+	 *          present, in which case its set is unchanged */
+	public boolean add(T element)
+	{
+		boolean result = false;
+		if (ids.getValue(element) == null)
+		{
+			if (size == parent.length)
+			{
+				parent = Arrays.copyOf(parent, 2 * size);
+				rank = Arrays.copyOf(rank, 2 * size);
+			} // end if
+
+			ids.add(element, size);
+			parent[size] = size;
+			rank[size] = 0;
+			size++;
+			setCount++;
+			result = true;
+		} // end if
+
+		return result;
+	} // end add
+
+	/** Task: Merges the sets that hold two given elements.
+	 *  @return true if the elements were in different sets, or false if
+	 *          they were already in one set or either is not present */
+	public boolean union(T first, T second)
+	{
+		Integer firstId = ids.getValue(first);
+		Integer secondId = ids.getValue(second);
+		return (firstId != null) && (secondId != null) && unionIds(firstId, secondId);
+	} // end union
+
+	/** Task: Sees whether two given elements are in the same set.
+	 *  @return true if both elements are present and in one set */
+	public boolean isConnected(T first, T second)
+	{
+		Integer firstId = ids.getValue(first);
+		Integer secondId = ids.getValue(second);
+		return (firstId != null) && (secondId != null) && (getRoot(firstId) == getRoot(secondId));
+	} // end isConnected
+
+	public boolean contains(T element)
+	{
+		return ids.getValue(element) != null;
+	} // end contains
+
+	/** Task: Gets the number of elements. */
+	public int getSize()
+	{
+		return size;
+	} // end getSize
+
+	/** Task: Gets the number of sets. */
+	public int getNumberOfSets()
+	{
+		return setCount;
+	} // end getNumberOfSets
+
+	public void clear()
+	{
+		ids.clear();
+		size = 0;
+		setCount = 0;
+	} // end clear
+
+	/** Task: Merges the sets of the elements numbered first and second,
+	 *        the numbers being given by the order the elements were added.
+	 *        Named apart from union so that a DisjointSets<Integer> never
+	 *        calls this method with its elements by mistake. */
+	boolean unionIds(int first, int second)
+	{
+		boolean result = false;
+		int firstRoot = findRoot(first);
+		int secondRoot = findRoot(second);
+		if (firstRoot != secondRoot)
+		{
+			if (rank[firstRoot] < rank[secondRoot])
+				parent[firstRoot] = secondRoot;
+			else
+			{
+				parent[secondRoot] = firstRoot;
+				if (rank[firstRoot] == rank[secondRoot])
+					rank[firstRoot]++;
+			} // end if
+
+			setCount--;
+			result = true;
+		} // end if
+
+		return result;
+	} // end unionIds
+
+	/** Task: Finds the number of the element that represents the set of
+	 *        the element with a given number, halving the path to it. */
+	int findRoot(int element)
+	{
+		while (parent[element] != element)
+		{
+			parent[element] = parent[parent[element]];
+			element = parent[element];
+		} // end while
+
+		return element;
+	} // end findRoot
+
+	/** Task: Finds the number of the element that represents the set of
+	 *        the element with a given number, without changing any tree. */
+	private int getRoot(int element)
+	{
+		while (parent[element] != element)
+			element = parent[element];
+
+		return element;
+	} // end getRoot
+
+	/** Task: Makes every element point directly to the root of its tree,
+	 *        so that later queries look up one parent. */
+	void compressPaths()
+	{
+		for (int element = 0; element < size; element++)
+			parent[element] = getRoot(element);
+	} // end compressPaths
+} // end DisjointSets
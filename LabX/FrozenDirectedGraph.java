@@ -0,0 +1,569 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Stack;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * A class of immutable directed graphs produced by DirectedGraph.freeze().
+ * Vertices are numbered 0 through n - 1 and the edges are kept in a
+ * CompressedGraph, so traversals follow int arrays instead of vertex
+ * objects and edge lists.
+ *
+ * @version 1.0
+ */
+public class FrozenDirectedGraph<T> implements GraphInterface<T>, java.io.Serializable
+{
+	private final T[] labels;                     // label of each vertex
+	private final DictionaryInterface<T, Integer> vertexIds; // number of each label
+	private final CompressedGraph graph;
+
+	/** Task: Creates a frozen graph.
+	 *  @param labels  the label of each vertex, indexed by vertex number
+	 *  @param graph   the edges between the vertices */
+	FrozenDirectedGraph(T[] labels, CompressedGraph graph)
+	{
+		this(labels, numberLabels(labels), graph);
+	} // end constructor
+
+	/** Task: Creates a frozen graph from labels already numbered by the
+	 *        caller, which must not change the dictionary afterward.
+	 *  @param labels     the label of each vertex, indexed by vertex number
+	 *  @param vertexIds  the number of each label
+	 *  @param graph      the edges between the vertices */
+	FrozenDirectedGraph(T[] labels, DictionaryInterface<T, Integer> vertexIds, CompressedGraph graph)
+	{
+		this.labels = labels;
+		this.vertexIds = vertexIds;
+		this.graph = graph;
+	} // end constructor
+
+	/** Task: Creates a frozen graph whose subclass keeps the labels itself
+	 *        and overrides getVertexId and getLabel.
+	 *  @param graph  the edges between the vertices */
+	protected FrozenDirectedGraph(CompressedGraph graph)
+	{
+		this.labels = null;
+		this.vertexIds = null;
+		this.graph = graph;
+	} // end constructor
+
+	private static <T> DictionaryInterface<T, Integer> numberLabels(T[] labels)
+	{
+		DictionaryInterface<T, Integer> vertexIds = new HashedDictionary<T, Integer>(labels.length);
+		for (int vertex = 0; vertex < labels.length; vertex++)
+			vertexIds.add(labels[vertex], vertex);
+
+		return vertexIds;
+	} // end numberLabels
+
+	/** Task: Gets the number of the vertex that has a given label.
+	 *  @param vertexLabel  an object that labels a vertex
+	 *  @return the vertex number, or -1 if no vertex has the label */
+	public int getVertexId(T vertexLabel)
+	{
+		Integer id = vertexIds.getValue(vertexLabel);
+		return (id == null) ? -1 : id;
+	} // end getVertexId
+
+	/** Task: Gets the label of a given vertex.
+	 *  @param vertex  a vertex number
+	 *  @return the object that labels the vertex */
+	public T getLabel(int vertex)
+	{
+		return labels[vertex];
+	} // end getLabel
+
+	/** Task: Gets the compressed sparse row form of this graph.
+	 *  @return the graph's edges, indexed by vertex number */
+	public CompressedGraph getCompressedGraph()
+	{
+		return graph;
+	} // end getCompressedGraph
+
+	public boolean addVertex(T vertexLabel)
+	{
+		throw new UnsupportedOperationException("A frozen graph cannot be modified");
+	} // end addVertex
+
+	public boolean addEdge(T begin, T end, double edgeWeight)
+	{
+		throw new UnsupportedOperationException("A frozen graph cannot be modified");
+	} // end addEdge
+
+	public boolean addEdge(T begin, T end)
+	{
+		throw new UnsupportedOperationException("A frozen graph cannot be modified");
+	} // end addEdge
+
+	public boolean removeEdge(T begin, T end)
+	{
+		throw new UnsupportedOperationException("A frozen graph cannot be modified");
+	} // end removeEdge
+
+	public boolean removeVertex(T vertexLabel)
+	{
+		throw new UnsupportedOperationException("A frozen graph cannot be modified");
+	} // end removeVertex
+
+	public boolean hasEdge(T begin, T end)
+	{
+		int beginVertex = getVertexId(begin);
+		int endVertex = getVertexId(end);
+		return (beginVertex >= 0) && (endVertex >= 0) &&
+		       graph.hasEdge(beginVertex, endVertex);
+	} // end hasEdge
+
+	public boolean isEmpty()
+	{
+		return graph.getNumberOfVertices() == 0;
+	} // end isEmpty
+
+	public int getNumberOfVertices()
+	{
+		return graph.getNumberOfVertices();
+	} // end getNumberOfVertices
+
+	public int getNumberOfEdges()
+	{
+		return graph.getNumberOfEdges();
+	} // end getNumberOfEdges
+
+	public void clear()
+	{
+		throw new UnsupportedOperationException("A frozen graph cannot be modified");
+	} // end clear
+
+	/** Task: Creates an iterator of the vertices that have edges to a
+	 *        given vertex, read from the reversed compressed graph.
+	 *  @param vertexLabel  an object that labels a vertex
+	 *  @return an iterator of the labels of the vertex's predecessors,
+	 *          in order of their vertex numbers; it is empty if the
+	 *          vertex is not in the graph */
+	public Iterator<T> getPredecessorIterator(T vertexLabel)
+	{
+		return new LabelIterator(graph.getReverse(), getVertexId(vertexLabel));
+	} // end getPredecessorIterator
+
+	/** Task: Gets the number of edges into a given vertex.
+	 *  @return the in-degree, or 0 if the vertex is not in the graph */
+	public int getInDegree(T vertexLabel)
+	{
+		int vertex = getVertexId(vertexLabel);
+		return (vertex < 0) ? 0 : graph.getReverse().getOutDegree(vertex);
+	} // end getInDegree
+
+	/** Task: Gets the number of edges out of a given vertex.
+	 *  @return the out-degree, or 0 if the vertex is not in the graph */
+	public int getOutDegree(T vertexLabel)
+	{
+		int vertex = getVertexId(vertexLabel);
+		return (vertex < 0) ? 0 : graph.getOutDegree(vertex);
+	} // end getOutDegree
+
+	public Queue<T> getBreadthFirstTraversal(T origin)
+	{
+		TraversalContext context = graph.getContext();
+		int count = 0;
+		int originVertex = getVertexId(origin);
+		if (originVertex >= 0)
+			count = graph.getBreadthFirstTraversal(originVertex, context);
+
+		return toQueue(context.getVertexArray(), count);
+	} // end getBreadthFirstTraversal
+
+	public Queue<T> getDepthFirstTraversal(T origin)
+	{
+		TraversalContext context = graph.getContext();
+		int count = 0;
+		int originVertex = getVertexId(origin);
+		if (originVertex >= 0)
+			count = graph.getDepthFirstTraversal(originVertex, context);
+
+		return toQueue(context.getVertexArray(), count);
+	} // end getDepthFirstTraversal
+
+	/** Task: Performs a breadth-first traversal that expands each level of
+	 *        the search in parallel on the common fork/join pool. The
+	 *        traversal reaches the same vertices as getBreadthFirstTraversal,
+	 *        in order of their distance from the origin, but the order of
+	 *        vertices at the same distance may differ.
+	 *  @param origin  an object that labels the origin vertex of the
+	 *                 traversal
+	 *  @return a queue of labels of the vertices in the traversal, with
+	 *          the label of the origin vertex at the queue's front */
+	public Queue<T> getParallelBreadthFirstTraversal(T origin)
+	{
+		Queue<T> traversalOrder;
+		int originVertex = getVertexId(origin);
+		if (originVertex >= 0)
+		{
+			ParallelBreadthFirstSearch search = new ParallelBreadthFirstSearch(graph);
+			int count = search.search(originVertex);
+			traversalOrder = toQueue(search.getVertexArray(), count);
+		}
+		else
+			traversalOrder = new ArrayDeque<T>(1);
+
+		return traversalOrder;
+	} // end getParallelBreadthFirstTraversal
+
+	/** Task: Finds the number of edges on a shortest path from a given
+	 *        vertex to every vertex, expanding the search in parallel.
+	 *  @param origin  an object that labels the origin vertex
+	 *  @return an array indexed by vertex number that holds each vertex's
+	 *          distance from the origin, or -1 if the vertex cannot be
+	 *          reached */
+	public int[] getBreadthFirstDepths(T origin)
+	{
+		int[] depths;
+		int originVertex = getVertexId(origin);
+		if (originVertex >= 0)
+		{
+			ParallelBreadthFirstSearch search = new ParallelBreadthFirstSearch(graph);
+			search.search(originVertex);
+			depths = search.getDepths();
+		}
+		else
+		{
+			depths = new int[graph.getNumberOfVertices()];
+			Arrays.fill(depths, -1);
+		} // end if
+
+		return depths;
+	} // end getBreadthFirstDepths
+
+	public Stack<T> getTopologicalOrder()
+	{
+		TraversalContext context = graph.getContext();
+		int count = 0;
+		try
+		{
+			count = graph.getTopologicalOrder(context);
+		}
+		catch (CyclicGraphException e)
+		{
+			// report the cycle by label rather than by vertex number
+			java.util.List<T> cycle = new java.util.ArrayList<T>();
+			for (Object vertex : e.getCycle())
+				cycle.add(getLabel((Integer)vertex));
+			throw new CyclicGraphException(cycle);
+		} // end try
+
+		T[] order = (T[])new Object[count];
+		int[] vertices = context.getVertexArray();
+		for (int index = 0; index < count; index++)
+			order[index] = getLabel(vertices[index]);
+
+		Stack<T> vertexStack = new Stack<T>();
+		vertexStack.addAll(Arrays.asList(order)); // one copy instead of a push per vertex
+		return vertexStack;
+	} // end getTopologicalOrder
+
+	/** Task: Finds the strongly connected components of the graph, in
+	 *        time proportional to the number of vertices plus the number
+	 *        of edges. Unlike getTopologicalOrder, this succeeds on a graph
+	 *        with cycles, and the components' condensation can then be
+	 *        ordered.
+	 *  @return the components */
+	public StronglyConnectedComponents<T> getStronglyConnectedComponents()
+	{
+		return new StronglyConnectedComponents<T>(this);
+	} // end getStronglyConnectedComponents
+
+	/** Precondition: path is an empty stack (NOT null) */
+	public int getShortestPath(T begin, T end, Stack<T> path)
+	{
+		int pathLength = -1;
+		int beginVertex = getVertexId(begin);
+		int endVertex = getVertexId(end);
+		if ( (beginVertex >= 0) && (endVertex >= 0) )
+		{
+			TraversalContext context = graph.getContext();
+			pathLength = graph.getShortestPath(beginVertex, endVertex, context);
+			if (pathLength >= 0)
+				pushPath(endVertex, context, path);
+		} // end if
+
+		return pathLength;
+	} // end getShortestPath
+
+	/** Precondition: path is an empty stack (NOT null) */
+	public double getCheapestPath(T begin, T end, Stack<T> path)
+	{
+		double pathCost = Double.POSITIVE_INFINITY;
+		int beginVertex = getVertexId(begin);
+		int endVertex = getVertexId(end);
+		if ( (beginVertex >= 0) && (endVertex >= 0) )
+		{
+			TraversalContext context = graph.getContext();
+			pathCost = graph.getCheapestPath(beginVertex, endVertex, context);
+			if (pathCost < Double.POSITIVE_INFINITY)
+				pushPath(endVertex, context, path);
+		} // end if
+
+		return pathCost;
+	} // end getCheapestPath
+
+	/** Precondition: path is an empty stack (NOT null) */
+	public double getCheapestPath(T begin, final T end, Stack<T> path,
+	                              final ToDoubleBiFunction<? super T, ? super T> heuristic)
+	{
+		double pathCost = Double.POSITIVE_INFINITY;
+		int beginVertex = getVertexId(begin);
+		int endVertex = getVertexId(end);
+		if ( (beginVertex >= 0) && (endVertex >= 0) )
+		{
+			IntToDoubleFunction estimate = new IntToDoubleFunction()
+			{
+				public double applyAsDouble(int vertex)
+				{
+					return heuristic.applyAsDouble(getLabel(vertex), end);
+				} // end applyAsDouble
+			}; // end estimate
+
+			TraversalContext context = graph.getContext();
+			pathCost = graph.getCheapestPath(beginVertex, endVertex, context, estimate);
+			if (pathCost < Double.POSITIVE_INFINITY)
+				pushPath(endVertex, context, path);
+		} // end if
+
+		return pathCost;
+	} // end getCheapestPath
+
+	/** Precondition: path is an empty stack (NOT null) */
+	public int getBidirectionalShortestPath(T begin, T end, Stack<T> path)
+	{
+		int pathLength = -1;
+		int beginVertex = getVertexId(begin);
+		int endVertex = getVertexId(end);
+		if ( (beginVertex >= 0) && (endVertex >= 0) )
+		{
+			TraversalContext context = graph.getContext();
+			pathLength = graph.getBidirectionalShortestPath(beginVertex, endVertex, context);
+			if (pathLength >= 0)
+				pushPath(endVertex, context, path);
+		} // end if
+
+		return pathLength;
+	} // end getBidirectionalShortestPath
+
+	/** Precondition: path is an empty stack (NOT null) */
+	public double getBidirectionalCheapestPath(T begin, T end, Stack<T> path)
+	{
+		double pathCost = Double.POSITIVE_INFINITY;
+		int beginVertex = getVertexId(begin);
+		int endVertex = getVertexId(end);
+		if ( (beginVertex >= 0) && (endVertex >= 0) )
+		{
+			TraversalContext context = graph.getContext();
+			pathCost = graph.getBidirectionalCheapestPath(beginVertex, endVertex, context);
+			if (pathCost < Double.POSITIVE_INFINITY)
+				pushPath(endVertex, context, path);
+		} // end if
+
+		return pathCost;
+	} // end getBidirectionalCheapestPath
+
+	/** Task: Finds the k cheapest paths between two given vertices that
+	 *        visit no vertex twice, by Yen's algorithm. See KShortestPaths.
+	 *  @param begin  an object that labels the paths' origin vertex
+	 *  @param end    an object that labels the paths' destination vertex
+	 *  @param k      the most paths to find
+	 *  @return a list of up to k paths in ascending order of cost; it is
+	 *          shorter if there are fewer such paths, and empty if either
+	 *          vertex is not in the graph */
+	public List<WeightedPath<T>> getKCheapestPaths(T begin, T end, int k)
+	{
+		List<WeightedPath<T>> result = new ArrayList<WeightedPath<T>>();
+		int beginVertex = getVertexId(begin);
+		int endVertex = getVertexId(end);
+		if ( (beginVertex >= 0) && (endVertex >= 0) )
+		{
+			KShortestPaths search = new KShortestPaths(graph);
+			int count = search.search(beginVertex, endVertex, k);
+			for (int index = 0; index < count; index++)
+			{
+				int[] vertices = search.getPath(index);
+				List<T> pathLabels = new ArrayList<T>(vertices.length);
+				for (int vertex : vertices)
+					pathLabels.add(getLabel(vertex));
+				result.add(new WeightedPath<T>(pathLabels, search.getCost(index)));
+			} // end for
+		} // end if
+
+		return result;
+	} // end getKCheapestPaths
+
+	/** Task: Finds the least-cost paths from a given vertex to every
+	 *        vertex, so that any number of destinations can be looked up
+	 *        after a single search.
+	 *  @param origin  an object that labels the origin vertex
+	 *  @return the tree of cheapest paths from origin; if origin is not
+	 *          in the graph, no vertex is reachable in it */
+	public ShortestPathTree<T> getCheapestPathTree(T origin)
+	{
+		return new ShortestPathTree<T>(this, origin);
+	} // end getCheapestPathTree
+
+	/** Task: Finds the trees of cheapest paths from several vertices,
+	 *        searching from them in parallel on the common ForkJoinPool.
+	 *  @param origins  a list of objects that label the origin vertices
+	 *  @return a list of the trees, in the order of origins */
+	public List<ShortestPathTree<T>> getCheapestPathTrees(List<? extends T> origins)
+	{
+		return getCheapestPathTrees(origins, ForkJoinPool.commonPool());
+	} // end getCheapestPathTrees
+
+	/** Task: Finds the trees of cheapest paths from several vertices,
+	 *        one search for each origin submitted to a given executor.
+	 *        Each thread searches with its own working storage.
+	 *  @param origins   a list of objects that label the origin vertices
+	 *  @param executor  the executor that runs the searches
+	 *  @return a list of the trees, in the order of origins */
+	public List<ShortestPathTree<T>> getCheapestPathTrees(List<? extends T> origins,
+	                                                      ExecutorService executor)
+	{
+		List<Future<ShortestPathTree<T>>> searches =
+		                            new ArrayList<Future<ShortestPathTree<T>>>(origins.size());
+		for (final T origin : origins)
+		{
+			searches.add(executor.submit(new Callable<ShortestPathTree<T>>()
+			{
+				public ShortestPathTree<T> call()
+				{
+					return getCheapestPathTree(origin);
+				} // end call
+			})); // end submit
+		} // end for
+
+		List<ShortestPathTree<T>> trees = new ArrayList<ShortestPathTree<T>>(origins.size());
+		try
+		{
+			for (Future<ShortestPathTree<T>> search : searches)
+				trees.add(search.get());
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while finding cheapest paths", e);
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException)cause;
+			throw new IllegalStateException(cause);
+		}
+		finally
+		{
+			for (Future<ShortestPathTree<T>> search : searches)
+				search.cancel(true); // does nothing to searches that are done
+		} // end try
+
+		return trees;
+	} // end getCheapestPathTrees
+
+	/** Task: Finds the cheapest paths between every pair of vertices,
+	 *        as one tree for each vertex found in parallel on the common
+	 *        ForkJoinPool. The trees together take space proportional to
+	 *        the square of the number of vertices.
+	 *  @return a list of the trees, indexed by the number of their
+	 *          origin vertex */
+	public List<ShortestPathTree<T>> getAllCheapestPathTrees()
+	{
+		List<T> origins = new ArrayList<T>(getNumberOfVertices());
+		for (int vertex = 0; vertex < getNumberOfVertices(); vertex++)
+			origins.add(getLabel(vertex));
+
+		return getCheapestPathTrees(origins);
+	} // end getAllCheapestPathTrees
+
+	// pushes the labels along the path a search recorded to end,
+	// so that the path's origin ends up on top
+	private void pushPath(int end, TraversalContext context, Stack<T> path)
+	{
+		int length = 0;
+		for (int vertex = end; vertex >= 0; vertex = context.getPredecessor(vertex))
+			length++;
+
+		T[] pathLabels = (T[])new Object[length];
+		int index = 0;
+		for (int vertex = end; vertex >= 0; vertex = context.getPredecessor(vertex))
+		{
+			pathLabels[index] = getLabel(vertex);
+			index++;
+		} // end for
+
+		path.addAll(Arrays.asList(pathLabels));
+	} // end pushPath
+
+	// makes a queue of the labels of the first count vertices in order
+	private Queue<T> toQueue(int[] order, int count)
+	{
+		Queue<T> result = new ArrayDeque<T>(Math.max(count, 1));
+		for (int index = 0; index < count; index++)
+			result.add(getLabel(order[index]));
+
+		return result;
+	} // end toQueue
+
+	// iterates over the labels at the ends of one vertex's edges
+	private class LabelIterator implements Iterator<T>
+	{
+		private final CompressedGraph edges;
+		private int nextEdge;
+		private final int endEdge;
+
+		private LabelIterator(CompressedGraph edges, int vertex)
+		{
+			this.edges = edges;
+			nextEdge = (vertex < 0) ? 0 : edges.getFirstEdge(vertex);
+			endEdge = (vertex < 0) ? 0 : edges.getEndEdge(vertex);
+		} // end constructor
+
+		public boolean hasNext()
+		{
+			return nextEdge < endEdge;
+		} // end hasNext
+
+		public T next()
+		{
+			if (!hasNext())
+				throw new NoSuchElementException();
+
+			T result = getLabel(edges.getEdgeTarget(nextEdge));
+			nextEdge++;
+			return result;
+		} // end next
+
+		public void remove()
+		{
+			throw new UnsupportedOperationException();
+		} // end remove
+	} // end LabelIterator
+
+	// Used for testing
+	public void display()
+	{
+		System.out.println("Frozen graph has " + getNumberOfVertices() + " vertices and " +
+		                                         getNumberOfEdges() + " edges.");
+		for (int vertex = 0; vertex < graph.getNumberOfVertices(); vertex++)
+		{
+			System.out.print(getLabel(vertex) + " ");
+			for (int edge = graph.getFirstEdge(vertex); edge < graph.getEndEdge(vertex); edge++)
+				System.out.print(getLabel(graph.getEdgeTarget(edge)) + " " + graph.getEdgeWeight(edge) + " ");
+			System.out.println();
+		} // end for
+	} // end display
+} // end FrozenDirectedGraph
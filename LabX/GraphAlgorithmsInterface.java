@@ -1 +1 @@
-import java.util.Queue;import java.util.Stack;/** * An interface of methods that process an existing graph. *  * @author Frank M. Carrano * @version 2.0 */public interface GraphAlgorithmsInterface<T>{  /** Task: Performs a breadth-first traversal of a graph.   *  @param origin  an object that labels the origin vertex of the       *                 traversal   *  @return a queue of labels of the vertices in the traversal, with   *          the label of the origin vertex at the queues front */  public Queue<T> getBreadthFirstTraversal(T origin);    /** Task: Performs a depth-first traversal of a graph.   *  @param origin  an object that labels the origin vertex of the       *                 traversal   *  @return a queue of labels of the vertices in the traversal, with   *          the label of the origin vertex at the queues front */  public Queue<T> getDepthFirstTraversal(T origin);    /** Task: Performs a topological sort of the vertices in a graph   *        without cycles.   *  @return a stack of vertex labels in topological order, beginning    *          with the stacks top */  public Stack<T> getTopologicalOrder();    /** Task: Finds the path between two given vertices that has the   *        shortest length.   *  @param begin  an object that labels the paths origin vertex   *  @param end    an object that labels the paths destination vertex   *  @param path   a stack of labels that is empty initially;   *                at the completion of the method, this stack contains   *                the labels of the vertices along the shortest path;   *                the label of the origin vertex is at the top, and   *                the label of the destination vertex is at the bottom          *  @return the length of the shortest path */  public int getShortestPath(T begin, T end, Stack<T> path);  /** Task: Finds the least-cost path between two given vertices.   *  @param begin  an object that labels the paths origin vertex   *  @param end    an object that labels the paths destination vertex   *  @param path   a stack of labels that is empty initially;   *                at the completion of the method, this stack contains   *                the labels of the vertices along the cheapest path;   *                the label of the origin vertex is at the top, and   *                the label of the destination vertex is at the bottom          *  @return the cost of the cheapest path */  public double getCheapestPath(T begin, T end, Stack<T> path);} // end GraphAlgorithmsInterface
\ No newline at end of file
+import java.util.Queue;import java.util.Stack;import java.util.function.ToDoubleBiFunction;/** * An interface of methods that process an existing graph. *  * @author Frank M. Carrano * @version 2.0 */public interface GraphAlgorithmsInterface<T>{  /** Task: Performs a breadth-first traversal of a graph.   *  @param origin  an object that labels the origin vertex of the       *                 traversal   *  @return a queue of labels of the vertices in the traversal, with   *          the label of the origin vertex at the queues front */  public Queue<T> getBreadthFirstTraversal(T origin);    /** Task: Performs a depth-first traversal of a graph.   *  @param origin  an object that labels the origin vertex of the       *                 traversal   *  @return a queue of labels of the vertices in the traversal, with   *          the label of the origin vertex at the queues front */  public Queue<T> getDepthFirstTraversal(T origin);    /** Task: Performs a topological sort of the vertices in a graph   *        without cycles.   *  @return a stack of vertex labels in topological order, beginning    *          with the stacks top   *  @throws CyclicGraphException if the graph has a cycle */  public Stack<T> getTopologicalOrder();    /** Task: Finds the path between two given vertices that has the   *        shortest length.   *  @param begin  an object that labels the paths origin vertex   *  @param end    an object that labels the paths destination vertex   *  @param path   a stack of labels that is empty initially;   *                at the completion of the method, this stack contains   *                the labels of the vertices along the shortest path;   *                the label of the origin vertex is at the top, and   *                the label of the destination vertex is at the bottom          *  @return the length of the shortest path */  public int getShortestPath(T begin, T end, Stack<T> path);  /** Task: Finds the least-cost path between two given vertices.   *  @param begin  an object that labels the paths origin vertex   *  @param end    an object that labels the paths destination vertex   *  @param path   a stack of labels that is empty initially;   *                at the completion of the method, this stack contains   *                the labels of the vertices along the cheapest path;   *                the label of the origin vertex is at the top, and   *                the label of the destination vertex is at the bottom          *  @return the cost of the cheapest path */  public double getCheapestPath(T begin, T end, Stack<T> path);  /** Task: Finds the least-cost path between two given vertices, guided   *        by an estimate of the remaining cost (the A* algorithm). An   *        estimate that never exceeds the true cost, such as the   *        straight-line distance between two places, gives the same   *        cost as getCheapestPath while examining fewer vertices.   *  @param begin      an object that labels the path's origin vertex   *  @param end        an object that labels the path's destination vertex   *  @param path       a stack of labels that is empty initially;   *                    at the completion of the method, this stack contains   *                    the labels of the vertices along the cheapest path;   *                    the label of the origin vertex is at the top, and   *                    the label of the destination vertex is at the bottom   *  @param heuristic  a function whose value for a vertex label and the   *                    destination label is a lower bound on the cost of   *                    a path between them   *  @return the cost of the cheapest path */  public double getCheapestPath(T begin, T end, Stack<T> path,                                ToDoubleBiFunction<? super T, ? super T> heuristic);  /** Task: Finds the path between two given vertices that has the   *        shortest length by searching forward from the origin and   *        backward from the destination until the two searches meet.   *        The result has the same length as getShortestPath's, though   *        it may be a different path of that length.   *  @param begin  an object that labels the path's origin vertex   *  @param end    an object that labels the path's destination vertex   *  @param path   a stack of labels that is empty initially;   *                at the completion of the method, this stack contains   *                the labels of the vertices along the shortest path;   *                the label of the origin vertex is at the top, and   *                the label of the destination vertex is at the bottom   *  @return the length of the shortest path */  public int getBidirectionalShortestPath(T begin, T end, Stack<T> path);  /** Task: Finds the least-cost path between two given vertices by   *        searching forward from the origin and backward from the   *        destination until the two searches meet. The result has the   *        same cost as getCheapestPath's, though it may be a different   *        path of that cost.   *  @param begin  an object that labels the path's origin vertex   *  @param end    an object that labels the path's destination vertex   *  @param path   a stack of labels that is empty initially;   *                at the completion of the method, this stack contains   *                the labels of the vertices along the cheapest path;   *                the label of the origin vertex is at the top, and   *                the label of the destination vertex is at the bottom   *  @return the cost of the cheapest path */  public double getBidirectionalCheapestPath(T begin, T end, Stack<T> path);} // end GraphAlgorithmsInterface
\ No newline at end of file
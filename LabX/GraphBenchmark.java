@@ -0,0 +1,314 @@
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.Stack;
+
+/**
+ * A program that times the construction and searches of DirectedGraph on
+ * synthetic graphs from GraphGenerator, and measures the bytes each
+ * operation allocates.
+ *
+ * Usage: java GraphBenchmark [graph [vertices [degree [warmups [iterations]]]]]
+ * where graph is random, dag, grid, scalefree or all (the default), vertices
+ * is the approximate number of vertices (default 100000), degree is the
+ * average number of edges leaving a vertex in the random graphs and the
+ * number each vertex adds in the scale-free graph (default 4), and warmups
+ * and iterations are the numbers of untimed and timed rounds (default 5
+ * and 10). Run with a fixed heap, such as -Xms2g -Xmx2g, so that the
+ * collector does not resize it while timing.
+ *
+ * Each round repeats an operation a number of times, from vertices chosen
+ * by a seeded random number generator, and the program reports the mean
+ * and the least time per operation over the timed rounds. Allocation is
+ * read from the JVM's count of bytes allocated by the current thread, so
+ * it is reported only on JVMs that keep that count.
+ *
+ * @version 1.0
+ */
+public class GraphBenchmark
+{
+	private static final long SEED = 20261017;
+	private static final int TRAVERSALS = 20; // per round
+	private static final int QUERIES = 200;   // path searches per round
+
+	private static final com.sun.management.ThreadMXBean threads = getThreadBean();
+	private static long sink = 0; // results of the operations, so they are not optimized away
+
+	public static void main(String[] args)
+	{
+		String kind = (args.length > 0) ? args[0] : "all";
+		int size = (args.length > 1) ? Integer.parseInt(args[1]) : 100000;
+		int degree = (args.length > 2) ? Integer.parseInt(args[2]) : 4;
+		int warmups = (args.length > 3) ? Integer.parseInt(args[3]) : 5;
+		int iterations = (args.length > 4) ? Integer.parseInt(args[4]) : 10;
+
+		System.out.println("vertices " + size + ", degree " + degree + ", " + warmups +
+		                   " warm-up and " + iterations + " timed rounds");
+		if (threads == null)
+			System.out.println("allocation is not measured by this JVM");
+		System.out.println();
+
+		String[] kinds = {"random", "dag", "grid", "scalefree"};
+		boolean found = false;
+		for (String nextKind : kinds)
+		{
+			if (kind.equals("all") || kind.equals(nextKind))
+			{
+				found = true;
+				benchmark(nextKind, generate(nextKind, size, degree), warmups, iterations);
+			} // end if
+		} // end for
+
+		if (!found)
+			throw new IllegalArgumentException("Unknown graph: " + kind);
+
+		System.out.println("(checksum " + sink + ")");
+	} // end main
+
+	private static BulkGraphLoader<Integer> generate(String kind, int size, int degree)
+	{
+		BulkGraphLoader<Integer> loader;
+		if (kind.equals("random"))
+			loader = GraphGenerator.randomGraph(size, size * degree, false, SEED);
+		else if (kind.equals("dag"))
+			loader = GraphGenerator.randomGraph(size, size * degree, true, SEED);
+		else if (kind.equals("grid"))
+		{
+			int side = (int)Math.ceil(Math.sqrt(size));
+			loader = GraphGenerator.gridGraph(side, side, SEED);
+		}
+		else
+			loader = GraphGenerator.scaleFreeGraph(size, degree, SEED);
+
+		return loader;
+	} // end generate
+
+	/** Task: Runs every operation on one graph and prints the results. */
+	private static void benchmark(String kind, final BulkGraphLoader<Integer> loader,
+	                              int warmups, int iterations)
+	{
+		final FrozenDirectedGraph<Integer> frozen = loader.toFrozenGraph();
+		final DirectedGraph<Integer> graph = loader.toDirectedGraph();
+		final int size = frozen.getNumberOfVertices();
+		System.out.println(kind + ": " + size + " vertices, " + frozen.getNumberOfEdges() + " edges");
+
+		Random generator = new Random(SEED);
+		final Integer[] origins = new Integer[QUERIES];
+		final Integer[] destinations = new Integer[QUERIES];
+		final Integer[] edgeOrigins = new Integer[QUERIES];      // of the edges changed
+		final Integer[] edgeDestinations = new Integer[QUERIES]; // between searches
+		for (int index = 0; index < QUERIES; index++)
+		{
+			origins[index] = generator.nextInt(size);
+			destinations[index] = generator.nextInt(size);
+			edgeOrigins[index] = generator.nextInt(size);
+			edgeDestinations[index] = (edgeOrigins[index] + 1 + generator.nextInt(size - 1)) % size;
+		} // end for
+
+		Operation[] operations = new Operation[]
+		{
+			new Operation("addEdge construction", 1)
+			{
+				long run(int repetition)
+				{
+					return build(frozen).getNumberOfEdges();
+				} // end run
+			},
+			new Operation("bulk load", 1)
+			{
+				long run(int repetition)
+				{
+					return loader.toDirectedGraph().getNumberOfEdges();
+				} // end run
+			},
+			new Operation("freeze", 1)
+			{
+				private final DirectedGraph<Integer> built = build(frozen);
+
+				long run(int repetition)
+				{
+					built.discardSnapshot();
+					return built.freeze().getNumberOfEdges();
+				} // end run
+			},
+			new Operation("breadth-first traversal", TRAVERSALS)
+			{
+				long run(int repetition)
+				{
+					return graph.getBreadthFirstTraversal(origins[repetition]).size();
+				} // end run
+			},
+			new Operation("depth-first traversal", TRAVERSALS)
+			{
+				long run(int repetition)
+				{
+					return graph.getDepthFirstTraversal(origins[repetition]).size();
+				} // end run
+			},
+			kind.equals("dag") ? new Operation("topological order", 1)
+			{
+				long run(int repetition)
+				{
+					return graph.getTopologicalOrder().size();
+				} // end run
+			} : null,
+			new Operation("strong components", 1)
+			{
+				long run(int repetition)
+				{
+					return graph.getStronglyConnectedComponents().getNumberOfComponents();
+				} // end run
+			},
+			new Operation("shortest path", QUERIES)
+			{
+				long run(int repetition)
+				{
+					return graph.getShortestPath(origins[repetition], destinations[repetition],
+					                             new Stack<Integer>());
+				} // end run
+			},
+			new Operation("cheapest path", QUERIES)
+			{
+				long run(int repetition)
+				{
+					return (long)graph.getCheapestPath(origins[repetition], destinations[repetition],
+					                                   new Stack<Integer>());
+				} // end run
+			},
+			new Operation("10 cheapest paths", QUERIES)
+			{
+				long run(int repetition)
+				{
+					return graph.getKCheapestPaths(origins[repetition], destinations[repetition], 10).size();
+				} // end run
+			},
+			new Operation("addEdge + cheapest path", QUERIES)
+			{
+				private final DirectedGraph<Integer> changed = build(frozen);
+
+				long run(int repetition)
+				{
+					// an edge added in an earlier round is removed instead, so
+					// that every search follows a change to the graph
+					Integer begin = edgeOrigins[repetition];
+					Integer end = edgeDestinations[repetition];
+					if (!changed.addEdge(begin, end, 1))
+						changed.removeEdge(begin, end);
+
+					return (long)changed.getCheapestPath(origins[repetition], destinations[repetition],
+					                                     new Stack<Integer>());
+				} // end run
+			}
+		};
+
+		for (Operation operation : operations)
+		{
+			if (operation != null)
+				operation.measure(warmups, iterations);
+		} // end for
+
+		System.out.println();
+	} // end benchmark
+
+	/** Task: Builds a DirectedGraph of a frozen graph's vertices and edges
+	 *        one addEdge at a time, in the way most callers build graphs. */
+	private static DirectedGraph<Integer> build(FrozenDirectedGraph<Integer> frozen)
+	{
+		CompressedGraph edges = frozen.getCompressedGraph();
+		int size = edges.getNumberOfVertices();
+		DirectedGraph<Integer> graph =
+		           new DirectedGraph<Integer>(new HashedDictionary<Integer, VertexInterface<Integer>>(size));
+		for (int vertex = 0; vertex < size; vertex++)
+			graph.addVertex(frozen.getLabel(vertex));
+
+		for (int vertex = 0; vertex < size; vertex++)
+		{
+			Integer begin = frozen.getLabel(vertex);
+			for (int edge = edges.getFirstEdge(vertex); edge < edges.getEndEdge(vertex); edge++)
+				graph.addEdge(begin, frozen.getLabel(edges.getEdgeTarget(edge)), edges.getEdgeWeight(edge));
+		} // end for
+
+		return graph;
+	} // end build
+
+	private static com.sun.management.ThreadMXBean getThreadBean()
+	{
+		com.sun.management.ThreadMXBean result = null;
+		try
+		{
+			java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+			if (bean instanceof com.sun.management.ThreadMXBean)
+			{
+				result = (com.sun.management.ThreadMXBean)bean;
+				if (result.isThreadAllocatedMemorySupported())
+					result.setThreadAllocatedMemoryEnabled(true);
+				else
+					result = null;
+			} // end if
+		}
+		catch (UnsupportedOperationException e)
+		{
+			result = null;
+		} // end try
+
+		return result;
+	} // end getThreadBean
+
+	private static long getAllocatedBytes()
+	{
+		return (threads == null) ? 0 : threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+	} // end getAllocatedBytes
+
+	/** An operation to time, repeated a fixed number of times per round. */
+	private static abstract class Operation
+	{
+		private final String name;
+		private final int repetitions;
+
+		Operation(String name, int repetitions)
+		{
+			this.name = name;
+			this.repetitions = repetitions;
+		} // end constructor
+
+		/** Task: Performs the operation once.
+		 *  @param repetition  the number of the repetition within its
+		 *                     round, from 0 to repetitions - 1
+		 *  @return a value computed from the operation's result */
+		abstract long run(int repetition);
+
+		/** Task: Runs untimed rounds and then timed rounds, and prints the
+		 *        time and allocation per operation. */
+		void measure(int warmups, int iterations)
+		{
+			for (int round = 0; round < warmups; round++)
+				runRound();
+
+			double totalTime = 0;
+			double leastTime = Double.POSITIVE_INFINITY;
+			long totalBytes = 0;
+			for (int round = 0; round < iterations; round++)
+			{
+				long bytesBefore = getAllocatedBytes();
+				long start = System.nanoTime();
+				runRound();
+				long time = System.nanoTime() - start;
+				totalBytes += getAllocatedBytes() - bytesBefore;
+
+				totalTime += time;
+				leastTime = Math.min(leastTime, time);
+			} // end for
+
+			long operations = (long)iterations * repetitions;
+			String allocation = (threads == null) ? "n/a"
+			                    : String.format("%.0f", (double)totalBytes / operations);
+			System.out.printf("  %-24s %14.3f us/op (least %.3f) %16s B/op%n", name,
+			                  totalTime / operations / 1000, leastTime / repetitions / 1000, allocation);
+		} // end measure
+
+		private void runRound()
+		{
+			for (int repetition = 0; repetition < repetitions; repetition++)
+				sink += run(repetition);
+		} // end runRound
+	} // end Operation
+} // end GraphBenchmark
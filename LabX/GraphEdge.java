@@ -0,0 +1,49 @@
+/**
+ * A class of weighted directed edges between two labeled vertices, as
+ * given to a BulkGraphLoader.
+ *
+ * @version 1.0
+ */
+public final class GraphEdge<T> implements java.io.Serializable
+{
+	private final T begin;
+	private final T end;
+	private final double weight;
+
+	/** Task: Creates a weighted edge.
+	 *  @param begin   an object that labels the origin vertex of the edge
+	 *  @param end     an object that labels the end vertex of the edge
+	 *  @param weight  the weight of the edge */
+	public GraphEdge(T begin, T end, double weight)
+	{
+		this.begin = begin;
+		this.end = end;
+		this.weight = weight;
+	} // end constructor
+
+	/** Task: Creates an unweighted edge, whose weight is zero. */
+	public GraphEdge(T begin, T end)
+	{
+		this(begin, end, 0);
+	} // end constructor
+
+	public T getBegin()
+	{
+		return begin;
+	} // end getBegin
+
+	public T getEnd()
+	{
+		return end;
+	} // end getEnd
+
+	public double getWeight()
+	{
+		return weight;
+	} // end getWeight
+
+	public String toString()
+	{
+		return begin + " -> " + end + " " + weight;
+	} // end toString
+} // end GraphEdge
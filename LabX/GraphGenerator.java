@@ -0,0 +1,137 @@
+import java.util.Random;
+
+/**
+ * A class of static methods that generate synthetic weighted graphs for
+ * benchmarks and tests. The vertices are the Integers 0 through n - 1 and
+ * the edge weights are whole numbers from 1 through MAX_WEIGHT. The same
+ * arguments and seed always give the same graph.
+ *
+ * @version 1.0
+ */
+public class GraphGenerator
+{
+	public static final int MAX_WEIGHT = 100;
+
+	private GraphGenerator()
+	{
+	} // end default constructor
+
+	/** Task: Generates a graph whose edges join vertices chosen uniformly
+	 *        at random. Loops and repeated edges are dropped, so the graph
+	 *        may have slightly fewer edges than asked for.
+	 *  @param numberOfVertices  the number of vertices
+	 *  @param numberOfEdges     the number of edges to generate
+	 *  @param acyclic           true to direct every edge from the smaller
+	 *                           vertex to the larger, so there is no cycle
+	 *  @param seed              the seed of the random numbers
+	 *  @return a loader holding the graph */
+	public static BulkGraphLoader<Integer> randomGraph(int numberOfVertices, int numberOfEdges,
+	                                                   boolean acyclic, long seed)
+	{
+		Random generator = new Random(seed);
+		BulkGraphLoader<Integer> loader = createLoader(numberOfVertices, numberOfEdges);
+		for (int edge = 0; edge < numberOfEdges; edge++)
+		{
+			int begin = generator.nextInt(numberOfVertices);
+			int end = generator.nextInt(numberOfVertices);
+			if (acyclic && (begin > end))
+			{
+				int temp = begin;
+				begin = end;
+				end = temp;
+			} // end if
+
+			loader.addEdge(begin, end, nextWeight(generator));
+		} // end for
+
+		return loader;
+	} // end randomGraph
+
+	/** Task: Generates a grid like a road map, with edges both ways
+	 *        between each vertex and the vertices beside, above and below
+	 *        it. Vertex row * columns + column is at the given row and
+	 *        column, and both edges between two vertices have one weight.
+	 *  @param rows     the number of rows
+	 *  @param columns  the number of columns
+	 *  @param seed     the seed of the random weights
+	 *  @return a loader holding the graph */
+	public static BulkGraphLoader<Integer> gridGraph(int rows, int columns, long seed)
+	{
+		Random generator = new Random(seed);
+		BulkGraphLoader<Integer> loader = createLoader(rows * columns, 4 * rows * columns);
+		for (int row = 0; row < rows; row++)
+		{
+			for (int column = 0; column < columns; column++)
+			{
+				int vertex = row * columns + column;
+				if (column + 1 < columns)
+					addBothWays(loader, vertex, vertex + 1, nextWeight(generator));
+				if (row + 1 < rows)
+					addBothWays(loader, vertex, vertex + columns, nextWeight(generator));
+			} // end for
+		} // end for
+
+		return loader;
+	} // end gridGraph
+
+	/** Task: Generates a scale-free graph by preferential attachment:
+	 *        each new vertex gets edges to and from vertices chosen with
+	 *        probability in proportion to their degree, so that a few
+	 *        vertices end up with very many edges.
+	 *  @param numberOfVertices  the number of vertices
+	 *  @param edgesPerVertex    the number of edges each new vertex adds
+	 *  @param seed              the seed of the random numbers
+	 *  @return a loader holding the graph */
+	public static BulkGraphLoader<Integer> scaleFreeGraph(int numberOfVertices, int edgesPerVertex,
+	                                                      long seed)
+	{
+		Random generator = new Random(seed);
+		BulkGraphLoader<Integer> loader = createLoader(numberOfVertices, numberOfVertices * edgesPerVertex);
+
+		// each edge adds both its vertices to endpoints, so choosing an entry
+		// uniformly chooses a vertex in proportion to its degree
+		int[] endpoints = new int[2 * numberOfVertices * edgesPerVertex + 2];
+		int endpointCount = 0;
+		endpoints[endpointCount++] = 0;
+		for (int vertex = 1; vertex < numberOfVertices; vertex++)
+		{
+			loader.addVertex(vertex);
+			int links = Math.min(edgesPerVertex, vertex);
+			for (int link = 0; link < links; link++)
+			{
+				int other = endpoints[generator.nextInt(endpointCount)];
+				if (generator.nextBoolean())
+					loader.addEdge(vertex, other, nextWeight(generator));
+				else
+					loader.addEdge(other, vertex, nextWeight(generator));
+
+				endpoints[endpointCount++] = vertex;
+				endpoints[endpointCount++] = other;
+			} // end for
+		} // end for
+
+		return loader;
+	} // end scaleFreeGraph
+
+	// creates a loader whose vertices 0 through n - 1 are numbered in order
+	private static BulkGraphLoader<Integer> createLoader(int numberOfVertices, int numberOfEdges)
+	{
+		BulkGraphLoader<Integer> loader = new BulkGraphLoader<Integer>(numberOfEdges);
+		for (int vertex = 0; vertex < numberOfVertices; vertex++)
+			loader.addVertex(vertex);
+
+		return loader;
+	} // end createLoader
+
+	private static void addBothWays(BulkGraphLoader<Integer> loader, int first, int second,
+	                                double edgeWeight)
+	{
+		loader.addEdge(first, second, edgeWeight);
+		loader.addEdge(second, first, edgeWeight);
+	} // end addBothWays
+
+	private static double nextWeight(Random generator)
+	{
+		return 1 + generator.nextInt(MAX_WEIGHT);
+	} // end nextWeight
+} // end GraphGenerator
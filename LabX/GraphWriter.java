@@ -0,0 +1,229 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * A class that writes a directed graph to a file that MappedDirectedGraph
+ * can open without reading it. All values are little-endian. The file
+ * holds, in order:
+ *
+ *   a header of MAGIC, VERSION, the number of vertices n and the number
+ *     of edges m as ints, then the length of the label text as a long;
+ *   n + 1 long positions in the label text; the label of vertex v runs
+ *     from the v-th position up to but not including the next one;
+ *   n int vertex numbers in increasing order of their labels, compared
+ *     as unsigned UTF-8 bytes, for lookup by binary search;
+ *   the label text, the UTF-8 encoding of each label's toString;
+ *   padding to a multiple of 8 bytes;
+ *   the n + 1 int offsets, then the m int targets, of the CompressedGraph;
+ *   padding to a multiple of 8 bytes;
+ *   the m double weights.
+ *
+ * @version 1.0
+ */
+public class GraphWriter
+{
+	static final int MAGIC = 0x47524146; // "GRAF"
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 24;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private long position; // of the next byte to be written
+
+	private GraphWriter(FileChannel channel)
+	{
+		this.channel = channel;
+		buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		position = 0;
+	} // end constructor
+
+	/** Task: Writes a graph to a file, replacing any existing file.
+	 *  @param graph  the graph to write; the strings of its labels must
+	 *                be distinct
+	 *  @param file   the path of the file
+	 *  @throws IllegalArgumentException if two labels have the same string */
+	public static void write(DirectedGraph<?> graph, Path file) throws IOException
+	{
+		write(graph.freeze(), file);
+	} // end write
+
+	/** Task: Writes a frozen graph to a file, replacing any existing file.
+	 *  @param graph  the graph to write; the strings of its labels must
+	 *                be distinct
+	 *  @param file   the path of the file
+	 *  @throws IllegalArgumentException if two labels have the same string */
+	public static void write(FrozenDirectedGraph<?> graph, Path file) throws IOException
+	{
+		int numberOfVertices = graph.getNumberOfVertices();
+		final byte[][] labelText = new byte[numberOfVertices][];
+		long labelLength = 0;
+		for (int vertex = 0; vertex < numberOfVertices; vertex++)
+		{
+			labelText[vertex] = String.valueOf(graph.getLabel(vertex)).getBytes(StandardCharsets.UTF_8);
+			labelLength += labelText[vertex].length;
+		} // end for
+
+		Integer[] sortedVertices = new Integer[numberOfVertices];
+		for (int vertex = 0; vertex < numberOfVertices; vertex++)
+			sortedVertices[vertex] = vertex;
+		Arrays.sort(sortedVertices, new Comparator<Integer>()
+		{
+			public int compare(Integer first, Integer second)
+			{
+				return compareLabels(labelText[first], labelText[second]);
+			} // end compare
+		}); // end sort
+
+		for (int index = 1; index < numberOfVertices; index++)
+		{
+			if (compareLabels(labelText[sortedVertices[index - 1]], labelText[sortedVertices[index]]) == 0)
+				throw new IllegalArgumentException("Two vertices have the label " +
+				                                   graph.getLabel(sortedVertices[index]));
+		} // end for
+
+		CompressedGraph edges = graph.getCompressedGraph();
+		int numberOfEdges = edges.getNumberOfEdges();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+		                                            StandardOpenOption.TRUNCATE_EXISTING,
+		                                            StandardOpenOption.WRITE))
+		{
+			GraphWriter writer = new GraphWriter(channel);
+			writer.putInt(MAGIC);
+			writer.putInt(VERSION);
+			writer.putInt(numberOfVertices);
+			writer.putInt(numberOfEdges);
+			writer.putLong(labelLength);
+
+			long labelPosition = 0;
+			writer.putLong(labelPosition);
+			for (int vertex = 0; vertex < numberOfVertices; vertex++)
+			{
+				labelPosition += labelText[vertex].length;
+				writer.putLong(labelPosition);
+			} // end for
+
+			for (int index = 0; index < numberOfVertices; index++)
+				writer.putInt(sortedVertices[index]);
+			for (int vertex = 0; vertex < numberOfVertices; vertex++)
+				writer.putBytes(labelText[vertex]);
+			writer.pad();
+
+			for (int vertex = 0; vertex < numberOfVertices; vertex++)
+				writer.putInt(edges.getFirstEdge(vertex));
+			writer.putInt(numberOfEdges);
+			for (int edge = 0; edge < numberOfEdges; edge++)
+				writer.putInt(edges.getEdgeTarget(edge));
+			writer.pad();
+
+			for (int edge = 0; edge < numberOfEdges; edge++)
+				writer.putDouble(edges.getEdgeWeight(edge));
+			writer.flush();
+		} // end try
+	} // end write
+
+	/** Task: Computes where each part of a graph file begins.
+	 *  @return the positions of the label positions, the sorted vertices,
+	 *          the label text, the offsets, the targets and the weights,
+	 *          followed by the length of the file */
+	static long[] getLayout(int numberOfVertices, int numberOfEdges, long labelLength)
+	{
+		long[] layout = new long[7];
+		layout[0] = HEADER_SIZE;
+		layout[1] = layout[0] + 8L * (numberOfVertices + 1);
+		layout[2] = layout[1] + 4L * numberOfVertices;
+		layout[3] = align(layout[2] + labelLength);
+		layout[4] = layout[3] + 4L * (numberOfVertices + 1);
+		layout[5] = align(layout[4] + 4L * numberOfEdges);
+		layout[6] = layout[5] + 8L * numberOfEdges;
+		return layout;
+	} // end getLayout
+
+	/** Task: Compares two UTF-8 labels byte by byte as unsigned values,
+	 *        which orders them by code point. */
+	static int compareLabels(byte[] first, byte[] second)
+	{
+		int length = Math.min(first.length, second.length);
+		for (int index = 0; index < length; index++)
+		{
+			int difference = (first[index] & 0xFF) - (second[index] & 0xFF);
+			if (difference != 0)
+				return difference;
+		} // end for
+
+		return first.length - second.length;
+	} // end compareLabels
+
+	private static long align(long filePosition)
+	{
+		return (filePosition + 7) & ~7L;
+	} // end align
+
+	private void putInt(int value) throws IOException
+	{
+		makeRoom(4);
+		buffer.putInt(value);
+		position += 4;
+	} // end putInt
+
+	private void putLong(long value) throws IOException
+	{
+		makeRoom(8);
+		buffer.putLong(value);
+		position += 8;
+	} // end putLong
+
+	private void putDouble(double value) throws IOException
+	{
+		makeRoom(8);
+		buffer.putDouble(value);
+		position += 8;
+	} // end putDouble
+
+	private void putBytes(byte[] values) throws IOException
+	{
+		int written = 0;
+		while (written < values.length)
+		{
+			makeRoom(1);
+			int length = Math.min(values.length - written, buffer.remaining());
+			buffer.put(values, written, length);
+			written += length;
+		} // end while
+
+		position += values.length;
+	} // end putBytes
+
+	// writes zeros up to the next multiple of 8 bytes
+	private void pad() throws IOException
+	{
+		while (position != align(position))
+		{
+			makeRoom(1);
+			buffer.put((byte)0);
+			position++;
+		} // end while
+	} // end pad
+
+	private void makeRoom(int length) throws IOException
+	{
+		if (buffer.remaining() < length)
+			flush();
+	} // end makeRoom
+
+	private void flush() throws IOException
+	{
+		buffer.flip();
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+		buffer.clear();
+	} // end flush
+} // end GraphWriter
@@ -0,0 +1,283 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.io.Serializable;
+
+/**
+ * A class that implements the ADT dictionary by using hashing and
+ * linear probing to resolve collisions. The dictionary is not sorted
+ * and has distinct search keys. Removed entries leave a marker in the
+ * table; the table is rehashed into a larger array when the entries
+ * and markers together exceed the maximum load factor.
+ *
+ * @version 1.0
+ */
+public class HashedDictionary<K, V>
+             implements DictionaryInterface<K, V>, Serializable
+{
+	private static final int DEFAULT_CAPACITY = 16;     // must be a power of 2
+	private static final double MAX_LOAD_FACTOR = 0.5;
+	private static final Object REMOVED = new Removed(); // marks a removed entry
+
+	private Object[] keys;      // search keys; null if location never used
+	private V[] values;         // value associated with each key
+	private int numberOfEntries;
+	private int locationsUsed;  // number of entries plus removed markers
+
+	public HashedDictionary()
+	{
+		this(DEFAULT_CAPACITY);
+	} // end default constructor
+
+	/** Task: Creates a dictionary that can hold a given number of entries
+	 *        before it must enlarge its hash table.
+	 *  @param initialCapacity  the expected number of entries */
+	public HashedDictionary(int initialCapacity)
+	{
+		int tableSize = DEFAULT_CAPACITY;
+		while (tableSize * MAX_LOAD_FACTOR < initialCapacity)
+			tableSize = 2 * tableSize;
+
+		allocateTable(tableSize);
+	} // end constructor
+
+	public V add(K key, V value)
+	{
+		V result = null;
+		int index = locate(key);
+
+		if (index >= 0)
+		{
+			// key in dictionary; replace corresponding value
+			result = values[index];
+			values[index] = value;
+		}
+		else
+		{
+			// key not in dictionary; use the first free location in its probe sequence
+			index = -index - 1;
+			if (keys[index] == null)
+				locationsUsed++;
+			keys[index] = key;
+			values[index] = value;
+			numberOfEntries++;
+
+			if (isHashTableTooFull())
+				rehash(keys.length * 2);
+		} // end if
+
+		return result;
+	} // end add
+
+	public V remove(K key)
+	{
+		V result = null;
+		int index = locate(key);
+
+		if (index >= 0)
+		{
+			result = values[index];
+			keys[index] = REMOVED;
+			values[index] = null;
+			numberOfEntries--;
+		} // end if
+
+		return result;
+	} // end remove
+
+	public V getValue(K key)
+	{
+		V result = null;
+		int index = locate(key);
+
+		if (index >= 0)
+			result = values[index];
+
+		return result;
+	} // end getValue
+
+	public boolean contains(K key)
+	{
+		return locate(key) >= 0;
+	} // end contains
+
+	public boolean isEmpty()
+	{
+		return numberOfEntries == 0;
+	} // end isEmpty
+
+	public boolean isFull()
+	{
+		return false;
+	} // end isFull
+
+	public int getSize()
+	{
+		return numberOfEntries;
+	} // end getSize
+
+	public final void clear()
+	{
+		allocateTable(DEFAULT_CAPACITY);
+	} // end clear
+
+	public Iterator<K> getKeyIterator()
+	{
+		return new KeyIterator();
+	} // end getKeyIterator
+
+	public Iterator<V> getValueIterator()
+	{
+		return new ValueIterator();
+	} // end getValueIterator
+
+	/** Task: Searches the probe sequence of a key.
+	 *  @return the index of the key if it is in the table; otherwise
+	 *          -(index + 1), where index is the first removed or unused
+	 *          location in the probe sequence */
+	private int locate(K key)
+	{
+		int mask = keys.length - 1;
+		int index = getHashIndex(key) & mask;
+		int firstRemoved = -1;
+		int result = 0;
+		boolean done = false;
+
+		while (!done)
+		{
+			Object nextKey = keys[index];
+			if (nextKey == null)
+			{
+				result = -((firstRemoved >= 0 ? firstRemoved : index) + 1);
+				done = true;
+			}
+			else if (nextKey == REMOVED)
+			{
+				if (firstRemoved < 0)
+					firstRemoved = index;
+				index = (index + 1) & mask;
+			}
+			else if (key.equals(nextKey))
+			{
+				result = index;
+				done = true;
+			}
+			else
+				index = (index + 1) & mask;
+		} // end while
+
+		return result;
+	} // end locate
+
+	// spreads the high bits of the hash code into the low bits used by the mask
+	private static int getHashIndex(Object key)
+	{
+		int hashCode = key.hashCode() * 0x9E3779B9;
+		return hashCode ^ (hashCode >>> 16);
+	} // end getHashIndex
+
+	private boolean isHashTableTooFull()
+	{
+		return locationsUsed > MAX_LOAD_FACTOR * keys.length;
+	} // end isHashTableTooFull
+
+	// moves the entries into a new table; removed markers are dropped,
+	// so the table keeps its size if most used locations were markers
+	private void rehash(int proposedSize)
+	{
+		Object[] oldKeys = keys;
+		V[] oldValues = values;
+		int newSize = (numberOfEntries < MAX_LOAD_FACTOR * oldKeys.length / 2) ?
+		              oldKeys.length : proposedSize;
+		allocateTable(newSize);
+
+		int mask = newSize - 1;
+		for (int oldIndex = 0; oldIndex < oldKeys.length; oldIndex++)
+		{
+			Object nextKey = oldKeys[oldIndex];
+			if ( (nextKey != null) && (nextKey != REMOVED) )
+			{
+				int index = getHashIndex(nextKey) & mask;
+				while (keys[index] != null)
+					index = (index + 1) & mask;
+
+				keys[index] = nextKey;
+				values[index] = oldValues[oldIndex];
+				numberOfEntries++;
+				locationsUsed++;
+			} // end if
+		} // end for
+	} // end rehash
+
+	private void allocateTable(int tableSize)
+	{
+		keys = new Object[tableSize];
+		values = (V[])new Object[tableSize];
+		numberOfEntries = 0;
+		locationsUsed = 0;
+	} // end allocateTable
+
+	private abstract class TableIterator
+	{
+		private int nextIndex; // index of next entry, or keys.length if none
+
+		private TableIterator()
+		{
+			nextIndex = -1;
+			advance();
+		} // end default constructor
+
+		public boolean hasNext()
+		{
+			return nextIndex < keys.length;
+		} // end hasNext
+
+		protected int nextIndex()
+		{
+			if (!hasNext())
+				throw new NoSuchElementException();
+
+			int result = nextIndex;
+			advance();
+			return result;
+		} // end nextIndex
+
+		public void remove()
+		{
+			throw new UnsupportedOperationException();
+		} // end remove
+
+		private void advance()
+		{
+			nextIndex++;
+			while ( (nextIndex < keys.length) &&
+			        ((keys[nextIndex] == null) || (keys[nextIndex] == REMOVED)) )
+				nextIndex++;
+		} // end advance
+	} // end TableIterator
+
+	private class KeyIterator extends TableIterator implements Iterator<K>
+	{
+		public K next()
+		{
+			return (K)keys[nextIndex()];
+		} // end next
+	} // end KeyIterator
+
+	private class ValueIterator extends TableIterator implements Iterator<V>
+	{
+		public V next()
+		{
+			return values[nextIndex()];
+		} // end next
+	} // end ValueIterator
+
+	// the class of the removed-entry marker; it stays a single instance
+	// when a dictionary is deserialized
+	private static class Removed implements Serializable
+	{
+		private Object readResolve()
+		{
+			return REMOVED;
+		} // end readResolve
+	} // end Removed
+} // end HashedDictionary
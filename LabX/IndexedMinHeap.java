@@ -0,0 +1,196 @@
+import java.util.NoSuchElementException;
+
+/**
+ * A class of binary min-heaps whose entries are distinct int keys in the
+ * range 0 through capacity - 1, each with a real-valued priority. Because
+ * the heap records where each key sits, the priority of a key already in
+ * the heap can be lowered in place instead of adding a second entry.
+ *
+ * @version 1.0
+ */
+public class IndexedMinHeap implements java.io.Serializable
+{
+	private int[] heap;         // keys in heap order; heap[0] has the least priority
+	private int[] position;     // index of each key within heap, or -1 if absent
+	private double[] priority;  // priority of each key in the heap
+	private int size;           // number of keys in the heap
+
+	/** Task: Creates an empty heap for the keys 0 through capacity - 1.
+	 *  @param capacity  one more than the largest key */
+	public IndexedMinHeap(int capacity)
+	{
+		heap = new int[capacity];
+		position = new int[capacity];
+		priority = new double[capacity];
+		java.util.Arrays.fill(position, -1);
+		size = 0;
+	} // end constructor
+
+	public boolean isEmpty()
+	{
+		return size == 0;
+	} // end isEmpty
+
+	public int getSize()
+	{
+		return size;
+	} // end getSize
+
+	public int getCapacity()
+	{
+		return position.length;
+	} // end getCapacity
+
+	/** Task: Sees whether a key is in the heap.
+	 *  @param key  an integer from 0 through capacity - 1
+	 *  @return true if the key is in the heap */
+	public boolean contains(int key)
+	{
+		return position[key] >= 0;
+	} // end contains
+
+	/** Task: Gets the priority of a key in the heap.
+	 *  Precondition: contains(key) is true. */
+	public double getPriority(int key)
+	{
+		return priority[key];
+	} // end getPriority
+
+	/** Task: Adds a key that is not in the heap.
+	 *  @param key          an integer from 0 through capacity - 1
+	 *  @param newPriority  the key's priority */
+	public void add(int key, double newPriority)
+	{
+		if (position[key] >= 0)
+			throw new IllegalArgumentException("Key " + key + " is already in the heap");
+
+		priority[key] = newPriority;
+		heap[size] = key;
+		position[key] = size;
+		size++;
+		siftUp(size - 1);
+	} // end add
+
+	/** Task: Lowers the priority of a key in the heap.
+	 *  Precondition: contains(key) is true and newPriority does not
+	 *  exceed the key's current priority. */
+	public void decreasePriority(int key, double newPriority)
+	{
+		priority[key] = newPriority;
+		siftUp(position[key]);
+	} // end decreasePriority
+
+	/** Task: Raises or lowers the priority of a key in the heap.
+	 *  Precondition: contains(key) is true. */
+	public void changePriority(int key, double newPriority)
+	{
+		priority[key] = newPriority;
+		siftUp(position[key]);
+		siftDown(position[key]);
+	} // end changePriority
+
+	/** Task: Adds a key or, if it is already in the heap with a greater
+	 *        priority, lowers its priority.
+	 *  @return true if the heap changed */
+	public boolean addOrDecrease(int key, double newPriority)
+	{
+		boolean changed = true;
+		if (position[key] < 0)
+			add(key, newPriority);
+		else if (newPriority < priority[key])
+			decreasePriority(key, newPriority);
+		else
+			changed = false;
+
+		return changed;
+	} // end addOrDecrease
+
+	/** Task: Gets the key with the least priority without removing it.
+	 *  Precondition: the heap is not empty. */
+	public int getMin()
+	{
+		if (size == 0)
+			throw new NoSuchElementException();
+
+		return heap[0];
+	} // end getMin
+
+	/** Task: Gets the least priority in the heap.
+	 *  Precondition: the heap is not empty. */
+	public double getMinPriority()
+	{
+		return priority[getMin()];
+	} // end getMinPriority
+
+	/** Task: Removes the key with the least priority.
+	 *  @return the removed key */
+	public int removeMin()
+	{
+		int result = getMin();
+		size--;
+		position[result] = -1;
+		if (size > 0)
+		{
+			int lastKey = heap[size];
+			heap[0] = lastKey;
+			position[lastKey] = 0;
+			siftDown(0);
+		} // end if
+
+		return result;
+	} // end removeMin
+
+	/** Task: Removes all keys. Runs in time proportional to the number
+	 *        of keys in the heap, not to its capacity. */
+	public void clear()
+	{
+		for (int index = 0; index < size; index++)
+			position[heap[index]] = -1;
+		size = 0;
+	} // end clear
+
+	private void siftUp(int index)
+	{
+		int key = heap[index];
+		double keyPriority = priority[key];
+		while (index > 0)
+		{
+			int parentIndex = (index - 1) / 2;
+			int parent = heap[parentIndex];
+			if (priority[parent] <= keyPriority)
+				break;
+
+			heap[index] = parent;
+			position[parent] = index;
+			index = parentIndex;
+		} // end while
+
+		heap[index] = key;
+		position[key] = index;
+	} // end siftUp
+
+	private void siftDown(int index)
+	{
+		int key = heap[index];
+		double keyPriority = priority[key];
+		int childIndex = 2 * index + 1;
+		while (childIndex < size)
+		{
+			if ( (childIndex + 1 < size) &&
+			     (priority[heap[childIndex + 1]] < priority[heap[childIndex]]) )
+				childIndex++;
+
+			int child = heap[childIndex];
+			if (keyPriority <= priority[child])
+				break;
+
+			heap[index] = child;
+			position[child] = index;
+			index = childIndex;
+			childIndex = 2 * index + 1;
+		} // end while
+
+		heap[index] = key;
+		position[key] = index;
+	} // end siftDown
+} // end IndexedMinHeap
@@ -0,0 +1,87 @@
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * A class of stacks of int values, kept in an array that doubles in size
+ * when it fills. Values are not boxed and no method is synchronized.
+ *
+ * @version 1.0
+ */
+public class IntArrayStack implements java.io.Serializable
+{
+	private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+	private int[] stack;  // entries from bottom to top
+	private int topIndex; // index of top entry, or -1 if the stack is empty
+
+	public IntArrayStack()
+	{
+		this(DEFAULT_INITIAL_CAPACITY);
+	} // end default constructor
+
+	public IntArrayStack(int initialCapacity)
+	{
+		stack = new int[Math.max(initialCapacity, 1)];
+		topIndex = -1;
+	} // end constructor
+
+	public void push(int newEntry)
+	{
+		topIndex++;
+		if (topIndex == stack.length)
+			stack = Arrays.copyOf(stack, 2 * stack.length);
+
+		stack[topIndex] = newEntry;
+	} // end push
+
+	/** Task: Removes and returns the top of the stack.
+	 *  @throws EmptyStackException if the stack is empty */
+	public int pop()
+	{
+		int top = peek();
+		topIndex--;
+		return top;
+	} // end pop
+
+	/** Task: Gets the top of the stack without removing it.
+	 *  @throws EmptyStackException if the stack is empty */
+	public int peek()
+	{
+		if (isEmpty())
+			throw new EmptyStackException();
+
+		return stack[topIndex];
+	} // end peek
+
+	public boolean isEmpty()
+	{
+		return topIndex < 0;
+	} // end isEmpty
+
+	public int getSize()
+	{
+		return topIndex + 1;
+	} // end getSize
+
+	public void clear()
+	{
+		topIndex = -1;
+	} // end clear
+
+	/** Task: Gets the entries of the stack in the order pop would
+	 *        return them.
+	 *  @return a new array whose first element is the top of the stack */
+	public int[] toArray()
+	{
+		int[] result = new int[topIndex + 1];
+		for (int index = 0; index <= topIndex; index++)
+			result[index] = stack[topIndex - index];
+
+		return result;
+	} // end toArray
+
+	public String toString()
+	{
+		return Arrays.toString(Arrays.copyOf(stack, topIndex + 1));
+	} // end toString
+} // end IntArrayStack
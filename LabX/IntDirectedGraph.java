@@ -0,0 +1,371 @@
+import java.util.Arrays;
+
+/**
+ * A class of directed graphs whose vertices are the ints 0 through n - 1.
+ * The edges leaving each vertex are kept in a pair of primitive arrays,
+ * one of targets and one of weights, so no label is boxed and no vertex
+ * or edge object is created. Traversals and path searches run on a
+ * CompressedGraph copy that is built on first use and kept until the graph
+ * changes.
+ *
+ * Like DirectedGraph, the graph has no loops and no parallel edges.
+ *
+ * @version 1.0
+ */
+public class IntDirectedGraph implements java.io.Serializable
+{
+	private static final int DEFAULT_CAPACITY = 16;
+	private static final int[] NO_TARGETS = new int[0];
+	private static final double[] NO_WEIGHTS = new double[0];
+
+	private int numberOfVertices;
+	private int[][] targets;     // vertices at the ends of each vertex's edges
+	private double[][] weights;  // weights of each vertex's edges
+	private int[] degree;        // number of edges leaving each vertex
+	private int edgeCount;
+	private transient volatile CompressedGraph snapshot; // answers queries; null after a change
+
+	public IntDirectedGraph()
+	{
+		this(DEFAULT_CAPACITY);
+	} // end default constructor
+
+	/** Task: Creates an empty graph with room for a given number of
+	 *        vertices before its arrays must grow.
+	 *  @param initialCapacity  the expected number of vertices */
+	public IntDirectedGraph(int initialCapacity)
+	{
+		allocate(Math.max(initialCapacity, 1));
+	} // end constructor
+
+	/** Task: Adds a vertex numbered one more than the last vertex.
+	 *  @return the number of the new vertex */
+	public int addVertex()
+	{
+		ensureCapacity(numberOfVertices + 1);
+		targets[numberOfVertices] = NO_TARGETS;
+		weights[numberOfVertices] = NO_WEIGHTS;
+		degree[numberOfVertices] = 0;
+		snapshot = null;
+		numberOfVertices++;
+		return numberOfVertices - 1;
+	} // end addVertex
+
+	/** Task: Adds a given vertex to the graph, along with every smaller
+	 *        vertex not already in it, since the vertices are numbered
+	 *        consecutively.
+	 *  @param vertex  a nonnegative vertex number
+	 *  @return true if the vertex was added, or false if it was already
+	 *          in the graph */
+	public boolean addVertex(int vertex)
+	{
+		if (vertex < 0)
+			throw new IllegalArgumentException("Vertex numbers must be nonnegative: " + vertex);
+
+		boolean result = vertex >= numberOfVertices;
+		while (vertex >= numberOfVertices)
+			addVertex();
+
+		return result;
+	} // end addVertex
+
+	/** Task: Adds a weighted edge between two given distinct vertices that
+	 *        are currently in the graph. The desired edge must not already
+	 *        be in the graph.
+	 *  @return true if the edge is added, or false if not */
+	public boolean addEdge(int begin, int end, double edgeWeight)
+	{
+		boolean result = false;
+		if (isVertex(begin) && isVertex(end) && (begin != end) && !hasEdge(begin, end))
+		{
+			int edge = degree[begin];
+			if (edge == targets[begin].length)
+			{
+				int newLength = Math.max(2 * edge, 4);
+				targets[begin] = Arrays.copyOf(targets[begin], newLength);
+				weights[begin] = Arrays.copyOf(weights[begin], newLength);
+			} // end if
+
+			targets[begin][edge] = end;
+			weights[begin][edge] = edgeWeight;
+			degree[begin]++;
+			edgeCount++;
+			snapshot = null;
+			result = true;
+		} // end if
+
+		return result;
+	} // end addEdge
+
+	public boolean addEdge(int begin, int end)
+	{
+		return addEdge(begin, end, 0);
+	} // end addEdge
+
+	/** Task: Removes the edge between two given vertices, in time
+	 *        proportional to the degree of begin. The remaining edges keep
+	 *        their order, and a vertex's arrays shrink once they are
+	 *        mostly empty.
+	 *  @return true if the edge is removed, or false if there was none */
+	public boolean removeEdge(int begin, int end)
+	{
+		boolean result = false;
+		if (isVertex(begin))
+		{
+			int[] beginTargets = targets[begin];
+			int last = degree[begin];
+			int edge = 0;
+			while ( (edge < last) && (beginTargets[edge] != end) )
+				edge++;
+
+			if (edge < last)
+			{
+				System.arraycopy(beginTargets, edge + 1, beginTargets, edge, last - edge - 1);
+				System.arraycopy(weights[begin], edge + 1, weights[begin], edge, last - edge - 1);
+				degree[begin]--;
+				if (degree[begin] == 0)
+				{
+					targets[begin] = NO_TARGETS;
+					weights[begin] = NO_WEIGHTS;
+				}
+				else if (4 * degree[begin] <= beginTargets.length)
+				{
+					targets[begin] = Arrays.copyOf(beginTargets, 2 * degree[begin]);
+					weights[begin] = Arrays.copyOf(weights[begin], 2 * degree[begin]);
+				} // end if
+
+				edgeCount--;
+				snapshot = null;
+				result = true;
+			} // end if
+		} // end if
+
+		return result;
+	} // end removeEdge
+
+	public boolean hasEdge(int begin, int end)
+	{
+		boolean found = false;
+		if (isVertex(begin) && isVertex(end))
+		{
+			int[] beginTargets = targets[begin];
+			int last = degree[begin];
+			for (int edge = 0; !found && (edge < last); edge++)
+				found = beginTargets[edge] == end;
+		} // end if
+
+		return found;
+	} // end hasEdge
+
+	/** Task: Sees whether a given number names a vertex of the graph. */
+	public boolean isVertex(int vertex)
+	{
+		return (vertex >= 0) && (vertex < numberOfVertices);
+	} // end isVertex
+
+	public boolean isEmpty()
+	{
+		return numberOfVertices == 0;
+	} // end isEmpty
+
+	public int getNumberOfVertices()
+	{
+		return numberOfVertices;
+	} // end getNumberOfVertices
+
+	public int getNumberOfEdges()
+	{
+		return edgeCount;
+	} // end getNumberOfEdges
+
+	/** Task: Gets the number of edges that leave a given vertex.
+	 *  @return the out-degree, or 0 if the number is not a vertex */
+	public int getOutDegree(int vertex)
+	{
+		return isVertex(vertex) ? degree[vertex] : 0;
+	} // end getOutDegree
+
+	public void clear()
+	{
+		allocate(DEFAULT_CAPACITY);
+	} // end clear
+
+	/** Task: Performs a breadth-first traversal of a graph.
+	 *  @param origin  the origin vertex of the traversal
+	 *  @return an array of the vertices in the order visited, beginning
+	 *          with the origin, or an empty array if origin is not a
+	 *          vertex */
+	public int[] getBreadthFirstTraversal(int origin)
+	{
+		int[] traversalOrder = NO_TARGETS;
+		if (isVertex(origin))
+		{
+			CompressedGraph graph = compress();
+			TraversalContext context = graph.getContext();
+			int count = graph.getBreadthFirstTraversal(origin, context);
+			traversalOrder = Arrays.copyOf(context.getVertexArray(), count);
+		} // end if
+
+		return traversalOrder;
+	} // end getBreadthFirstTraversal
+
+	/** Task: Performs a depth-first traversal of a graph.
+	 *  @param origin  the origin vertex of the traversal
+	 *  @return an array of the vertices in the order visited, beginning
+	 *          with the origin, or an empty array if origin is not a
+	 *          vertex */
+	public int[] getDepthFirstTraversal(int origin)
+	{
+		int[] traversalOrder = NO_TARGETS;
+		if (isVertex(origin))
+		{
+			CompressedGraph graph = compress();
+			TraversalContext context = graph.getContext();
+			int count = graph.getDepthFirstTraversal(origin, context);
+			traversalOrder = Arrays.copyOf(context.getVertexArray(), count);
+		} // end if
+
+		return traversalOrder;
+	} // end getDepthFirstTraversal
+
+	/** Task: Performs a topological sort of the vertices in a graph
+	 *        without cycles.
+	 *  @return a stack of the vertices in topological order, beginning
+	 *          with the stack's top
+	 *  @throws CyclicGraphException if the graph has a cycle */
+	public IntArrayStack getTopologicalOrder()
+	{
+		CompressedGraph graph = compress();
+		TraversalContext context = graph.getContext();
+		int count = graph.getTopologicalOrder(context);
+		IntArrayStack vertexStack = new IntArrayStack(count);
+		for (int index = 0; index < count; index++)
+			vertexStack.push(context.getVertex(index));
+
+		return vertexStack;
+	} // end getTopologicalOrder
+
+	/** Task: Finds the strongly connected components of the graph. See
+	 *        CompressedGraph.getStronglyConnectedComponents.
+	 *  @param component  an array of at least getNumberOfVertices()
+	 *                    entries that receives the number of each
+	 *                    vertex's component
+	 *  @return the number of components */
+	public int getStronglyConnectedComponents(int[] component)
+	{
+		CompressedGraph graph = compress();
+		return graph.getStronglyConnectedComponents(graph.getContext(), component);
+	} // end getStronglyConnectedComponents
+
+	/** Task: Finds the path between two given vertices that has the
+	 *        shortest length.
+	 *  Precondition: path is an empty stack (NOT null)
+	 *  @param path  a stack of the vertices along the path, with the
+	 *               origin at the stack's top
+	 *  @return the length of the path, or -1 if there is none */
+	public int getShortestPath(int begin, int end, IntArrayStack path)
+	{
+		int pathLength = -1;
+		if (isVertex(begin) && isVertex(end))
+		{
+			CompressedGraph graph = compress();
+			TraversalContext context = graph.getContext();
+			pathLength = graph.getShortestPath(begin, end, context);
+			if (pathLength >= 0)
+				pushPath(end, context, path);
+		} // end if
+
+		return pathLength;
+	} // end getShortestPath
+
+	/** Task: Finds the least-cost path between two given vertices.
+	 *  Precondition: path is an empty stack (NOT null)
+	 *  @param path  a stack of the vertices along the path, with the
+	 *               origin at the stack's top
+	 *  @return the cost of the path, or positive infinity if there is
+	 *          none */
+	public double getCheapestPath(int begin, int end, IntArrayStack path)
+	{
+		double pathCost = Double.POSITIVE_INFINITY;
+		if (isVertex(begin) && isVertex(end))
+		{
+			CompressedGraph graph = compress();
+			TraversalContext context = graph.getContext();
+			pathCost = graph.getCheapestPath(begin, end, context);
+			if (pathCost < Double.POSITIVE_INFINITY)
+				pushPath(end, context, path);
+		} // end if
+
+		return pathCost;
+	} // end getCheapestPath
+
+	/** Task: Gets the graph in compressed sparse row form, with the same
+	 *        vertex numbers. The copy is kept and returned again until the
+	 *        graph changes, so it may be searched by several threads at
+	 *        once provided none of them changes the graph meanwhile.
+	 *  @return a compressed graph with the same vertices and edges */
+	public CompressedGraph compress()
+	{
+		CompressedGraph result = snapshot;
+		if (result == null)
+		{
+			synchronized (this)
+			{
+				result = snapshot;
+				if (result == null)
+				{
+					result = createSnapshot();
+					snapshot = result;
+				} // end if
+			} // end synchronized
+		} // end if
+
+		return result;
+	} // end compress
+
+	private CompressedGraph createSnapshot()
+	{
+		int[] offsets = new int[numberOfVertices + 1];
+		for (int vertex = 0; vertex < numberOfVertices; vertex++)
+			offsets[vertex + 1] = offsets[vertex] + degree[vertex];
+
+		int[] allTargets = new int[edgeCount];
+		double[] allWeights = new double[edgeCount];
+		for (int vertex = 0; vertex < numberOfVertices; vertex++)
+		{
+			System.arraycopy(targets[vertex], 0, allTargets, offsets[vertex], degree[vertex]);
+			System.arraycopy(weights[vertex], 0, allWeights, offsets[vertex], degree[vertex]);
+		} // end for
+
+		return new CompressedGraph(offsets, allTargets, allWeights);
+	} // end createSnapshot
+
+	// pushes the vertices along the path a search recorded to end,
+	// so that the path's origin ends up on top
+	private void pushPath(int end, TraversalContext context, IntArrayStack path)
+	{
+		for (int vertex = end; vertex >= 0; vertex = context.getPredecessor(vertex))
+			path.push(vertex);
+	} // end pushPath
+
+	private void ensureCapacity(int capacity)
+	{
+		if (capacity > degree.length)
+		{
+			int newLength = Math.max(capacity, 2 * degree.length);
+			targets = Arrays.copyOf(targets, newLength);
+			weights = Arrays.copyOf(weights, newLength);
+			degree = Arrays.copyOf(degree, newLength);
+		} // end if
+	} // end ensureCapacity
+
+	private void allocate(int capacity)
+	{
+		numberOfVertices = 0;
+		targets = new int[capacity][];
+		weights = new double[capacity][];
+		degree = new int[capacity];
+		edgeCount = 0;
+		snapshot = null;
+	} // end allocate
+} // end IntDirectedGraph
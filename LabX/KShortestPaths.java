@@ -0,0 +1,526 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * A class of searches for the k cheapest loopless paths between two
+ * vertices of a CompressedGraph, by Yen's algorithm with Lawler's
+ * refinement. Each path after the first is found by leaving an earlier
+ * path at one of its vertices, the spur vertex, and searching for the
+ * cheapest way on from there that avoids the part of the earlier path
+ * before the spur vertex and the edges that the paths found so far take
+ * out of it. Those vertices and edges are masked during the spur search
+ * rather than removed from a copy of the graph.
+ *
+ * The search runs Dijkstra's algorithm backward from the destination
+ * until it reaches the origin, which gives the cheapest path, and resumes
+ * it when spur searches reach vertices it has not settled, settling no
+ * more vertices than the spur searches have removed from their queues. The
+ * settled costs are exact lower bounds on the cost of reaching the
+ * destination from those vertices, and every other vertex costs at least
+ * as much as the next one the backward search would settle. Masking
+ * vertices and edges only raises costs, so the bounds stay valid, and each
+ * spur search is an A* search guided by them. A spur search ends as soon
+ * as it meets a vertex whose cheapest path onward avoids the mask, and
+ * gives up once its path could no longer be among the k cheapest.
+ *
+ * Edge weights must be nonnegative. One search object serves one search
+ * at a time, and uses the calling thread's traversal contexts.
+ *
+ * @version 1.0
+ */
+public class KShortestPaths
+{
+	private final CompressedGraph graph;
+	private final List<int[]> paths;     // vertices of each path found, origin first
+	private final List<double[]> costs;  // cost of each path to each of its vertices
+	private TraversalContext context;    // for spur searches
+	private TraversalContext bounds;     // for the backward search from the destination
+	private double radius;               // least cost to the destination of a vertex bounds has not settled
+	private long credit;                 // vertices the backward search may yet settle for spur searches
+	private int[] blockedMark;           // currentMark if a vertex is masked
+	private int[] treeMark;              // currentMark if a vertex's path in bounds avoids the mask,
+	                                     // -currentMark if it does not
+	private int[] reachMark;             // currentMark if the walk back from the destination reached a vertex
+	private int[] pathMark;              // currentMark if a vertex is on the path in bounds from meetVertex
+	private int currentMark;
+	private int[] blockedTargets;        // ends of the masked edges out of the spur vertex
+	private int blockedCount;
+	private int destination;
+	private int meetVertex;              // where the last spur search met a path in bounds
+	private int[] reachQueue;            // of the walk back from the destination
+	private int reachFront;
+	private int reachBack;
+	private boolean isReachable;         // true once the walk back shows the spur search can succeed
+
+	/** Task: Creates a search over a given graph.
+	 *  @param graph  a graph whose edge weights are nonnegative */
+	public KShortestPaths(CompressedGraph graph)
+	{
+		this.graph = graph;
+		paths = new ArrayList<int[]>();
+		costs = new ArrayList<double[]>();
+		blockedTargets = new int[4];
+	} // end constructor
+
+	/** Task: Finds up to k cheapest loopless paths from one vertex to
+	 *        another, in ascending order of cost.
+	 *  @param begin  the paths' origin vertex
+	 *  @param end    the paths' destination vertex
+	 *  @param k      the most paths to find
+	 *  @return the number of paths found, which is less than k if there
+	 *          are fewer loopless paths */
+	public int search(int begin, int end, int k)
+	{
+		paths.clear();
+		costs.clear();
+		destination = end;
+		if ( (k > 0) && findFirstPath(begin) )
+		{
+			PriorityQueue<Candidate> candidates = new PriorityQueue<Candidate>(11, new Comparator<Candidate>()
+			{
+				public int compare(Candidate first, Candidate second)
+				{
+					return Double.compare(first.getCost(), second.getCost());
+				} // end compare
+			});
+			Set<Candidate> seen = new HashSet<Candidate>();
+			// costs of the needed cheapest candidates, the most costly first
+			PriorityQueue<Double> cheapestCosts = new PriorityQueue<Double>(11, Collections.<Double>reverseOrder());
+			int[] deviations = new int[k]; // index of the spur vertex at which each path left the one before
+			int numberOfVertices = graph.getNumberOfVertices();
+			blockedMark = new int[numberOfVertices];
+			treeMark = new int[numberOfVertices];
+			reachMark = new int[numberOfVertices];
+			pathMark = new int[numberOfVertices];
+			currentMark = 0;
+			boolean done = false;
+
+			while (!done && (paths.size() < k))
+			{
+				int last = paths.size() - 1;
+				int[] previousPath = paths.get(last);
+				double[] previousCosts = costs.get(last);
+
+				// leaving at an earlier spur vertex gives the candidates that
+				// leaving the path before previousPath there gave
+				for (int spurIndex = deviations[last]; spurIndex < previousPath.length - 1; spurIndex++)
+				{
+					maskRoot(previousPath, spurIndex);
+					double limit = getLimit(cheapestCosts, k - paths.size()) - previousCosts[spurIndex];
+					if (searchSpur(previousPath[spurIndex], limit) < Double.POSITIVE_INFINITY)
+					{
+						Candidate candidate = new Candidate(previousPath, previousCosts, spurIndex);
+						if (seen.add(candidate))
+						{
+							candidates.add(candidate);
+							keepCost(cheapestCosts, candidate.getCost(), k - paths.size());
+						} // end if
+					} // end if
+				} // end for
+
+				if (candidates.isEmpty())
+					done = true;
+				else
+				{
+					// the cheapest candidate's cost is among the needed cheapest,
+					// and one fewer candidate is needed once it becomes a path
+					Candidate best = candidates.remove();
+					cheapestCosts.remove(best.getCost());
+					deviations[paths.size()] = best.spurIndex;
+					paths.add(best.vertices);
+					costs.add(best.costs);
+				} // end if
+			} // end while
+		} // end if
+
+		return paths.size();
+	} // end search
+
+	/** Task: Gets a path found by the last search.
+	 *  @param index  the position of the path in ascending order of cost
+	 *  @return the path's vertices, origin first */
+	public int[] getPath(int index)
+	{
+		return paths.get(index);
+	} // end getPath
+
+	public double getCost(int index)
+	{
+		double[] pathCosts = costs.get(index);
+		return pathCosts[pathCosts.length - 1];
+	} // end getCost
+
+	// starts the backward search and runs it until it settles begin; the
+	// predecessors it records then lead from begin to the destination
+	private boolean findFirstPath(int begin)
+	{
+		context = graph.getContext();
+		bounds = context.getReverseContext();
+		bounds.reset(graph.getNumberOfVertices());
+		bounds.visit(destination);
+		bounds.setCost(destination, 0);
+		bounds.setPredecessor(destination, -1);
+		bounds.getPriorityQueue().add(destination, 0);
+		credit = Long.MAX_VALUE;
+		extendBounds(begin, Double.POSITIVE_INFINITY);
+		credit = 0;
+
+		boolean found = isSettled(begin);
+		if (found)
+		{
+			int length = 0;
+			for (int vertex = begin; vertex >= 0; vertex = bounds.getPredecessor(vertex))
+				length++;
+
+			int[] vertices = new int[length];
+			double[] pathCosts = new double[length];
+			double pathCost = bounds.getCost(begin);
+			int index = 0;
+			for (int vertex = begin; vertex >= 0; vertex = bounds.getPredecessor(vertex))
+			{
+				vertices[index] = vertex;
+				pathCosts[index] = pathCost - bounds.getCost(vertex);
+				index++;
+			} // end for
+
+			paths.add(vertices);
+			costs.add(pathCosts);
+		} // end if
+
+		return found;
+	} // end findFirstPath
+
+	// resumes the backward search until it settles a given vertex, or the
+	// costs of the vertices it has not settled exceed a given radius, or it
+	// has used its credit, or it runs out of vertices, in which case no
+	// vertex it has not settled can reach the destination
+	private void extendBounds(int vertex, double newRadius)
+	{
+		CompressedGraph backwardGraph = graph.getReverse();
+		IndexedMinHeap priorityQueue = bounds.getPriorityQueue();
+		while (!priorityQueue.isEmpty() && !isSettled(vertex) &&
+		       (priorityQueue.getMinPriority() <= newRadius) && (credit > 0))
+		{
+			int frontVertex = priorityQueue.removeMin();
+			credit--;
+			double frontCost = bounds.getCost(frontVertex);
+			int last = backwardGraph.getEndEdge(frontVertex);
+			for (int edge = backwardGraph.getFirstEdge(frontVertex); edge < last; edge++)
+			{
+				int nextNeighbor = backwardGraph.getEdgeTarget(edge);
+				double nextCost = frontCost + backwardGraph.getEdgeWeight(edge);
+				if (!bounds.isVisited(nextNeighbor))
+				{
+					bounds.visit(nextNeighbor);
+					bounds.setCost(nextNeighbor, nextCost);
+					bounds.setPredecessor(nextNeighbor, frontVertex);
+					priorityQueue.add(nextNeighbor, nextCost);
+				}
+				else if (nextCost < bounds.getCost(nextNeighbor))
+				{
+					bounds.setCost(nextNeighbor, nextCost);
+					bounds.setPredecessor(nextNeighbor, frontVertex);
+					priorityQueue.decreasePriority(nextNeighbor, nextCost);
+				} // end if
+			} // end for
+		} // end while
+
+		radius = priorityQueue.isEmpty() ? Double.POSITIVE_INFINITY : priorityQueue.getMinPriority();
+	} // end extendBounds
+
+	// sees whether the backward search has found the cheapest path from vertex
+	private boolean isSettled(int vertex)
+	{
+		return bounds.isVisited(vertex) && !bounds.getPriorityQueue().contains(vertex);
+	} // end isSettled
+
+	// gets a lower bound on the cost of a path from vertex to the destination
+	private double getBound(int vertex)
+	{
+		return isSettled(vertex) ? bounds.getCost(vertex) : radius;
+	} // end getBound
+
+	// gets the greatest cost a new candidate can have and still be among the
+	// needed cheapest paths, given the costs of the needed cheapest
+	// candidates so far
+	private static double getLimit(PriorityQueue<Double> cheapestCosts, int needed)
+	{
+		return (cheapestCosts.size() >= needed) ? cheapestCosts.peek() : Double.POSITIVE_INFINITY;
+	} // end getLimit
+
+	// keeps the cost of a new candidate if it is among the needed cheapest,
+	// in logarithmic time
+	private static void keepCost(PriorityQueue<Double> cheapestCosts, double cost, int needed)
+	{
+		if (cheapestCosts.size() < needed)
+			cheapestCosts.add(cost);
+		else if (cost < cheapestCosts.peek())
+		{
+			cheapestCosts.poll();
+			cheapestCosts.add(cost);
+		} // end if
+	} // end keepCost
+
+	// masks the vertices of path before spurIndex, and the edges out of the
+	// spur vertex that the paths found so far take after the same root
+	private void maskRoot(int[] path, int spurIndex)
+	{
+		currentMark++;
+		for (int index = 0; index < spurIndex; index++)
+			blockedMark[path[index]] = currentMark;
+
+		blockedCount = 0;
+		for (int[] other : paths)
+		{
+			if ( (other.length > spurIndex + 1) && startsWith(other, path, spurIndex + 1) )
+			{
+				if (blockedCount == blockedTargets.length)
+					blockedTargets = Arrays.copyOf(blockedTargets, 2 * blockedCount);
+				blockedTargets[blockedCount++] = other[spurIndex + 1];
+			} // end if
+		} // end for
+	} // end maskRoot
+
+	// sees whether two paths share their first length vertices
+	private static boolean startsWith(int[] path, int[] prefix, int length)
+	{
+		boolean result = true;
+		for (int index = 0; result && (index < length); index++)
+			result = path[index] == prefix[index];
+
+		return result;
+	} // end startsWith
+
+	private boolean isBlockedEdge(int target)
+	{
+		boolean result = false;
+		for (int index = 0; !result && (index < blockedCount); index++)
+			result = blockedTargets[index] == target;
+
+		return result;
+	} // end isBlockedEdge
+
+	// sees whether the cheapest path from a vertex settled by bounds to the
+	// destination avoids the masked vertices and edges and the spur vertex,
+	// labeling the vertices on the way so that each is walked once per mask
+	private boolean isUnmaskedTree(int vertex, int spurVertex)
+	{
+		// the spur vertex is not labeled, since its path leaves by an edge
+		// that may be masked
+		int first = (vertex == spurVertex) ? bounds.getPredecessor(vertex) : vertex;
+		boolean result = false;
+		if ( (vertex != spurVertex) || !isBlockedEdge(first) )
+		{
+			int stop = first;
+			while ( (stop >= 0) && (Math.abs(treeMark[stop]) != currentMark) &&
+			        (blockedMark[stop] != currentMark) && (stop != spurVertex) )
+				stop = bounds.getPredecessor(stop);
+
+			result = (stop < 0) || (treeMark[stop] == currentMark);
+			int label = result ? currentMark : -currentMark;
+			for (int next = first; next != stop; next = bounds.getPredecessor(next))
+				treeMark[next] = label;
+		} // end if
+
+		return result;
+	} // end isUnmaskedTree
+
+	// finds the cheapest path from spurVertex to the destination around the
+	// masked vertices and edges, by A* with the bounds of the backward
+	// search; the path ends once it meets a vertex whose path in bounds
+	// avoids the mask, since with an exact bound that path is the cheapest
+	// way on. Reaching a vertex the backward search has not settled resumes
+	// that search, and a vertex whose bound has grown since it was queued
+	// waits its turn again at its new priority. Gives up if the path would cost more
+	// than limit, or if a walk back from the destination, a step of which
+	// is taken for each vertex the search removes from its queue, runs out
+	// of vertices first: the mask may cut the spur vertex off from the
+	// destination, and then whichever side of the cut is smaller bounds
+	// the work.
+	private double searchSpur(int spurVertex, double limit)
+	{
+		context.reset(graph.getNumberOfVertices());
+		IndexedMinHeap priorityQueue = context.getPriorityQueue();
+		context.visit(spurVertex);
+		context.setCost(spurVertex, 0);
+		context.setPredecessor(spurVertex, -1);
+		priorityQueue.add(spurVertex, getBound(spurVertex));
+		double result = Double.POSITIVE_INFINITY;
+
+		reachQueue = context.getVertexArray();
+		reachQueue[0] = destination;
+		reachMark[destination] = currentMark;
+		reachFront = 0;
+		reachBack = 1;
+		isReachable = false;
+
+		while ( (result == Double.POSITIVE_INFINITY) && !priorityQueue.isEmpty() &&
+		        (priorityQueue.getMinPriority() <= limit) && (isReachable || stepBack(spurVertex)) )
+		{
+			double priority = priorityQueue.getMinPriority();
+			int frontVertex = priorityQueue.removeMin();
+			double frontCost = context.getCost(frontVertex);
+			credit++;
+			if (!isSettled(frontVertex))
+			{
+				// grow the bounds only as far as needed to order this vertex
+				// after the next one or past the limit, or to settle it, and
+				// by no more work than the spur searches have done
+				double nextPriority = priorityQueue.isEmpty() ? limit
+				                      : Math.min(priorityQueue.getMinPriority(), limit);
+				if (nextPriority < Double.POSITIVE_INFINITY)
+					extendBounds(frontVertex, nextPriority - frontCost);
+			} // end if
+
+			double estimate = frontCost + getBound(frontVertex);
+			if (estimate > priority)
+			{
+				if (estimate < Double.POSITIVE_INFINITY)
+					priorityQueue.add(frontVertex, estimate);
+			}
+			else if (isSettled(frontVertex) && isUnmaskedTree(frontVertex, spurVertex))
+			{
+				meetVertex = frontVertex;
+				result = estimate;
+			}
+			else
+			{
+				int last = graph.getEndEdge(frontVertex);
+				for (int edge = graph.getFirstEdge(frontVertex); edge < last; edge++)
+				{
+					int nextNeighbor = graph.getEdgeTarget(edge);
+					if ( (blockedMark[nextNeighbor] != currentMark) &&
+					     ((frontVertex != spurVertex) || !isBlockedEdge(nextNeighbor)) )
+					{
+						double nextCost = frontCost + graph.getEdgeWeight(edge);
+						if (!context.isVisited(nextNeighbor))
+						{
+							context.visit(nextNeighbor);
+							context.setCost(nextNeighbor, nextCost);
+							context.setPredecessor(nextNeighbor, frontVertex);
+							priorityQueue.add(nextNeighbor, nextCost + getBound(nextNeighbor));
+						}
+						else if (nextCost < context.getCost(nextNeighbor))
+						{
+							context.setCost(nextNeighbor, nextCost);
+							context.setPredecessor(nextNeighbor, frontVertex);
+							priorityQueue.addOrDecrease(nextNeighbor, nextCost + getBound(nextNeighbor));
+						} // end if
+					} // end if
+				} // end for
+			} // end if
+		} // end while
+
+		return result;
+	} // end searchSpur
+
+	// takes a step of the walk back from the destination around the masked
+	// vertices and edges, noting if it meets a vertex the spur search has
+	// reached; returns false if the walk has run out of vertices without
+	// doing so
+	private boolean stepBack(int spurVertex)
+	{
+		boolean result = reachFront < reachBack;
+		if (result)
+		{
+			CompressedGraph backwardGraph = graph.getReverse();
+			int frontVertex = reachQueue[reachFront++];
+			int last = backwardGraph.getEndEdge(frontVertex);
+			for (int edge = backwardGraph.getFirstEdge(frontVertex); !isReachable && (edge < last); edge++)
+			{
+				int nextNeighbor = backwardGraph.getEdgeTarget(edge);
+				if ( (blockedMark[nextNeighbor] != currentMark) && (reachMark[nextNeighbor] != currentMark) &&
+				     ((nextNeighbor != spurVertex) || !isBlockedEdge(frontVertex)) )
+				{
+					if (context.isVisited(nextNeighbor))
+						isReachable = true;
+					else
+					{
+						reachMark[nextNeighbor] = currentMark;
+						reachQueue[reachBack++] = nextNeighbor;
+					} // end if
+				} // end if
+			} // end for
+		} // end if
+
+		return result;
+	} // end stepBack
+
+	// a path made of the root of an earlier path, the spur path the last
+	// spur search found, and the path in bounds on from where it ended.
+	// The last two can share a vertex if the spur search went through it
+	// before the backward search settled it; the cycle between costs
+	// nothing, since the spur search's bound shows the whole is no dearer
+	// than the cheapest loopless way, so the path leaves the spur path at
+	// the first vertex it shares.
+	private class Candidate
+	{
+		private final int[] vertices;
+		private final double[] costs;
+		private final int spurIndex;
+
+		private Candidate(int[] rootPath, double[] rootCosts, int spurIndex)
+		{
+			this.spurIndex = spurIndex;
+			for (int vertex = meetVertex; vertex >= 0; vertex = bounds.getPredecessor(vertex))
+				pathMark[vertex] = currentMark;
+
+			int spurLength = 0;
+			for (int vertex = meetVertex; vertex >= 0; vertex = context.getPredecessor(vertex))
+				spurLength++;
+			int[] spurPath = new int[spurLength];
+			int index = spurLength;
+			for (int vertex = meetVertex; vertex >= 0; vertex = context.getPredecessor(vertex))
+				spurPath[--index] = vertex;
+
+			int joinIndex = 0;
+			while (pathMark[spurPath[joinIndex]] != currentMark)
+				joinIndex++;
+			int joinVertex = spurPath[joinIndex];
+
+			int treeLength = 0;
+			for (int vertex = bounds.getPredecessor(joinVertex); vertex >= 0; vertex = bounds.getPredecessor(vertex))
+				treeLength++;
+
+			int length = spurIndex + joinIndex + 1 + treeLength;
+			vertices = Arrays.copyOf(rootPath, length);
+			costs = Arrays.copyOf(rootCosts, length);
+			index = spurIndex;
+			for (int spurPosition = 0; spurPosition <= joinIndex; spurPosition++)
+			{
+				vertices[index] = spurPath[spurPosition];
+				costs[index] = rootCosts[spurIndex] + context.getCost(spurPath[spurPosition]);
+				index++;
+			} // end for
+
+			double joinCost = costs[index - 1] + bounds.getCost(joinVertex);
+			for (int vertex = bounds.getPredecessor(joinVertex); vertex >= 0; vertex = bounds.getPredecessor(vertex))
+			{
+				vertices[index] = vertex;
+				costs[index] = joinCost - bounds.getCost(vertex);
+				index++;
+			} // end for
+		} // end constructor
+
+		private double getCost()
+		{
+			return costs[costs.length - 1];
+		} // end getCost
+
+		public boolean equals(Object other)
+		{
+			return (other instanceof Candidate) && Arrays.equals(vertices, ((Candidate)other).vertices);
+		} // end equals
+
+		public int hashCode()
+		{
+			return Arrays.hashCode(vertices);
+		} // end hashCode
+	} // end Candidate
+} // end KShortestPaths
@@ -0,0 +1,148 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.Stack;
+
+/**
+ * A driver that checks FrozenDirectedGraph.getKCheapestPaths against brute
+ * force. Each trial builds a small random graph, whose weights include
+ * zero so that ties and zero-cost cycles occur, and enumerates every
+ * loopless path between two of its vertices. The k paths found must have
+ * the k least of those costs, be distinct and loopless, and follow edges
+ * of the graph whose weights add up to their costs.
+ *
+ * Usage: java KShortestPathsDriver [trials [seed]]
+ * Trial i uses the seed plus i, so a failing trial, which is printed with
+ * its seed, can be run alone with a trial count of 1 and that seed.
+ *
+ * @version 1.0
+ */
+public class KShortestPathsDriver
+{
+	private static final int MAX_VERTICES = 10;
+	private static final int MAX_K = 12;
+
+	public static void main(String[] args)
+	{
+		int trials = (args.length > 0) ? Integer.parseInt(args[0]) : 20000;
+		long seed = (args.length > 1) ? Long.parseLong(args[1]) : 7;
+
+		int failures = 0;
+		for (int trial = 0; trial < trials; trial++)
+		{
+			String failure = check(seed + trial);
+			if (failure != null)
+			{
+				failures++;
+				System.out.println("seed " + (seed + trial) + ": " + failure);
+			} // end if
+		} // end for
+
+		System.out.println(trials + " trials, " + failures + " failed");
+		if (failures > 0)
+			System.exit(1);
+	} // end main
+
+	/** Task: Runs one trial.
+	 *  @return a description of the first error found, or null if none */
+	private static String check(long seed)
+	{
+		Random generator = new Random(seed);
+		int size = 2 + generator.nextInt(MAX_VERTICES - 1);
+		double[][] weight = new double[size][size]; // NaN where there is no edge
+		for (double[] row : weight)
+			Arrays.fill(row, Double.NaN);
+
+		DirectedGraph<Integer> graph = new DirectedGraph<Integer>();
+		for (int vertex = 0; vertex < size; vertex++)
+			graph.addVertex(vertex);
+
+		int edgeCount = generator.nextInt(size * size);
+		for (int edge = 0; edge < edgeCount; edge++)
+		{
+			int begin = generator.nextInt(size);
+			int end = generator.nextInt(size);
+			double edgeWeight = generator.nextInt(5);
+			if (graph.addEdge(begin, end, edgeWeight))
+				weight[begin][end] = edgeWeight;
+		} // end for
+
+		int origin = generator.nextInt(size);
+		int destination = generator.nextInt(size);
+		int k = 1 + generator.nextInt(MAX_K);
+
+		List<Double> allCosts = new ArrayList<Double>();
+		boolean[] onPath = new boolean[size];
+		onPath[origin] = true;
+		enumerate(weight, origin, destination, onPath, 0, allCosts);
+		Collections.sort(allCosts);
+
+		List<WeightedPath<Integer>> found = graph.getKCheapestPaths(origin, destination, k);
+		int expected = Math.min(k, allCosts.size());
+		String failure = null;
+		if (found.size() != expected)
+			failure = "found " + found.size() + " paths of " + expected;
+
+		Set<List<Integer>> seen = new HashSet<List<Integer>>();
+		for (int index = 0; (failure == null) && (index < expected); index++)
+		{
+			WeightedPath<Integer> path = found.get(index);
+			List<Integer> vertices = path.getVertices();
+			if (path.getCost() != allCosts.get(index))
+				failure = "path " + index + " " + path + " should cost " + allCosts.get(index);
+			else if (!seen.add(vertices))
+				failure = "path " + path + " found twice";
+			else if ( (vertices.get(0) != origin) || (vertices.get(vertices.size() - 1) != destination) )
+				failure = "path " + path + " has the wrong ends";
+			else if (new HashSet<Integer>(vertices).size() != vertices.size())
+				failure = "path " + path + " has a loop";
+			else if (getCost(weight, vertices) != path.getCost())
+				failure = "path " + path + " does not follow edges of its cost";
+			else
+			{
+				Stack<Integer> stack = new Stack<Integer>();
+				path.getPath(stack);
+				if (stack.peek() != origin)
+					failure = "path " + path + " is not pushed origin on top";
+			} // end if
+		} // end for
+
+		return failure;
+	} // end check
+
+	/** Task: Adds the cost of every loopless path from vertex to end that
+	 *        avoids the vertices on the path so far. */
+	private static void enumerate(double[][] weight, int vertex, int end, boolean[] onPath,
+	                              double cost, List<Double> allCosts)
+	{
+		if (vertex == end)
+			allCosts.add(cost);
+		else
+		{
+			for (int next = 0; next < weight.length; next++)
+			{
+				if (!Double.isNaN(weight[vertex][next]) && !onPath[next])
+				{
+					onPath[next] = true;
+					enumerate(weight, next, end, onPath, cost + weight[vertex][next], allCosts);
+					onPath[next] = false;
+				} // end if
+			} // end for
+		} // end if
+	} // end enumerate
+
+	/** Task: Adds up the weights along a path.
+	 *  @return the cost, or NaN if a step is not an edge */
+	private static double getCost(double[][] weight, List<Integer> vertices)
+	{
+		double cost = 0;
+		for (int index = 1; index < vertices.size(); index++)
+			cost += weight[vertices.get(index - 1)][vertices.get(index)];
+
+		return cost;
+	} // end getCost
+} // end KShortestPathsDriver
@@ -11,6 +11,7 @@ public class LinkedListWithIterator<T>
              implements ListWithIteratorInterface<T>
 {
 	private Node firstNode; // reference to first node
+	private Node lastNode;  // reference to last node, so add(newEntry) need not walk the chain
 	private int  length;  	// number of entries in list
   
 	public LinkedListWithIterator()
@@ -21,6 +22,7 @@ public class LinkedListWithIterator<T>
 	public final void clear() // NOTICE clear cannot be final in interface
 	{
 		firstNode = null;
+		lastNode = null;
 		length = 0;
 	} // end clear
   
@@ -31,11 +33,9 @@ public class LinkedListWithIterator<T>
 		if (isEmpty())
 			firstNode = newNode;
 		else                                // add to end of nonempty list
-		{
-			Node lastNode = getNodeAt(length);
 			lastNode.next = newNode;		      // make last node reference new node
-		} // end if	
 		
+		lastNode = newNode;
 		length++;
 		return true;
 	}  // end add
@@ -61,6 +61,8 @@ public class LinkedListWithIterator<T>
 				nodeBefore.next = newNode;
 			} // end if	
 		
+			if (newNode.next == null)                   // new node is at the end
+				lastNode = newNode;
 			length++;
 		}
 		else
@@ -81,6 +83,8 @@ public class LinkedListWithIterator<T>
 	    {
 	      result = firstNode.data;     // save entry to be removed 
 	      firstNode = firstNode.next;
+	      if (firstNode == null)       // list is now empty
+	        lastNode = null;
 	    }
 	    else                           // case 2: givenPosition > 1
 	    {
@@ -89,6 +93,8 @@ public class LinkedListWithIterator<T>
 	      Node nodeAfter = nodeToRemove.next;
 	      nodeBefore.next = nodeAfter; // disconnect the node to be removed
 	      result = nodeToRemove.data;  // save entry to be removed
+	      if (nodeAfter == null)       // last node was removed
+	        lastNode = nodeBefore;
 	    } // end if
 	    
 	    length--;
@@ -0,0 +1,66 @@
+/**
+ * A class of compressed graphs whose edge arrays stay in a graph file
+ * mapped into memory, rather than on the heap. Searches read the pages
+ * they touch directly, so opening a graph costs no time in proportion to
+ * its size. Instances are created by MappedDirectedGraph.open.
+ *
+ * Serializing a mapped graph writes an ordinary CompressedGraph with the
+ * same edges.
+ *
+ * @version 1.0
+ */
+class MappedCompressedGraph extends CompressedGraph
+{
+	private final MappedRegion offsets;  // numberOfVertices + 1 ints
+	private final MappedRegion targets;  // one int per edge
+	private final MappedRegion weights;  // one double per edge
+
+	MappedCompressedGraph(int numberOfVertices, int numberOfEdges, MappedRegion offsets,
+	                      MappedRegion targets, MappedRegion weights)
+	{
+		super(numberOfVertices, numberOfEdges);
+		this.offsets = offsets;
+		this.targets = targets;
+		this.weights = weights;
+	} // end constructor
+
+	public int getFirstEdge(int vertex)
+	{
+		return offsets.getInt(4L * vertex);
+	} // end getFirstEdge
+
+	public int getEndEdge(int vertex)
+	{
+		return offsets.getInt(4L * (vertex + 1));
+	} // end getEndEdge
+
+	public int getEdgeTarget(int edge)
+	{
+		return targets.getInt(4L * edge);
+	} // end getEdgeTarget
+
+	public double getEdgeWeight(int edge)
+	{
+		return weights.getDouble(8L * edge);
+	} // end getEdgeWeight
+
+	// serializes a copy of the edges held on the heap
+	private Object writeReplace()
+	{
+		int numberOfVertices = getNumberOfVertices();
+		int numberOfEdges = getNumberOfEdges();
+		int[] offsetArray = new int[numberOfVertices + 1];
+		for (int vertex = 0; vertex <= numberOfVertices; vertex++)
+			offsetArray[vertex] = offsets.getInt(4L * vertex);
+
+		int[] targetArray = new int[numberOfEdges];
+		double[] weightArray = new double[numberOfEdges];
+		for (int edge = 0; edge < numberOfEdges; edge++)
+		{
+			targetArray[edge] = getEdgeTarget(edge);
+			weightArray[edge] = getEdgeWeight(edge);
+		} // end for
+
+		return new CompressedGraph(offsetArray, targetArray, weightArray);
+	} // end writeReplace
+} // end MappedCompressedGraph
@@ -0,0 +1,143 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A class of frozen directed graphs read from a file written by
+ * GraphWriter. The file is mapped into memory rather than read, so opening
+ * even a very large graph takes only as long as mapping it, and the pages
+ * of edges and labels are loaded by the operating system as searches touch
+ * them. The labels are the strings that were written; a label is found by
+ * binary search of the file's sorted label index.
+ *
+ * A mapping lasts until the graph is garbage collected, even after the
+ * file is deleted. Serializing a mapped graph writes an ordinary
+ * FrozenDirectedGraph with the same labels and edges.
+ *
+ * @version 1.0
+ */
+public class MappedDirectedGraph extends FrozenDirectedGraph<String>
+{
+	private final MappedRegion labelPositions; // numberOfVertices + 1 longs
+	private final MappedRegion sortedVertices; // vertices in order of their labels
+	private final MappedRegion labelText;      // UTF-8 bytes of the labels
+
+	private MappedDirectedGraph(CompressedGraph graph, MappedRegion labelPositions,
+	                            MappedRegion sortedVertices, MappedRegion labelText)
+	{
+		super(graph);
+		this.labelPositions = labelPositions;
+		this.sortedVertices = sortedVertices;
+		this.labelText = labelText;
+	} // end constructor
+
+	/** Task: Opens a graph file written by GraphWriter.
+	 *  @param file  the path of the file
+	 *  @return the graph in the file
+	 *  @throws IOException if the file cannot be read or is not a graph
+	 *          file of this version */
+	public static MappedDirectedGraph open(Path file) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+		{
+			ByteBuffer header = ByteBuffer.allocate(GraphWriter.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			int bytesRead = 0;
+			while (header.hasRemaining() && (bytesRead >= 0))
+				bytesRead = channel.read(header);
+			header.flip();
+			if ( (header.remaining() < GraphWriter.HEADER_SIZE) ||
+			     (header.getInt() != GraphWriter.MAGIC) )
+				throw new IOException(file + " is not a graph file");
+
+			int version = header.getInt();
+			if (version != GraphWriter.VERSION)
+				throw new IOException(file + " has unsupported graph file version " + version);
+
+			int numberOfVertices = header.getInt();
+			int numberOfEdges = header.getInt();
+			long labelLength = header.getLong();
+			long[] layout = GraphWriter.getLayout(numberOfVertices, numberOfEdges, labelLength);
+			if (channel.size() != layout[6])
+				throw new IOException(file + " has " + channel.size() + " bytes; expected " + layout[6]);
+
+			MappedRegion labelPositions = new MappedRegion(channel, layout[0], layout[1] - layout[0]);
+			MappedRegion sortedVertices = new MappedRegion(channel, layout[1], layout[2] - layout[1]);
+			MappedRegion labelText = new MappedRegion(channel, layout[2], labelLength);
+			MappedRegion offsets = new MappedRegion(channel, layout[3], layout[4] - layout[3]);
+			MappedRegion targets = new MappedRegion(channel, layout[4], 4L * numberOfEdges);
+			MappedRegion weights = new MappedRegion(channel, layout[5], layout[6] - layout[5]);
+
+			CompressedGraph graph = new MappedCompressedGraph(numberOfVertices, numberOfEdges,
+			                                                  offsets, targets, weights);
+			return new MappedDirectedGraph(graph, labelPositions, sortedVertices, labelText);
+		} // end try
+	} // end open
+
+	/** Task: Gets the number of the vertex that has a given label.
+	 *  @param vertexLabel  a string that labels a vertex
+	 *  @return the vertex number, or -1 if no vertex has the label */
+	public int getVertexId(String vertexLabel)
+	{
+		int result = -1;
+		if (vertexLabel != null)
+		{
+			byte[] key = vertexLabel.getBytes(StandardCharsets.UTF_8);
+			int first = 0;
+			int last = getNumberOfVertices() - 1;
+			while ( (result < 0) && (first <= last) )
+			{
+				int middle = (first + last) >>> 1;
+				int vertex = sortedVertices.getInt(4L * middle);
+				int comparison = compareToLabel(key, vertex);
+				if (comparison == 0)
+					result = vertex;
+				else if (comparison < 0)
+					last = middle - 1;
+				else
+					first = middle + 1;
+			} // end while
+		} // end if
+
+		return result;
+	} // end getVertexId
+
+	public String getLabel(int vertex)
+	{
+		long start = labelPositions.getLong(8L * vertex);
+		long end = labelPositions.getLong(8L * (vertex + 1));
+		byte[] text = new byte[(int)(end - start)];
+		labelText.getBytes(start, text);
+		return new String(text, StandardCharsets.UTF_8);
+	} // end getLabel
+
+	// compares UTF-8 bytes with a vertex's label in the file, in the order
+	// GraphWriter.compareLabels sorted the labels
+	private int compareToLabel(byte[] key, int vertex)
+	{
+		long start = labelPositions.getLong(8L * vertex);
+		long length = labelPositions.getLong(8L * (vertex + 1)) - start;
+		int shorter = (int)Math.min(key.length, length);
+		for (int index = 0; index < shorter; index++)
+		{
+			int difference = (key[index] & 0xFF) - (labelText.getByte(start + index) & 0xFF);
+			if (difference != 0)
+				return difference;
+		} // end for
+
+		return Long.signum(key.length - length);
+	} // end compareToLabel
+
+	// serializes a copy of the graph held on the heap
+	private Object writeReplace()
+	{
+		String[] labels = new String[getNumberOfVertices()];
+		for (int vertex = 0; vertex < labels.length; vertex++)
+			labels[vertex] = getLabel(vertex);
+
+		return new FrozenDirectedGraph<String>(labels, getCompressedGraph());
+	} // end writeReplace
+} // end MappedDirectedGraph
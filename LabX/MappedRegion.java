@@ -0,0 +1,82 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * A class of read-only views of part of a file, mapped into memory with
+ * FileChannel.map. A single mapping cannot exceed 2 GB, so the part is
+ * mapped as consecutive segments of 1 GB; a value whose size divides
+ * 1 GB and whose position is a multiple of its size never spans two
+ * segments. Values are little-endian.
+ *
+ * @version 1.0
+ */
+class MappedRegion
+{
+	private static final int SEGMENT_SHIFT = 30;
+	private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+	private static final int SEGMENT_MASK = (int)(SEGMENT_SIZE - 1);
+
+	private final ByteBuffer[] segments;
+	private final long size;
+
+	/** Task: Maps part of a file.
+	 *  @param channel   a channel open for reading the file
+	 *  @param position  the position in the file where the part begins
+	 *  @param size      the number of bytes in the part */
+	MappedRegion(FileChannel channel, long position, long size) throws IOException
+	{
+		this.size = size;
+		segments = new ByteBuffer[(int)((size + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT)];
+		for (int index = 0; index < segments.length; index++)
+		{
+			long start = (long)index << SEGMENT_SHIFT;
+			long length = Math.min(SEGMENT_SIZE, size - start);
+			ByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, position + start, length);
+			segments[index] = segment.order(ByteOrder.LITTLE_ENDIAN);
+		} // end for
+	} // end constructor
+
+	long getSize()
+	{
+		return size;
+	} // end getSize
+
+	byte getByte(long position)
+	{
+		return segments[(int)(position >>> SEGMENT_SHIFT)].get((int)position & SEGMENT_MASK);
+	} // end getByte
+
+	int getInt(long position)
+	{
+		return segments[(int)(position >>> SEGMENT_SHIFT)].getInt((int)position & SEGMENT_MASK);
+	} // end getInt
+
+	long getLong(long position)
+	{
+		return segments[(int)(position >>> SEGMENT_SHIFT)].getLong((int)position & SEGMENT_MASK);
+	} // end getLong
+
+	double getDouble(long position)
+	{
+		return segments[(int)(position >>> SEGMENT_SHIFT)].getDouble((int)position & SEGMENT_MASK);
+	} // end getDouble
+
+	/** Task: Copies bytes that may span segments into an array.
+	 *  @param position     the position of the first byte in this region
+	 *  @param destination  the array to fill */
+	void getBytes(long position, byte[] destination)
+	{
+		int copied = 0;
+		while (copied < destination.length)
+		{
+			long next = position + copied;
+			ByteBuffer segment = segments[(int)(next >>> SEGMENT_SHIFT)].duplicate();
+			segment.position((int)next & SEGMENT_MASK);
+			int length = Math.min(destination.length - copied, segment.remaining());
+			segment.get(destination, copied, length);
+			copied += length;
+		} // end while
+	} // end getBytes
+} // end MappedRegion
@@ -0,0 +1,473 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A class of minimum spanning trees of a weighted graph whose edges are
+ * taken to join their vertices in either direction: the edges of least
+ * total weight that connect every vertex to every other vertex it has a
+ * path to. If the graph is not connected, the edges form a minimum
+ * spanning forest with one tree for each connected component.
+ *
+ * The trees are found on a frozen graph by Kruskal's algorithm, by Prim's
+ * algorithm or, for very large graphs, by Boruvka's algorithm with each
+ * round run in parallel on a ForkJoinPool. All three give trees of the
+ * same total weight, though the edges may differ when weights are equal.
+ *
+ * @version 1.0
+ */
+public class MinimumSpanningTree<T> implements java.io.Serializable
+{
+	private static final int SEQUENTIAL_THRESHOLD = 8192; // edges per Boruvka task
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	private final FrozenDirectedGraph<T> graph;
+	private final int[] treeBegin;     // origin of each tree edge, as in the graph
+	private final int[] treeEnd;       // end of each tree edge
+	private final double[] treeWeight; // weight of each tree edge
+	private final int numberOfEdges;
+	private final double totalWeight;
+
+	private MinimumSpanningTree(FrozenDirectedGraph<T> graph, int[] treeBegin, int[] treeEnd,
+	                            double[] treeWeight, int numberOfEdges)
+	{
+		this.graph = graph;
+		this.treeBegin = treeBegin;
+		this.treeEnd = treeEnd;
+		this.treeWeight = treeWeight;
+		this.numberOfEdges = numberOfEdges;
+
+		double sum = 0;
+		for (int edge = 0; edge < numberOfEdges; edge++)
+			sum += treeWeight[edge];
+		totalWeight = sum;
+	} // end constructor
+
+	/** Task: Finds a minimum spanning tree by Kruskal's algorithm: the
+	 *        edges are sorted by weight in primitive arrays and taken in
+	 *        that order whenever they join two different trees, which
+	 *        disjoint sets tell. Takes time proportional to e log e for a
+	 *        graph of e edges.
+	 *  @param graph  the graph to span
+	 *  @return the tree, or forest if the graph is not connected */
+	static <T> MinimumSpanningTree<T> kruskal(FrozenDirectedGraph<T> graph)
+	{
+		CompressedGraph edges = graph.getCompressedGraph();
+		int numberOfVertices = edges.getNumberOfVertices();
+		int totalEdges = edges.getNumberOfEdges();
+		int[] origin = getOrigins(edges);
+
+		int[] order = new int[totalEdges];
+		double[] sortedWeights = new double[totalEdges];
+		for (int edge = 0; edge < totalEdges; edge++)
+		{
+			order[edge] = edge;
+			sortedWeights[edge] = edges.getEdgeWeight(edge);
+		} // end for
+		sort(sortedWeights, order, 0, totalEdges);
+
+		Builder<T> tree = new Builder<T>(graph);
+		DisjointSets<T> trees = DisjointSets.ofNumbers(numberOfVertices);
+		for (int index = 0; (index < totalEdges) && (trees.getNumberOfSets() > 1); index++)
+		{
+			int edge = order[index];
+			int end = edges.getEdgeTarget(edge);
+			if (trees.unionIds(origin[edge], end))
+				tree.add(origin[edge], end, sortedWeights[index]);
+		} // end for
+
+		return tree.build();
+	} // end kruskal
+
+	/** Task: Finds a minimum spanning tree by Prim's algorithm: each tree
+	 *        grows from one vertex by the lightest edge between it and the
+	 *        rest of the graph, found with an indexed heap of the vertices
+	 *        next to the tree. Takes time proportional to e log v for a
+	 *        graph of v vertices and e edges, and allocates little beyond
+	 *        the tree itself.
+	 *  @param graph  the graph to span
+	 *  @return the tree, or forest if the graph is not connected */
+	static <T> MinimumSpanningTree<T> prim(FrozenDirectedGraph<T> graph)
+	{
+		CompressedGraph edges = graph.getCompressedGraph();
+		CompressedGraph reverse = edges.getReverse();
+		int numberOfVertices = edges.getNumberOfVertices();
+		TraversalContext context = edges.getContext();
+		context.reset(numberOfVertices);
+		IndexedMinHeap priorityQueue = context.getPriorityQueue();
+		int[] forward = context.getNextEdgeArray(); // 1 if the edge to a vertex's predecessor
+		                                            // leads from the predecessor, else 0
+		Builder<T> tree = new Builder<T>(graph);
+		for (int root = 0; root < numberOfVertices; root++)
+		{
+			if (!context.isVisited(root))
+			{
+				context.visit(root);
+				context.setPredecessor(root, -1);
+				priorityQueue.add(root, 0);
+			} // end if
+
+			while (!priorityQueue.isEmpty())
+			{
+				int vertex = priorityQueue.removeMin();
+				int previousVertex = context.getPredecessor(vertex);
+				if (previousVertex >= 0)
+				{
+					if (forward[vertex] == 1)
+						tree.add(previousVertex, vertex, context.getCost(vertex));
+					else
+						tree.add(vertex, previousVertex, context.getCost(vertex));
+				} // end if
+
+				for (int edge = edges.getFirstEdge(vertex); edge < edges.getEndEdge(vertex); edge++)
+					relax(context, vertex, edges.getEdgeTarget(edge), edges.getEdgeWeight(edge), 1);
+				for (int edge = reverse.getFirstEdge(vertex); edge < reverse.getEndEdge(vertex); edge++)
+					relax(context, vertex, reverse.getEdgeTarget(edge), reverse.getEdgeWeight(edge), 0);
+			} // end while
+		} // end for
+
+		return tree.build();
+	} // end prim
+
+	/** Task: Finds a minimum spanning tree by Boruvka's algorithm. In each
+	 *        round, every tree finds the lightest edge leaving it, and all
+	 *        of those edges are added at once, so that the number of trees
+	 *        at least halves. The edges are searched in parallel, so the
+	 *        rounds take time proportional to e / p for a graph of e edges
+	 *        and p threads, and there are at most log v rounds.
+	 *  @param graph  the graph to span
+	 *  @param pool   the pool whose threads search the edges
+	 *  @return the tree, or forest if the graph is not connected */
+	static <T> MinimumSpanningTree<T> boruvka(FrozenDirectedGraph<T> graph, ForkJoinPool pool)
+	{
+		CompressedGraph edges = graph.getCompressedGraph();
+		int numberOfVertices = edges.getNumberOfVertices();
+		int totalEdges = edges.getNumberOfEdges();
+		int[] origin = getOrigins(edges);
+		int[] component = new int[numberOfVertices]; // root of each vertex's tree
+		for (int vertex = 0; vertex < numberOfVertices; vertex++)
+			component[vertex] = vertex;
+		AtomicIntegerArray lightest = new AtomicIntegerArray(numberOfVertices); // edge leaving each tree
+
+		// the edges that may still join two trees, in chunks that the tasks
+		// compact in place as edges come to lie within one tree
+		int[] live = new int[totalEdges];
+		for (int edge = 0; edge < totalEdges; edge++)
+			live[edge] = edge;
+		int[] chunkSize = new int[(totalEdges + SEQUENTIAL_THRESHOLD - 1) / SEQUENTIAL_THRESHOLD];
+		for (int chunk = 0; chunk < chunkSize.length; chunk++)
+			chunkSize[chunk] = Math.min(SEQUENTIAL_THRESHOLD, totalEdges - chunk * SEQUENTIAL_THRESHOLD);
+
+		Builder<T> tree = new Builder<T>(graph);
+		DisjointSets<T> trees = DisjointSets.ofNumbers(numberOfVertices);
+		boolean merged = numberOfVertices > 1;
+		while (merged)
+		{
+			for (int vertex = 0; vertex < numberOfVertices; vertex++)
+				lightest.lazySet(vertex, -1);
+			pool.invoke(new LightestEdgeTask(edges, origin, component, lightest, live, chunkSize,
+			                                 0, chunkSize.length));
+
+			merged = false;
+			for (int root = 0; root < numberOfVertices; root++)
+			{
+				int edge = lightest.get(root);
+				// two trees may pick the same edge, but it is added only once
+				if ( (edge >= 0) && trees.unionIds(origin[edge], edges.getEdgeTarget(edge)) )
+				{
+					tree.add(origin[edge], edges.getEdgeTarget(edge), edges.getEdgeWeight(edge));
+					merged = true;
+				} // end if
+			} // end for
+
+			for (int vertex = 0; vertex < numberOfVertices; vertex++)
+				component[vertex] = trees.findRoot(vertex);
+		} // end while
+
+		return tree.build();
+	} // end boruvka
+
+	/** Task: Gets the sum of the weights of the tree's edges. */
+	public double getTotalWeight()
+	{
+		return totalWeight;
+	} // end getTotalWeight
+
+	public int getNumberOfEdges()
+	{
+		return numberOfEdges;
+	} // end getNumberOfEdges
+
+	/** Task: Gets the number of trees in the forest, which is the number of
+	 *        connected components of the graph.
+	 *  @return 1 if the graph is connected and not empty */
+	public int getNumberOfTrees()
+	{
+		return graph.getNumberOfVertices() - numberOfEdges;
+	} // end getNumberOfTrees
+
+	/** Task: Builds a graph of the tree. It has every vertex of the
+	 *        spanned graph, and each tree edge once, in the direction the
+	 *        graph's edge had.
+	 *  @return a new graph of the tree's vertices and edges */
+	public UndirectedGraph<T> getTree()
+	{
+		int numberOfVertices = graph.getNumberOfVertices();
+
+		// sort the tree's edges by their origin to build a compressed graph
+		int[] offsets = new int[numberOfVertices + 1];
+		for (int edge = 0; edge < numberOfEdges; edge++)
+			offsets[treeBegin[edge] + 1]++;
+		for (int vertex = 0; vertex < numberOfVertices; vertex++)
+			offsets[vertex + 1] += offsets[vertex];
+
+		int[] targets = new int[numberOfEdges];
+		double[] weights = new double[numberOfEdges];
+		int[] nextPosition = java.util.Arrays.copyOf(offsets, numberOfVertices);
+		for (int edge = 0; edge < numberOfEdges; edge++)
+		{
+			int position = nextPosition[treeBegin[edge]]++;
+			targets[position] = treeEnd[edge];
+			weights[position] = treeWeight[edge];
+		} // end for
+
+		T[] labels = (T[])new Object[numberOfVertices];
+		for (int vertex = 0; vertex < numberOfVertices; vertex++)
+			labels[vertex] = graph.getLabel(vertex);
+
+		UndirectedGraph<T> result =
+		           new UndirectedGraph<T>(new HashedDictionary<T, VertexInterface<T>>(numberOfVertices));
+		result.load(new FrozenDirectedGraph<T>(labels, new CompressedGraph(offsets, targets, weights)));
+		return result;
+	} // end getTree
+
+	public String toString()
+	{
+		return "MinimumSpanningTree: " + numberOfEdges + " edges, " + getNumberOfTrees() +
+		       " trees, total weight " + totalWeight;
+	} // end toString
+
+	// offers Prim's tree the edge between a vertex it took and a neighbor
+	private static void relax(TraversalContext context, int vertex, int neighbor, double edgeWeight,
+	                          int forward)
+	{
+		IndexedMinHeap priorityQueue = context.getPriorityQueue();
+		boolean better = false;
+		if (!context.isVisited(neighbor))
+		{
+			context.visit(neighbor);
+			priorityQueue.add(neighbor, edgeWeight);
+			better = true;
+		}
+		else if (priorityQueue.contains(neighbor) && (edgeWeight < context.getCost(neighbor)))
+		{
+			priorityQueue.decreasePriority(neighbor, edgeWeight);
+			better = true;
+		} // end if
+
+		if (better)
+		{
+			context.setCost(neighbor, edgeWeight);
+			context.setPredecessor(neighbor, vertex);
+			context.getNextEdgeArray()[neighbor] = forward;
+		} // end if
+	} // end relax
+
+	// gets the origin of each edge of a compressed graph
+	private static int[] getOrigins(CompressedGraph edges)
+	{
+		int[] origin = new int[edges.getNumberOfEdges()];
+		for (int vertex = 0; vertex < edges.getNumberOfVertices(); vertex++)
+			java.util.Arrays.fill(origin, edges.getFirstEdge(vertex), edges.getEndEdge(vertex), vertex);
+
+		return origin;
+	} // end getOrigins
+
+	// sorts keys[first..last) into ascending order, moving values with them
+	private static void sort(double[] keys, int[] values, int first, int last)
+	{
+		// sort the smaller part by recursion and the larger by looping,
+		// so that the recursion is at most log n deep
+		while (last - first > INSERTION_SORT_THRESHOLD)
+		{
+			int middle = (first + last) >>> 1;
+			orderThree(keys, values, first, middle, last - 1);
+			double pivot = keys[middle];
+
+			int left = first - 1;
+			int right = last;
+			while (true)
+			{
+				do
+					left++;
+				while (keys[left] < pivot);
+				do
+					right--;
+				while (keys[right] > pivot);
+
+				if (left >= right)
+					break;
+				swap(keys, values, left, right);
+			} // end while
+
+			if (right + 1 - first < last - right - 1)
+			{
+				sort(keys, values, first, right + 1);
+				first = right + 1;
+			}
+			else
+			{
+				sort(keys, values, right + 1, last);
+				last = right + 1;
+			} // end if
+		} // end while
+
+		for (int unsorted = first + 1; unsorted < last; unsorted++)
+		{
+			double key = keys[unsorted];
+			int value = values[unsorted];
+			int index = unsorted - 1;
+			while ( (index >= first) && (keys[index] > key) )
+			{
+				keys[index + 1] = keys[index];
+				values[index + 1] = values[index];
+				index--;
+			} // end while
+
+			keys[index + 1] = key;
+			values[index + 1] = value;
+		} // end for
+	} // end sort
+
+	// puts the keys at three positions in order, so the middle one is their median
+	private static void orderThree(double[] keys, int[] values, int first, int middle, int last)
+	{
+		if (keys[middle] < keys[first])
+			swap(keys, values, first, middle);
+		if (keys[last] < keys[middle])
+		{
+			swap(keys, values, middle, last);
+			if (keys[middle] < keys[first])
+				swap(keys, values, first, middle);
+		} // end if
+	} // end orderThree
+
+	private static void swap(double[] keys, int[] values, int first, int second)
+	{
+		double key = keys[first];
+		keys[first] = keys[second];
+		keys[second] = key;
+		int value = values[first];
+		values[first] = values[second];
+		values[second] = value;
+	} // end swap
+
+	// collects the edges of a tree as they are found
+	private static class Builder<T>
+	{
+		private final FrozenDirectedGraph<T> graph;
+		private final int[] begin;
+		private final int[] end;
+		private final double[] weight;
+		private int count;
+
+		private Builder(FrozenDirectedGraph<T> graph)
+		{
+			this.graph = graph;
+			int capacity = Math.max(graph.getNumberOfVertices() - 1, 0); // the most a forest can have
+			begin = new int[capacity];
+			end = new int[capacity];
+			weight = new double[capacity];
+			count = 0;
+		} // end constructor
+
+		private void add(int edgeBegin, int edgeEnd, double edgeWeight)
+		{
+			begin[count] = edgeBegin;
+			end[count] = edgeEnd;
+			weight[count] = edgeWeight;
+			count++;
+		} // end add
+
+		private MinimumSpanningTree<T> build()
+		{
+			return new MinimumSpanningTree<T>(graph, begin, end, weight, count);
+		} // end build
+	} // end Builder
+
+	// finds the lightest edge leaving each tree among the live edges of
+	// chunks first..last-1, dropping the edges that lie within a tree; ties
+	// are broken by edge number, so that the edges chosen never form a cycle
+	private static class LightestEdgeTask extends RecursiveAction
+	{
+		private final CompressedGraph edges;
+		private final int[] origin;
+		private final int[] component;
+		private final AtomicIntegerArray lightest;
+		private final int[] live;
+		private final int[] chunkSize;
+		private final int first;
+		private final int last;
+
+		private LightestEdgeTask(CompressedGraph edges, int[] origin, int[] component,
+		                         AtomicIntegerArray lightest, int[] live, int[] chunkSize,
+		                         int first, int last)
+		{
+			this.edges = edges;
+			this.origin = origin;
+			this.component = component;
+			this.lightest = lightest;
+			this.live = live;
+			this.chunkSize = chunkSize;
+			this.first = first;
+			this.last = last;
+		} // end constructor
+
+		protected void compute()
+		{
+			if (last - first > 1)
+			{
+				int middle = (first + last) >>> 1;
+				invokeAll(new LightestEdgeTask(edges, origin, component, lightest, live, chunkSize,
+				                               first, middle),
+				          new LightestEdgeTask(edges, origin, component, lightest, live, chunkSize,
+				                               middle, last));
+			}
+			else if (last > first)
+			{
+				int start = first * SEQUENTIAL_THRESHOLD;
+				int end = start + chunkSize[first];
+				int kept = start;
+				for (int index = start; index < end; index++)
+				{
+					int edge = live[index];
+					int beginTree = component[origin[edge]];
+					int endTree = component[edges.getEdgeTarget(edge)];
+					if (beginTree != endTree)
+					{
+						live[kept++] = edge;
+						offer(beginTree, edge);
+						offer(endTree, edge);
+					} // end if
+				} // end for
+
+				chunkSize[first] = kept - start;
+			} // end if
+		} // end compute
+
+		private void offer(int tree, int edge)
+		{
+			double edgeWeight = edges.getEdgeWeight(edge);
+			boolean done = false;
+			while (!done)
+			{
+				int current = lightest.get(tree);
+				if ( (current >= 0) && ((edges.getEdgeWeight(current) < edgeWeight) ||
+				     ((edges.getEdgeWeight(current) == edgeWeight) && (current < edge))) )
+					done = true; // the tree already has a lighter edge
+				else
+					done = lightest.compareAndSet(tree, current, edge);
+			} // end while
+		} // end offer
+	} // end LightestEdgeTask
+} // end MinimumSpanningTree
@@ -0,0 +1,150 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A driver that checks the minimum spanning trees of UndirectedGraph
+ * against the simple O(n^2) form of Prim's algorithm on a matrix of
+ * weights. Each trial builds a random graph, often disconnected and every
+ * third one with many equal weights, and finds its tree by Kruskal's,
+ * Prim's and Boruvka's algorithms; Boruvka's runs both on the common pool
+ * and on a pool of three threads, so that its parallel merging is tried
+ * even on one processor. Every tree must have the least total weight,
+ * one tree for each connected component, one edge fewer than its
+ * component has vertices, and only edges of the graph.
+ *
+ * Usage: java MinimumSpanningTreeDriver [trials [seed]]
+ * Trial i uses the seed plus i, so a failing trial, which is printed with
+ * its seed, can be run alone with a trial count of 1 and that seed.
+ *
+ * @version 1.0
+ */
+public class MinimumSpanningTreeDriver
+{
+	private static final int MAX_VERTICES = 40;
+
+	public static void main(String[] args)
+	{
+		int trials = (args.length > 0) ? Integer.parseInt(args[0]) : 400;
+		long seed = (args.length > 1) ? Long.parseLong(args[1]) : 7;
+		ForkJoinPool pool = new ForkJoinPool(3);
+
+		int failures = 0;
+		for (int trial = 0; trial < trials; trial++)
+		{
+			String failure = check(seed + trial, pool);
+			if (failure != null)
+			{
+				failures++;
+				System.out.println("seed " + (seed + trial) + ": " + failure);
+			} // end if
+		} // end for
+
+		pool.shutdown();
+		System.out.println(trials + " trials, " + failures + " failed");
+		if (failures > 0)
+			System.exit(1);
+	} // end main
+
+	/** Task: Runs one trial.
+	 *  @return a description of the first error found, or null if none */
+	private static String check(long seed, ForkJoinPool pool)
+	{
+		Random generator = new Random(seed);
+		int size = 1 + generator.nextInt(MAX_VERTICES);
+		int weightRange = (seed % 3 == 0) ? 3 : 1000;
+		double[][] weight = new double[size][size]; // infinite where there is no edge
+		for (double[] row : weight)
+			Arrays.fill(row, Double.POSITIVE_INFINITY);
+
+		UndirectedGraph<Integer> graph = new UndirectedGraph<Integer>();
+		for (int vertex = 0; vertex < size; vertex++)
+			graph.addVertex(vertex);
+
+		int edgeCount = generator.nextInt(4 * size + 1);
+		for (int edge = 0; edge < edgeCount; edge++)
+		{
+			int begin = generator.nextInt(size);
+			int end = generator.nextInt(size);
+			double edgeWeight = generator.nextInt(weightRange);
+			// the edges begin to end and end to begin may both be added, and
+			// the tree may use either, so the lighter one counts
+			if (graph.addEdge(begin, end, edgeWeight))
+			{
+				weight[begin][end] = Math.min(weight[begin][end], edgeWeight);
+				weight[end][begin] = weight[begin][end];
+			} // end if
+		} // end for
+
+		// Prim's algorithm from each vertex not yet in a tree
+		boolean[] inTree = new boolean[size];
+		double expectedWeight = 0;
+		int expectedTrees = 0;
+		for (int root = 0; root < size; root++)
+		{
+			if (!inTree[root])
+			{
+				expectedTrees++;
+				double[] distance = new double[size];
+				Arrays.fill(distance, Double.POSITIVE_INFINITY);
+				distance[root] = 0;
+				int nearest = root;
+				while (nearest >= 0)
+				{
+					inTree[nearest] = true;
+					expectedWeight += distance[nearest];
+					for (int vertex = 0; vertex < size; vertex++)
+					{
+						if (!inTree[vertex])
+							distance[vertex] = Math.min(distance[vertex], weight[nearest][vertex]);
+					} // end for
+
+					nearest = -1;
+					for (int vertex = 0; vertex < size; vertex++)
+					{
+						if ( !inTree[vertex] && (distance[vertex] < Double.POSITIVE_INFINITY) &&
+						     ((nearest < 0) || (distance[vertex] < distance[nearest])) )
+							nearest = vertex;
+					} // end for
+				} // end while
+			} // end if
+		} // end for
+
+		String[] names = {"Kruskal", "Prim", "Boruvka", "Boruvka on three threads"};
+		MinimumSpanningTree<Integer>[] trees = (MinimumSpanningTree<Integer>[])new MinimumSpanningTree[]
+		{
+			graph.getMinimumSpanningTree(),
+			graph.getMinimumSpanningTreeByPrim(),
+			graph.getParallelMinimumSpanningTree(),
+			graph.getParallelMinimumSpanningTree(pool)
+		};
+
+		String failure = null;
+		for (int index = 0; (failure == null) && (index < trees.length); index++)
+		{
+			MinimumSpanningTree<Integer> tree = trees[index];
+			UndirectedGraph<Integer> treeGraph = tree.getTree();
+			if (tree.getTotalWeight() != expectedWeight)
+				failure = names[index] + " weighs " + tree.getTotalWeight() + ", not " + expectedWeight;
+			else if (tree.getNumberOfTrees() != expectedTrees)
+				failure = names[index] + " has " + tree.getNumberOfTrees() + " trees, not " + expectedTrees;
+			else if ( (treeGraph.getNumberOfVertices() != size) ||
+			          (treeGraph.getNumberOfEdges() != size - expectedTrees) ||
+			          (treeGraph.getComponentCount() != expectedTrees) )
+				failure = names[index] + " is not a spanning forest";
+			else
+			{
+				for (int begin = 0; (failure == null) && (begin < size); begin++)
+				{
+					for (int end = 0; (failure == null) && (end < size); end++)
+					{
+						if (treeGraph.hasEdge(begin, end) && !graph.hasEdge(begin, end))
+							failure = names[index] + " has " + begin + " to " + end + ", which is not an edge";
+					} // end for
+				} // end for
+			} // end if
+		} // end for
+
+		return failure;
+	} // end check
+} // end MinimumSpanningTreeDriver
@@ -0,0 +1,244 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A class of breadth-first searches over a CompressedGraph that expand each
+ * level of the search in parallel on a ForkJoinPool. A level is expanded
+ * either top-down, by following the edges out of the vertices just reached,
+ * or bottom-up, by having each unreached vertex look for an edge from them.
+ * Top-down is cheaper while the frontier is small; bottom-up is cheaper once
+ * the frontier's edges outnumber those of the unreached vertices, since a
+ * vertex stops looking as soon as it finds one edge. The search switches
+ * between the two as the frontier grows and shrinks.
+ *
+ * The vertices reached are those a sequential breadth-first traversal
+ * reaches, at the same depths, but the order of the vertices within one
+ * level depends on how the work was divided.
+ *
+ * One search object serves one search at a time.
+ *
+ * @version 1.0
+ */
+public class ParallelBreadthFirstSearch
+{
+	private static final int SEQUENTIAL_THRESHOLD = 512; // vertices per task
+	private static final int TOP_DOWN_FACTOR = 14;  // go bottom-up when frontier edges
+	                                                // exceed unreached edges / this
+	private static final int BOTTOM_UP_FACTOR = 24; // go top-down when frontier size
+	                                                // falls below vertices / this
+
+	private final CompressedGraph graph;
+	private final ForkJoinPool pool;
+	private final AtomicIntegerArray depth;  // of each reached vertex, or -1
+	private final int[] vertices;            // vertices in level order; also the frontier
+	private final AtomicInteger count;       // number of vertices reached
+	private int currentDepth;                // depth of the frontier being expanded
+
+	/** Task: Creates a search over a given graph.
+	 *  @param graph  the graph to search
+	 *  @param pool   the pool whose threads expand the levels */
+	public ParallelBreadthFirstSearch(CompressedGraph graph, ForkJoinPool pool)
+	{
+		this.graph = graph;
+		this.pool = pool;
+		int numberOfVertices = graph.getNumberOfVertices();
+		depth = new AtomicIntegerArray(numberOfVertices);
+		vertices = new int[numberOfVertices];
+		count = new AtomicInteger();
+	} // end constructor
+
+	/** Task: Creates a search over a given graph that uses the common pool.
+	 *  @param graph  the graph to search */
+	public ParallelBreadthFirstSearch(CompressedGraph graph)
+	{
+		this(graph, ForkJoinPool.commonPool());
+	} // end constructor
+
+	/** Task: Performs a breadth-first search from a given vertex.
+	 *  @param origin  the vertex at which the search begins
+	 *  @return the number of vertices reached, including the origin */
+	public int search(int origin)
+	{
+		int numberOfVertices = graph.getNumberOfVertices();
+		for (int vertex = 0; vertex < numberOfVertices; vertex++)
+			depth.lazySet(vertex, -1);
+
+		depth.set(origin, 0);
+		vertices[0] = origin;
+		count.set(1);
+
+		long unreachedEdges = graph.getNumberOfEdges() - graph.getOutDegree(origin);
+		long frontierEdges = graph.getOutDegree(origin);
+		boolean bottomUp = false;
+		int frontierStart = 0;
+		int frontierEnd = 1;
+		currentDepth = 0;
+
+		while (frontierStart < frontierEnd)
+		{
+			int frontierSize = frontierEnd - frontierStart;
+			if (!bottomUp && (frontierEdges > unreachedEdges / TOP_DOWN_FACTOR))
+				bottomUp = true;
+			else if (bottomUp && (frontierSize < numberOfVertices / BOTTOM_UP_FACTOR))
+				bottomUp = false;
+
+			if (bottomUp)
+				pool.invoke(new BottomUpTask(0, numberOfVertices));
+			else
+				pool.invoke(new TopDownTask(frontierStart, frontierEnd));
+
+			frontierStart = frontierEnd;
+			frontierEnd = count.get();
+			currentDepth++;
+
+			frontierEdges = 0;
+			for (int index = frontierStart; index < frontierEnd; index++)
+				frontierEdges += graph.getOutDegree(vertices[index]);
+			unreachedEdges -= frontierEdges;
+		} // end while
+
+		return frontierEnd;
+	} // end search
+
+	/** Task: Gets a vertex reached by the last search.
+	 *  @param index  the position of the vertex in level order
+	 *  @return the vertex */
+	public int getVertex(int index)
+	{
+		return vertices[index];
+	} // end getVertex
+
+	/** Task: Gets the number of edges on a shortest path from the origin of
+	 *        the last search to a given vertex.
+	 *  @return the depth, or -1 if the vertex was not reached */
+	public int getDepth(int vertex)
+	{
+		return depth.get(vertex);
+	} // end getDepth
+
+	/** Task: Gets the depth of every vertex from the last search.
+	 *  @return a new array of depths indexed by vertex, with -1 for
+	 *          vertices that were not reached */
+	public int[] getDepths()
+	{
+		int[] result = new int[depth.length()];
+		for (int vertex = 0; vertex < result.length; vertex++)
+			result[vertex] = depth.get(vertex);
+
+		return result;
+	} // end getDepths
+
+	// gives callers direct use of the level-order array
+	int[] getVertexArray()
+	{
+		return vertices;
+	} // end getVertexArray
+
+	// appends the vertices a task reached to the level being built
+	private void append(int[] reached, int reachedCount)
+	{
+		if (reachedCount > 0)
+		{
+			int start = count.getAndAdd(reachedCount);
+			System.arraycopy(reached, 0, vertices, start, reachedCount);
+		} // end if
+	} // end append
+
+	// expands vertices[first..last) by following their edges forward
+	private class TopDownTask extends RecursiveAction
+	{
+		private final int first;
+		private final int last;
+
+		private TopDownTask(int first, int last)
+		{
+			this.first = first;
+			this.last = last;
+		} // end constructor
+
+		protected void compute()
+		{
+			if (last - first > SEQUENTIAL_THRESHOLD)
+			{
+				int middle = (first + last) >>> 1;
+				invokeAll(new TopDownTask(first, middle), new TopDownTask(middle, last));
+			}
+			else
+			{
+				int nextDepth = currentDepth + 1;
+				int[] reached = new int[16];
+				int reachedCount = 0;
+				for (int index = first; index < last; index++)
+				{
+					int frontVertex = vertices[index];
+					int end = graph.getEndEdge(frontVertex);
+					for (int edge = graph.getFirstEdge(frontVertex); edge < end; edge++)
+					{
+						int nextNeighbor = graph.getEdgeTarget(edge);
+						if ( (depth.get(nextNeighbor) < 0) &&
+						     depth.compareAndSet(nextNeighbor, -1, nextDepth) )
+						{
+							if (reachedCount == reached.length)
+								reached = java.util.Arrays.copyOf(reached, 2 * reachedCount);
+							reached[reachedCount++] = nextNeighbor;
+						} // end if
+					} // end for
+				} // end for
+
+				append(reached, reachedCount);
+			} // end if
+		} // end compute
+	} // end TopDownTask
+
+	// has each unreached vertex in first..last-1 look for an edge from the frontier
+	private class BottomUpTask extends RecursiveAction
+	{
+		private final int first;
+		private final int last;
+
+		private BottomUpTask(int first, int last)
+		{
+			this.first = first;
+			this.last = last;
+		} // end constructor
+
+		protected void compute()
+		{
+			if (last - first > SEQUENTIAL_THRESHOLD)
+			{
+				int middle = (first + last) >>> 1;
+				invokeAll(new BottomUpTask(first, middle), new BottomUpTask(middle, last));
+			}
+			else
+			{
+				CompressedGraph reverse = graph.getReverse();
+				int nextDepth = currentDepth + 1;
+				int[] reached = new int[16];
+				int reachedCount = 0;
+				for (int vertex = first; vertex < last; vertex++)
+				{
+					if (depth.get(vertex) < 0)
+					{
+						int end = reverse.getEndEdge(vertex);
+						for (int edge = reverse.getFirstEdge(vertex); edge < end; edge++)
+						{
+							// only this task writes vertex, so no compareAndSet is needed
+							if (depth.get(reverse.getEdgeTarget(edge)) == currentDepth)
+							{
+								depth.set(vertex, nextDepth);
+								if (reachedCount == reached.length)
+									reached = java.util.Arrays.copyOf(reached, 2 * reachedCount);
+								reached[reachedCount++] = vertex;
+								break;
+							} // end if
+						} // end for
+					} // end if
+				} // end for
+
+				append(reached, reachedCount);
+			} // end if
+		} // end compute
+	} // end BottomUpTask
+} // end ParallelBreadthFirstSearch
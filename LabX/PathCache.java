@@ -0,0 +1,156 @@
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Stack;
+
+/**
+ * A class of bounded caches of the paths a graph has found between pairs
+ * of vertices. When the cache is full, the entry used least recently is
+ * evicted. The graph that owns the cache empties it whenever the graph
+ * changes. Lookups that find an entry and lookups that do not are counted.
+ * The methods are synchronized, so several threads may search the same
+ * graph at once.
+ *
+ * @version 1.0
+ */
+public class PathCache<T>
+{
+	private final int capacity;
+	private final LinkedHashMap<Pair, Path> paths; // in order of last use
+	private long hitCount;
+	private long missCount;
+
+	/** Task: Creates an empty cache.
+	 *  @param capacity  the largest number of paths kept */
+	public PathCache(int capacity)
+	{
+		if (capacity <= 0)
+			throw new IllegalArgumentException("A path cache needs a positive capacity: " + capacity);
+
+		this.capacity = capacity;
+		paths = new LinkedHashMap<Pair, Path>(16, 0.75f, true)
+		{
+			protected boolean removeEldestEntry(Map.Entry<Pair, Path> eldest)
+			{
+				return size() > PathCache.this.capacity;
+			} // end removeEldestEntry
+		};
+		hitCount = 0;
+		missCount = 0;
+	} // end constructor
+
+	/** Task: Looks up the path from one vertex to another, and if it is
+	 *        in the cache, pushes its vertices onto a given stack.
+	 *  @param begin     an object that labels the path's origin vertex
+	 *  @param end       an object that labels the path's destination vertex
+	 *  @param weighted  true for the least-cost path, or false for the
+	 *                   path with the fewest edges
+	 *  @param path      a stack that receives the labels of the vertices
+	 *                   along the path, with the origin at the top
+	 *  @return the path's cost or length as it was found, or Double.NaN
+	 *          if the path is not in the cache */
+	synchronized double get(T begin, T end, boolean weighted, Stack<T> path)
+	{
+		double result = Double.NaN;
+		Path cachedPath = paths.get(new Pair(begin, end, weighted));
+		if (cachedPath == null)
+			missCount++;
+		else
+		{
+			hitCount++;
+			path.addAll(Arrays.asList(cachedPath.vertices));
+			result = cachedPath.cost;
+		} // end if
+
+		return result;
+	} // end get
+
+	/** Task: Adds a path that a search found.
+	 *  @param cost  the path's cost or length as the search returned it
+	 *  @param path  a stack of the labels of the vertices along the path,
+	 *               with the origin at the top */
+	synchronized void put(T begin, T end, boolean weighted, double cost, Stack<T> path)
+	{
+		paths.put(new Pair(begin, end, weighted), new Path(cost, path.toArray()));
+	} // end put
+
+	/** Task: Removes all paths from the cache. The counts of hits and
+	 *        misses are kept. */
+	public synchronized void clear()
+	{
+		if (!paths.isEmpty())
+			paths.clear();
+	} // end clear
+
+	public int getCapacity()
+	{
+		return capacity;
+	} // end getCapacity
+
+	public synchronized int getSize()
+	{
+		return paths.size();
+	} // end getSize
+
+	/** Task: Gets the number of lookups that found their path. */
+	public synchronized long getHitCount()
+	{
+		return hitCount;
+	} // end getHitCount
+
+	/** Task: Gets the number of lookups that did not find their path. */
+	public synchronized long getMissCount()
+	{
+		return missCount;
+	} // end getMissCount
+
+	public synchronized String toString()
+	{
+		return "PathCache: " + paths.size() + " of " + capacity + " paths, " +
+		       hitCount + " hits, " + missCount + " misses";
+	} // end toString
+
+	private static class Pair
+	{
+		private final Object begin;
+		private final Object end;
+		private final boolean weighted;
+
+		private Pair(Object begin, Object end, boolean weighted)
+		{
+			this.begin = begin;
+			this.end = end;
+			this.weighted = weighted;
+		} // end constructor
+
+		public boolean equals(Object other)
+		{
+			boolean result = false;
+			if (other instanceof Pair)
+			{
+				Pair otherPair = (Pair)other;
+				result = begin.equals(otherPair.begin) && end.equals(otherPair.end) &&
+				         (weighted == otherPair.weighted);
+			} // end if
+
+			return result;
+		} // end equals
+
+		public int hashCode()
+		{
+			return (31 * begin.hashCode() + end.hashCode()) * 2 + (weighted ? 1 : 0);
+		} // end hashCode
+	} // end Pair
+
+	private class Path
+	{
+		private final double cost;
+		private final T[] vertices; // in the order of a stack, origin last
+
+		private Path(double cost, Object[] vertices)
+		{
+			this.cost = cost;
+			this.vertices = (T[])vertices;
+		} // end constructor
+	} // end Path
+} // end PathCache
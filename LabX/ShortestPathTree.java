@@ -0,0 +1,103 @@
+import java.util.Arrays;
+import java.util.Stack;
+
+/**
+ * A class of the least-cost paths from one vertex of a frozen graph to
+ * every vertex it reaches, found by a single run of Dijkstra's algorithm.
+ * The cost of and path to any number of destinations are then read from
+ * the tree's arrays of costs and predecessors without searching again.
+ * A tree describes the graph as it was when the tree was made; later
+ * changes to a DirectedGraph do not affect it.
+ *
+ * @version 1.0
+ */
+public class ShortestPathTree<T> implements java.io.Serializable
+{
+	private final FrozenDirectedGraph<T> graph;
+	private final T origin;
+	private final int originVertex;  // or -1 if origin is not in the graph
+	private final double[] cost;     // of the cheapest path to each vertex
+	private final int[] predecessor; // on the cheapest path to each vertex, or -1
+
+	/** Task: Creates the tree of cheapest paths from a given vertex.
+	 *  @param graph   the graph to search
+	 *  @param origin  an object that labels the origin vertex; if it is
+	 *                 not in the graph, no vertex is reachable */
+	ShortestPathTree(FrozenDirectedGraph<T> graph, T origin)
+	{
+		this.graph = graph;
+		this.origin = origin;
+		originVertex = graph.getVertexId(origin);
+		if (originVertex >= 0)
+		{
+			CompressedGraph edges = graph.getCompressedGraph();
+			cost = new double[edges.getNumberOfVertices()];
+			predecessor = new int[edges.getNumberOfVertices()];
+			edges.getCheapestPaths(originVertex, edges.getContext(), cost, predecessor);
+		}
+		else
+		{
+			cost = null;
+			predecessor = null;
+		} // end if
+	} // end constructor
+
+	public T getOrigin()
+	{
+		return origin;
+	} // end getOrigin
+
+	/** Task: Sees whether a path leads from the origin to a given vertex.
+	 *  @param end  an object that labels a vertex
+	 *  @return true if end is in the graph and can be reached */
+	public boolean isReachable(T end)
+	{
+		return getCost(end) < Double.POSITIVE_INFINITY;
+	} // end isReachable
+
+	/** Task: Gets the cost of the cheapest path from the origin to a
+	 *        given vertex.
+	 *  @param end  an object that labels the path's destination vertex
+	 *  @return the cost of the path, or Double.POSITIVE_INFINITY if there
+	 *          is none */
+	public double getCost(T end)
+	{
+		double pathCost = Double.POSITIVE_INFINITY;
+		int endVertex = graph.getVertexId(end);
+		if ( (originVertex >= 0) && (endVertex >= 0) )
+			pathCost = cost[endVertex];
+
+		return pathCost;
+	} // end getCost
+
+	/** Task: Finds the least-cost path from the origin to a given vertex.
+	 *  Precondition: path is an empty stack (NOT null)
+	 *  @param end   an object that labels the path's destination vertex
+	 *  @param path  a stack of the labels of the vertices along the path,
+	 *               with the origin at the stack's top
+	 *  @return the cost of the path, or Double.POSITIVE_INFINITY if there
+	 *          is none */
+	public double getCheapestPath(T end, Stack<T> path)
+	{
+		double pathCost = getCost(end);
+		if (pathCost < Double.POSITIVE_INFINITY)
+		{
+			int endVertex = graph.getVertexId(end);
+			int length = 0;
+			for (int vertex = endVertex; vertex >= 0; vertex = predecessor[vertex])
+				length++;
+
+			T[] pathLabels = (T[])new Object[length];
+			int index = 0;
+			for (int vertex = endVertex; vertex >= 0; vertex = predecessor[vertex])
+			{
+				pathLabels[index] = graph.getLabel(vertex);
+				index++;
+			} // end for
+
+			path.addAll(Arrays.asList(pathLabels));
+		} // end if
+
+		return pathCost;
+	} // end getCheapestPath
+} // end ShortestPathTree
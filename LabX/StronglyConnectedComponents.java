@@ -0,0 +1,149 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A class of the strongly connected components of a frozen graph: the
+ * largest sets of vertices that each have a path to all of the others.
+ * Components are numbered from 0 so that every edge between two of them
+ * leads from the larger number to the smaller; listing the components in
+ * order of their numbers is thus a topological order of the graph with
+ * each cycle collapsed to a single vertex.
+ *
+ * The components describe the graph as it was when they were found;
+ * later changes to a DirectedGraph do not affect them.
+ *
+ * @version 1.0
+ */
+public class StronglyConnectedComponents<T> implements java.io.Serializable
+{
+	private final FrozenDirectedGraph<T> graph;
+	private final int[] component;     // number of each vertex's component
+	private final int numberOfComponents;
+	private int[] memberOffsets;       // members of component c are at
+	private int[] members;             // memberOffsets[c] until memberOffsets[c + 1], or null
+
+	/** Task: Finds the components of a graph.
+	 *  @param graph  the graph to divide */
+	StronglyConnectedComponents(FrozenDirectedGraph<T> graph)
+	{
+		this.graph = graph;
+		CompressedGraph edges = graph.getCompressedGraph();
+		component = new int[edges.getNumberOfVertices()];
+		numberOfComponents = edges.getStronglyConnectedComponents(edges.getContext(), component);
+	} // end constructor
+
+	public int getNumberOfComponents()
+	{
+		return numberOfComponents;
+	} // end getNumberOfComponents
+
+	/** Task: Gets the number of the component that holds a given vertex.
+	 *  @param vertexLabel  an object that labels a vertex
+	 *  @return the component's number, or -1 if the vertex is not in
+	 *          the graph */
+	public int getComponent(T vertexLabel)
+	{
+		int vertex = graph.getVertexId(vertexLabel);
+		return (vertex < 0) ? -1 : component[vertex];
+	} // end getComponent
+
+	/** Task: Sees whether two vertices are in the same component, that
+	 *        is, whether each has a path to the other.
+	 *  @return true if both vertices are in the graph and in one component */
+	public boolean areStronglyConnected(T first, T second)
+	{
+		int firstComponent = getComponent(first);
+		return (firstComponent >= 0) && (firstComponent == getComponent(second));
+	} // end areStronglyConnected
+
+	/** Task: Sees whether the graph has no cycle. */
+	public boolean isAcyclic()
+	{
+		return numberOfComponents == component.length;
+	} // end isAcyclic
+
+	public int getComponentSize(int componentNumber)
+	{
+		checkComponent(componentNumber);
+		int[] offsets = getMemberOffsets();
+		return offsets[componentNumber + 1] - offsets[componentNumber];
+	} // end getComponentSize
+
+	/** Task: Gets the vertices of a component.
+	 *  @param componentNumber  the number of the component
+	 *  @return a list of the labels of the component's vertices
+	 *  @throws IndexOutOfBoundsException if there is no such component */
+	public List<T> getComponentMembers(int componentNumber)
+	{
+		checkComponent(componentNumber);
+		int[] offsets = getMemberOffsets();
+		List<T> result = new ArrayList<T>(offsets[componentNumber + 1] - offsets[componentNumber]);
+		for (int index = offsets[componentNumber]; index < offsets[componentNumber + 1]; index++)
+			result.add(graph.getLabel(members[index]));
+
+		return result;
+	} // end getComponentMembers
+
+	/** Task: Builds the condensation of the graph, which has a vertex for
+	 *        each component and an edge from one component to another
+	 *        wherever the graph has an edge between their vertices. The
+	 *        condensation has no cycle. Its vertices are labeled by the
+	 *        Integer numbers of the components and its edges have weight 0.
+	 *  @return a new graph of the components */
+	public DirectedGraph<Integer> getCondensation()
+	{
+		CompressedGraph edges = graph.getCompressedGraph();
+		BulkGraphLoader<Integer> loader = new BulkGraphLoader<Integer>(edges.getNumberOfEdges());
+		for (int componentNumber = 0; componentNumber < numberOfComponents; componentNumber++)
+			loader.addVertex(componentNumber);
+
+		// the loader drops the loops and repeated edges this adds
+		for (int vertex = 0; vertex < component.length; vertex++)
+		{
+			int begin = component[vertex];
+			for (int edge = edges.getFirstEdge(vertex); edge < edges.getEndEdge(vertex); edge++)
+			{
+				int end = component[edges.getEdgeTarget(edge)];
+				if (end != begin)
+					loader.addEdge(begin, end);
+			} // end for
+		} // end for
+
+		return loader.toDirectedGraph();
+	} // end getCondensation
+
+	public String toString()
+	{
+		return "StronglyConnectedComponents: " + numberOfComponents + " components of " +
+		       component.length + " vertices";
+	} // end toString
+
+	private void checkComponent(int componentNumber)
+	{
+		if ( (componentNumber < 0) || (componentNumber >= numberOfComponents) )
+			throw new IndexOutOfBoundsException("No component " + componentNumber + " of " +
+			                                    numberOfComponents);
+	} // end checkComponent
+
+	// groups the vertices by component with a counting sort, on first use
+	private synchronized int[] getMemberOffsets()
+	{
+		if (memberOffsets == null)
+		{
+			int[] offsets = new int[numberOfComponents + 1];
+			for (int vertex = 0; vertex < component.length; vertex++)
+				offsets[component[vertex] + 1]++;
+			for (int componentNumber = 0; componentNumber < numberOfComponents; componentNumber++)
+				offsets[componentNumber + 1] += offsets[componentNumber];
+
+			int[] nextPosition = java.util.Arrays.copyOf(offsets, numberOfComponents);
+			members = new int[component.length];
+			for (int vertex = 0; vertex < component.length; vertex++)
+				members[nextPosition[component[vertex]]++] = vertex;
+
+			memberOffsets = offsets;
+		} // end if
+
+		return memberOffsets;
+	} // end getMemberOffsets
+} // end StronglyConnectedComponents
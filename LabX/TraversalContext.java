@@ -0,0 +1,198 @@
+import java.lang.ref.SoftReference;
+
+/**
+ * A class of working storage for searches over a CompressedGraph: which
+ * vertices have been visited, the cost of the path found to each one and
+ * its predecessor on that path, and the queue, stack and heap the search
+ * uses. Keeping this state here rather than in the vertices leaves the
+ * graph untouched by a search, so several threads can search one graph
+ * at once as long as each uses its own context.
+ *
+ * A context serves one search at a time. The context returned by
+ * forCurrentThread is reused by every search made on that thread. It holds
+ * about 40 bytes per vertex of the largest graph the thread has searched,
+ * twice that once a search has used its reverse context. The thread keeps
+ * it only through a soft reference, so the collector may reclaim it
+ * between searches when memory runs short, and releaseForCurrentThread
+ * lets go of it at once, as a pooled thread should after searching a
+ * large graph.
+ *
+ * A vertex is visited when its mark equals the mark of the current search.
+ * Starting a search just moves to a new mark, so it does not have to touch
+ * every vertex of the graph, and a search near its origin costs time in
+ * proportion to the part of the graph it explores. The cost and
+ * predecessor of a vertex are meaningful only if the vertex is visited.
+ * The marks are indexed by vertex number, which for a DirectedGraph that
+ * has changed since it was last frozen is the number each Vertex keeps
+ * while it is in the graph, so that searching the changed graph does not
+ * first require compressing it again.
+ *
+ * @version 1.0
+ */
+public class TraversalContext
+{
+	private static final ThreadLocal<SoftReference<TraversalContext>> CONTEXTS =
+	                                           new ThreadLocal<SoftReference<TraversalContext>>();
+
+	private int capacity;           // largest number of vertices handled
+	private int[] visitMark;        // currentMark for vertices reached by the current search
+	private int currentMark;        // mark of the current search
+	private double[] cost;          // of the path to each visited vertex
+	private int[] predecessor;      // on the path to each visited vertex, or -1
+	private int[] vertices;         // vertices in the order reached; the search's queue or stack
+	private int[] nextEdge;         // first unexamined edge of each vertex on a stack
+	private IndexedMinHeap priorityQueue;
+	private TraversalContext reverseContext; // for the backward half of two-way searches
+	private int settledCount;       // vertices removed from the priority queue by the last search
+
+	/** Task: Creates a context for graphs of up to a given size.
+	 *  @param numberOfVertices  the number of vertices in the graph */
+	public TraversalContext(int numberOfVertices)
+	{
+		allocate(numberOfVertices);
+	} // end constructor
+
+	/** Task: Gets the context that searches on the calling thread share,
+	 *        enlarged if necessary to fit a graph of a given size.
+	 *  @param numberOfVertices  the number of vertices in the graph
+	 *  @return the calling thread's context */
+	public static TraversalContext forCurrentThread(int numberOfVertices)
+	{
+		SoftReference<TraversalContext> reference = CONTEXTS.get();
+		TraversalContext context = (reference == null) ? null : reference.get();
+		if (context == null)
+		{
+			context = new TraversalContext(numberOfVertices);
+			CONTEXTS.set(new SoftReference<TraversalContext>(context));
+		} // end if
+
+		return context;
+	} // end forCurrentThread
+
+	/** Task: Lets go of the calling thread's context and its reverse
+	 *        context, so that their storage can be reclaimed. The next
+	 *        search on the thread creates a context sized for its graph. */
+	public static void releaseForCurrentThread()
+	{
+		CONTEXTS.remove();
+	} // end releaseForCurrentThread
+
+	/** Task: Prepares this context for a new search, forgetting the
+	 *        results of the previous one. Takes constant time unless the
+	 *        context must grow or the previous search left entries in
+	 *        the priority queue.
+	 *  @param numberOfVertices  the number of vertices in the graph */
+	public void reset(int numberOfVertices)
+	{
+		if (numberOfVertices > capacity)
+			allocate(numberOfVertices);
+		else
+		{
+			priorityQueue.clear();
+			if (currentMark == Integer.MAX_VALUE)
+			{
+				// marks are exhausted; start over so no old mark can match
+				java.util.Arrays.fill(visitMark, 0);
+				currentMark = 0;
+			} // end if
+		} // end if
+
+		currentMark++;
+	} // end reset
+
+	public boolean isVisited(int vertex)
+	{
+		return visitMark[vertex] == currentMark;
+	} // end isVisited
+
+	public void visit(int vertex)
+	{
+		visitMark[vertex] = currentMark;
+	} // end visit
+
+	/** Task: Gets the cost of the path found to a visited vertex. */
+	public double getCost(int vertex)
+	{
+		return cost[vertex];
+	} // end getCost
+
+	public void setCost(int vertex, double newCost)
+	{
+		cost[vertex] = newCost;
+	} // end setCost
+
+	/** Task: Gets the previous vertex on the path found to a visited
+	 *        vertex.
+	 *  @return the predecessor, or -1 for the origin of the search */
+	public int getPredecessor(int vertex)
+	{
+		return predecessor[vertex];
+	} // end getPredecessor
+
+	public void setPredecessor(int vertex, int previousVertex)
+	{
+		predecessor[vertex] = previousVertex;
+	} // end setPredecessor
+
+	/** Task: Gets a vertex reached by the last traversal.
+	 *  @param index  the position of the vertex in the traversal order
+	 *  @return the vertex */
+	public int getVertex(int index)
+	{
+		return vertices[index];
+	} // end getVertex
+
+	/** Task: Gets the number of times the last one-way cheapest-path
+	 *        search took a vertex from its priority queue, a measure of the
+	 *        work it did.
+	 *  @return the number of vertices settled */
+	public int getSettledCount()
+	{
+		return settledCount;
+	} // end getSettledCount
+
+	void setSettledCount(int count)
+	{
+		settledCount = count;
+	} // end setSettledCount
+
+	/** Task: Gets a second context, owned by this one, that holds the
+	 *        backward half of a search that runs from both ends.
+	 *  @return the context for backward searches */
+	public TraversalContext getReverseContext()
+	{
+		if (reverseContext == null)
+			reverseContext = new TraversalContext(capacity);
+
+		return reverseContext;
+	} // end getReverseContext
+
+	// the following give searches direct use of the working arrays
+
+	int[] getVertexArray()
+	{
+		return vertices;
+	} // end getVertexArray
+
+	int[] getNextEdgeArray()
+	{
+		return nextEdge;
+	} // end getNextEdgeArray
+
+	IndexedMinHeap getPriorityQueue()
+	{
+		return priorityQueue;
+	} // end getPriorityQueue
+
+	private void allocate(int numberOfVertices)
+	{
+		capacity = numberOfVertices;
+		visitMark = new int[numberOfVertices];
+		currentMark = 0;
+		cost = new double[numberOfVertices];
+		predecessor = new int[numberOfVertices];
+		vertices = new int[numberOfVertices];
+		nextEdge = new int[numberOfVertices];
+		priorityQueue = new IndexedMinHeap(numberOfVertices);
+	} // end allocate
+} // end TraversalContext
@@ -1,8 +1,7 @@
 import java.util.Iterator;
 import java.util.Stack;
 import java.util.Queue;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A class that implements the ADT undirected graph.
@@ -12,14 +11,177 @@ import java.util.PriorityQueue;
  */
 public class UndirectedGraph<T> extends DirectedGraph<T>
 {
+	private transient volatile DisjointSets<T> components; // of the vertices joined by paths, or null if out of date
+
 	public UndirectedGraph()
 	{
       super();
 	} // end default constructor
+
+	public UndirectedGraph(DictionaryInterface<T, VertexInterface<T>> vertexDictionary)
+	{
+      super(vertexDictionary);
+	} // end constructor
      
    @Override
 	public Stack<T> getTopologicalOrder() 
 	{
       throw new UnsupportedOperationException( "There is no topological ordering for undirected graphs!" );
 	} // end getTopologicalOrder
+
+   @Override
+	public boolean addVertex(T vertexLabel)
+	{
+      boolean result = super.addVertex(vertexLabel);
+      if (result && (components != null))
+         components.add(vertexLabel);
+
+      return result;
+	} // end addVertex
+
+   @Override
+	public boolean addEdge(T begin, T end, double edgeWeight)
+	{
+      boolean result = super.addEdge(begin, end, edgeWeight);
+      if (result && (components != null))
+         components.union(begin, end);
+
+      return result;
+	} // end addEdge
+
+   @Override
+	public boolean removeEdge(T begin, T end)
+	{
+      boolean result = super.removeEdge(begin, end);
+      if (result && !hasEdge(end, begin))
+         components = null; // sets cannot be split, so rebuild them when next needed
+
+      return result;
+	} // end removeEdge
+
+   @Override
+	public boolean removeVertex(T vertexLabel)
+	{
+      boolean result = super.removeVertex(vertexLabel);
+      if (result)
+         components = null;
+
+      return result;
+	} // end removeVertex
+
+   @Override
+	public void clear()
+	{
+      super.clear();
+      components = null;
+	} // end clear
+
+   @Override
+	void load(FrozenDirectedGraph<T> frozenGraph)
+	{
+      super.load(frozenGraph);
+      components = null;
+	} // end load
+
+	/** Task: Sees whether a path joins two given vertices, following
+	 *        edges in either direction. The connected components are kept
+	 *        in disjoint sets that each addEdge updates, so this takes
+	 *        nearly constant time. The first query, and the first after an
+	 *        edge or vertex is removed, builds the sets again in time
+	 *        proportional to the number of vertices plus the number of edges.
+	 *        Like the other queries, it does not change the graph, so any
+	 *        number of threads may call it at once while no thread changes
+	 *        the graph.
+	 *  @return true if both vertices are in the graph and connected */
+	public boolean isConnected(T begin, T end)
+	{
+      return getComponents().isConnected(begin, end);
+	} // end isConnected
+
+	/** Task: Sees whether every vertex has a path to every other vertex.
+	 *  @return true if the graph has at most one connected component */
+	public boolean isConnected()
+	{
+      return getComponentCount() <= 1;
+	} // end isConnected
+
+	/** Task: Gets the number of connected components, in nearly constant
+	 *        time. See isConnected(T, T). */
+	public int getComponentCount()
+	{
+      return getComponents().getNumberOfSets();
+	} // end getComponentCount
+
+	/** Task: Finds a minimum spanning tree of the graph by Kruskal's
+	 *        algorithm, taking each edge to join its vertices in either
+	 *        direction. See MinimumSpanningTree.
+	 *  @return the tree, or a forest of one tree for each connected
+	 *          component if the graph is not connected */
+	public MinimumSpanningTree<T> getMinimumSpanningTree()
+	{
+      return MinimumSpanningTree.kruskal(freeze());
+	} // end getMinimumSpanningTree
+
+	/** Task: Finds a minimum spanning tree of the graph by Prim's
+	 *        algorithm, which may be faster than Kruskal's for dense
+	 *        graphs. See getMinimumSpanningTree. */
+	public MinimumSpanningTree<T> getMinimumSpanningTreeByPrim()
+	{
+      return MinimumSpanningTree.prim(freeze());
+	} // end getMinimumSpanningTreeByPrim
+
+	/** Task: Finds a minimum spanning tree of the graph by Boruvka's
+	 *        algorithm, searching the edges in parallel on the common
+	 *        fork/join pool. See getMinimumSpanningTree. */
+	public MinimumSpanningTree<T> getParallelMinimumSpanningTree()
+	{
+      return getParallelMinimumSpanningTree(ForkJoinPool.commonPool());
+	} // end getParallelMinimumSpanningTree
+
+	public MinimumSpanningTree<T> getParallelMinimumSpanningTree(ForkJoinPool pool)
+	{
+      return MinimumSpanningTree.boruvka(freeze(), pool);
+	} // end getParallelMinimumSpanningTree
+
+	// gets the disjoint sets of connected vertices, building them if they are out of date;
+	// like freeze, builds them once under the graph's lock and publishes them complete
+	private DisjointSets<T> getComponents()
+	{
+      DisjointSets<T> result = components;
+      if (result == null)
+      {
+         synchronized (this)
+         {
+            result = components;
+            if (result == null)
+            {
+               result = createComponents();
+               components = result;
+            } // end if
+         } // end synchronized
+      } // end if
+
+      return result;
+	} // end getComponents
+
+	private DisjointSets<T> createComponents()
+	{
+      FrozenDirectedGraph<T> frozenGraph = freeze();
+      CompressedGraph graph = frozenGraph.getCompressedGraph();
+      int numberOfVertices = graph.getNumberOfVertices();
+      DisjointSets<T> sets = new DisjointSets<T>(numberOfVertices);
+
+      // adding the labels in vertex order numbers them as the frozen graph does
+      for (int vertex = 0; vertex < numberOfVertices; vertex++)
+         sets.add(frozenGraph.getLabel(vertex));
+
+      for (int vertex = 0; vertex < numberOfVertices; vertex++)
+      {
+         for (int edge = graph.getFirstEdge(vertex); edge < graph.getEndEdge(vertex); edge++)
+            sets.unionIds(vertex, graph.getEdgeTarget(edge));
+      } // end for
+
+      sets.compressPaths(); // so that queries, which do not halve paths, look up one parent
+      return sets;
+	} // end createComponents
 } // end UndirectedGraph
\ No newline at end of file
@@ -1 +1 @@
-import java.util.Iterator;import java.util.NoSuchElementException;/** * A class that represents a vertex in a graph. *  * @author Frank M. Carrano * @version 2.0 */class Vertex<T> implements VertexInterface<T>, java.io.Serializable{  private T label;   private ListWithIteratorInterface<Edge> edgeList; // edges to neighbors  private boolean visited;                          // true if visited  private VertexInterface<T> previousVertex;        // on path to this vertex  private double cost;                              // of path to this vertex    public Vertex(T vertexLabel)  {    label = vertexLabel;    edgeList = new LinkedListWithIterator<Edge>();    visited = false;    previousVertex = null;     cost = 0;  } // end constructor		public T getLabel()	{		return label;	} // end getLabel	public boolean connect(VertexInterface<T> endVertex, 	                       double edgeWeight) 	{	  boolean result = false;	  	  if (!this.equals(endVertex))	  { // vertices are distinct	    Iterator<VertexInterface<T>> neighbors = this.getNeighborIterator();	    boolean duplicateEdge = false;	    	    while (!duplicateEdge && neighbors.hasNext())	    {	      VertexInterface<T> nextNeighbor = neighbors.next();	      if (endVertex.equals(nextNeighbor))	        duplicateEdge = true;	    } // end while	    	    if (!duplicateEdge)	    {	      edgeList.add(new Edge(endVertex, edgeWeight));	      result = true;	    } // end if	  } // end if	  	  return result;	} // end connect	public boolean connect(VertexInterface<T> endVertex) 	{	  return connect(endVertex, 0);	} // end connect	public Iterator<VertexInterface<T>> getNeighborIterator()	{		return new neighborIterator();	} // end getNeighborIterator	public Iterator<Double> getWeightIterator()	{		return new weightIterator();	} // end getWeightIterator	public boolean hasNeighbor()	{	  return !edgeList.isEmpty();	} // end hasNeighbor	public VertexInterface<T> getUnvisitedNeighbor()	{	  VertexInterface<T> result = null;	  	  Iterator<VertexInterface<T>> neighbors = getNeighborIterator();	  while (neighbors.hasNext() && (result == null) )	  {	    VertexInterface<T> nextNeighbor = neighbors.next();	    if (!nextNeighbor.isVisited())	      result = nextNeighbor;	  } // end while	  	  return result;	} // end getUnvisitedNeighbor	public boolean hasPredecessor()	{		return previousVertex != null;	} // end hasPredecessor	public void setPredecessor(VertexInterface<T> predecessor)	{		previousVertex = predecessor;	} // end setPredecessor		public VertexInterface<T> getPredecessor()	{		return previousVertex;	} // end getPredecessor	public void visit()	{		visited = true;	} // end visit	public void unvisit()	{		visited = false;	} // end unvisit	public boolean isVisited()	{		return visited;	} // end isVisited		public double getCost()	{		return cost;	} // end getCost		public void setCost(double newCost)	{		cost = newCost;	} // end setCost	public boolean equals(Object other)	{	  boolean result;	  	  if ((other == null) || (getClass() != other.getClass()))	    result = false;	  else	  {	    Vertex<T> otherVertex = (Vertex<T>)other;	    result = label.equals(otherVertex.label);	  } // end if	  	  return result;	} // end equals	public String toString()	{		return label.toString();	} // end toString		public void display() // for testing	{		System.out.print(label + " " );		Iterator<VertexInterface<T>> vertexIterator = getNeighborIterator();    Iterator<Double> weightIterator = getWeightIterator();        				while (vertexIterator.hasNext())		{			Vertex<T> vert = (Vertex<T>)vertexIterator.next();				System.out.print(vert + " " + weightIterator.next() + " ");		} // end while		System.out.println();	} // end display	// 31.10	protected class Edge implements java.io.Serializable	{	  private VertexInterface<T> vertex; // end vertex	  private double weight;	  	  protected Edge(VertexInterface<T> endVertex, double edgeWeight)	  {	    vertex = endVertex;	    weight = edgeWeight;	  } // end constructor	  	  protected VertexInterface<T> getEndVertex()	  {	    return vertex; 	  } // end getEndVertex	  	  protected double getWeight() 	  {	    return weight; 	  } // end getWeight		public String toString() // for testing only		{			return vertex.toString() + " " + weight;		} // end toString 	} // end Edge	private class neighborIterator implements Iterator<VertexInterface<T>>	{	  private Iterator<Edge> edges;	  	  private neighborIterator()	  {	    edges = edgeList.getIterator();	  } // end default constructor	  	  public boolean hasNext() 	  {	    return edges.hasNext();	  } // end hasNext	  	  public VertexInterface<T> next()	  {	    VertexInterface<T> nextNeighbor = null;	    	    if (edges.hasNext())	    {	      Edge edgeToNextNeighbor = edges.next();	      nextNeighbor = edgeToNextNeighbor.getEndVertex();	    }	    else	      throw new NoSuchElementException();	      	    return nextNeighbor;	  } // end next	  	  public void remove()	  {	    throw new UnsupportedOperationException();	  } // end remove	} // end neighborIterator 	private class weightIterator implements Iterator<Double>	{		private Iterator<Edge> edges;				private weightIterator()		{			edges = edgeList.getIterator();		} // end default constructor				public boolean hasNext() 		{			return edges.hasNext();		} // end hasNext				public Double next()		{			Double edgeWeight = new Double(0);						if (edges.hasNext())			{				Edge edgeToNextNeighbor = edges.next();				edgeWeight = edgeToNextNeighbor.getWeight();			}			else				throw new NoSuchElementException();					return edgeWeight;		} // end next				public void remove()		{		  throw new UnsupportedOperationException();		} // end remove	} // end weightIterator } // end Vertex
\ No newline at end of file
+import java.util.Iterator;import java.util.NoSuchElementException;/** * A class that represents a vertex in a graph. *  * @author Frank M. Carrano * @version 2.0 */class Vertex<T> implements VertexInterface<T>, java.io.Serializable{  private static final int INDEX_THRESHOLD = 16;   // degree at which neighbors are hashed    private T label;   private ListWithIteratorInterface<Edge> edgeList; // edges to neighbors  private DictionaryInterface<T, Edge> neighborIndex; // edges keyed by end vertex label;                                                    // null while degree < INDEX_THRESHOLD  private int removedCount;                         // edges in edgeList marked removed  private int id;                                   // number given by the graph, or -1  private boolean visited;                          // true if visited  private VertexInterface<T> previousVertex;        // on path to this vertex  private double cost;                              // of path to this vertex    public Vertex(T vertexLabel)  {    label = vertexLabel;    edgeList = new LinkedListWithIterator<Edge>();    neighborIndex = null;    removedCount = 0;    id = -1;    visited = false;    previousVertex = null;     cost = 0;  } // end constructor		public T getLabel()	{		return label;	} // end getLabel	public boolean connect(VertexInterface<T> endVertex, 	                       double edgeWeight) 	{	  boolean result = false;	  	  if (!this.equals(endVertex) && !hasEdgeTo(endVertex))	  { // vertices are distinct and not yet connected	    append(new Edge(endVertex, edgeWeight));	    result = true;	  } // end if	  	  return result;	} // end connect	public boolean connect(VertexInterface<T> endVertex) 	{	  return connect(endVertex, 0);	} // end connect	/** Task: Adds an edge without checking whether it duplicates one of	 *        this vertex's edges, for loading edges already known to be	 *        distinct.	 *  @param endVertex   a vertex other than this one that ends the edge	 *  @param edgeWeight  the weight of the edge */	void connectUnchecked(VertexInterface<T> endVertex, double edgeWeight)	{	  append(new Edge(endVertex, edgeWeight));	} // end connectUnchecked	public boolean hasEdgeTo(VertexInterface<T> endVertex)	{	  boolean found = false;	  	  if (neighborIndex != null)	    found = neighborIndex.contains(endVertex.getLabel());	  else	  {	    Iterator<VertexInterface<T>> neighbors = this.getNeighborIterator();	    while (!found && neighbors.hasNext())	    {	      VertexInterface<T> nextNeighbor = neighbors.next();	      if (endVertex.equals(nextNeighbor))	        found = true;	    } // end while	  } // end if	  	  return found;	} // end hasEdgeTo	/** Task: Removes the edge from this vertex to a given vertex. Once	 *        the neighbors are hashed, the edge is only marked removed,	 *        and the edge list is rebuilt without its marked edges when	 *        they outnumber the others, so removals take constant	 *        amortized time. */	public boolean disconnect(VertexInterface<T> endVertex)	{	  boolean result = false;	  	  if (neighborIndex != null)	  {	    Edge removedEdge = neighborIndex.remove(endVertex.getLabel());	    if (removedEdge != null)	    {	      removedEdge.vertex = null; // marks the edge removed	      removedCount++;	      if (2 * removedCount > edgeList.getLength())	        compact();	      result = true;	    } // end if	  }	  else	  {	    Iterator<Edge> edges = edgeList.getIterator();	    int position = 1;	    while (!result && edges.hasNext())	    {	      if (endVertex.equals(edges.next().getEndVertex()))	      {	        edgeList.remove(position);	        result = true;	      } // end if	      	      position++;	    } // end while	  } // end if	  	  return result;	} // end disconnect	// adds an edge at the end of the edge list, and hashes the neighbors	// once there are enough of them that scanning the list is slow	private void append(Edge newEdge)	{	  edgeList.add(newEdge);	  if (neighborIndex != null)	    neighborIndex.add(newEdge.getEndVertex().getLabel(), newEdge);	  else if (edgeList.getLength() >= INDEX_THRESHOLD)	  {	    neighborIndex = new HashedDictionary<T, Edge>(2 * INDEX_THRESHOLD);	    Iterator<Edge> edges = edgeList.getIterator();	    while (edges.hasNext())	    {	      Edge nextEdge = edges.next();	      neighborIndex.add(nextEdge.getEndVertex().getLabel(), nextEdge);	    } // end while	  } // end if	} // end append	// rebuilds the edge list without the edges marked removed, and stops	// hashing the neighbors if few of them are left	private void compact()	{	  ListWithIteratorInterface<Edge> liveEdges = new LinkedListWithIterator<Edge>();	  Iterator<Edge> edges = new liveEdgeIterator();	  while (edges.hasNext())	    liveEdges.add(edges.next());	  	  edgeList = liveEdges;	  removedCount = 0;	  if (edgeList.getLength() < INDEX_THRESHOLD / 2)	    neighborIndex = null;	} // end compact	public Iterator<VertexInterface<T>> getNeighborIterator()	{		return new neighborIterator();	} // end getNeighborIterator	public Iterator<Double> getWeightIterator()	{		return new weightIterator();	} // end getWeightIterator	/** Task: Creates an iterator of this vertex's edges, for searches	 *        that need the end vertex and weight of each edge together. */	Iterator<Edge> getEdgeIterator()	{	  return new liveEdgeIterator();	} // end getEdgeIterator	/** Task: Gets the number the graph gave this vertex, which stays the	 *        same while the vertex is in the graph.	 *  @return the number, or -1 if the graph has not numbered it */	int getId()	{	  return id;	} // end getId	void setId(int vertexId)	{	  id = vertexId;	} // end setId	/** Task: Gets the number of edges that begin at this vertex. */	int getNumberOfEdges()	{	  return edgeList.getLength() - removedCount;	} // end getNumberOfEdges	public boolean hasNeighbor()	{	  return edgeList.getLength() > removedCount;	} // end hasNeighbor	public VertexInterface<T> getUnvisitedNeighbor()	{	  VertexInterface<T> result = null;	  	  Iterator<VertexInterface<T>> neighbors = getNeighborIterator();	  while (neighbors.hasNext() && (result == null) )	  {	    VertexInterface<T> nextNeighbor = neighbors.next();	    if (!nextNeighbor.isVisited())	      result = nextNeighbor;	  } // end while	  	  return result;	} // end getUnvisitedNeighbor	public boolean hasPredecessor()	{		return previousVertex != null;	} // end hasPredecessor	public void setPredecessor(VertexInterface<T> predecessor)	{		previousVertex = predecessor;	} // end setPredecessor		public VertexInterface<T> getPredecessor()	{		return previousVertex;	} // end getPredecessor	public void visit()	{		visited = true;	} // end visit	public void unvisit()	{		visited = false;	} // end unvisit	public boolean isVisited()	{		return visited;	} // end isVisited		public double getCost()	{		return cost;	} // end getCost		public void setCost(double newCost)	{		cost = newCost;	} // end setCost	public boolean equals(Object other)	{	  boolean result;	  	  if ((other == null) || (getClass() != other.getClass()))	    result = false;	  else	  {	    Vertex<T> otherVertex = (Vertex<T>)other;	    result = label.equals(otherVertex.label);	  } // end if	  	  return result;	} // end equals	public int hashCode()	{	  return label.hashCode(); // equal vertices have equal labels	} // end hashCode	public String toString()	{		return label.toString();	} // end toString		public void display() // for testing	{		System.out.print(label + " " );		Iterator<VertexInterface<T>> vertexIterator = getNeighborIterator();    Iterator<Double> weightIterator = getWeightIterator();        				while (vertexIterator.hasNext())		{			Vertex<T> vert = (Vertex<T>)vertexIterator.next();				System.out.print(vert + " " + weightIterator.next() + " ");		} // end while		System.out.println();	} // end display	// 31.10	protected class Edge implements java.io.Serializable	{	  private VertexInterface<T> vertex; // end vertex	  private double weight;	  	  protected Edge(VertexInterface<T> endVertex, double edgeWeight)	  {	    vertex = endVertex;	    weight = edgeWeight;	  } // end constructor	  	  protected VertexInterface<T> getEndVertex()	  {	    return vertex; 	  } // end getEndVertex	  	  protected double getWeight() 	  {	    return weight; 	  } // end getWeight		public String toString() // for testing only		{			return vertex.toString() + " " + weight;		} // end toString 	} // end Edge	// iterates over the edges not marked removed	private class liveEdgeIterator implements Iterator<Edge>	{	  private Iterator<Edge> edges;	  private Edge nextEdge; // next edge not marked removed, or null	  	  private liveEdgeIterator()	  {	    edges = edgeList.getIterator();	    advance();	  } // end default constructor	  	  public boolean hasNext()	  {	    return nextEdge != null;	  } // end hasNext	  	  public Edge next()	  {	    if (nextEdge == null)	      throw new NoSuchElementException();	    	    Edge result = nextEdge;	    advance();	    return result;	  } // end next	  	  public void remove()	  {	    throw new UnsupportedOperationException();	  } // end remove	  	  private void advance()	  {	    nextEdge = null;	    while ( (nextEdge == null) && edges.hasNext() )	    {	      Edge candidate = edges.next();	      if (candidate.getEndVertex() != null)	        nextEdge = candidate;	    } // end while	  } // end advance	} // end liveEdgeIterator	private class neighborIterator implements Iterator<VertexInterface<T>>	{	  private Iterator<Edge> edges;	  	  private neighborIterator()	  {	    edges = new liveEdgeIterator();	  } // end default constructor	  	  public boolean hasNext() 	  {	    return edges.hasNext();	  } // end hasNext	  	  public VertexInterface<T> next()	  {	    VertexInterface<T> nextNeighbor = null;	    	    if (edges.hasNext())	    {	      Edge edgeToNextNeighbor = edges.next();	      nextNeighbor = edgeToNextNeighbor.getEndVertex();	    }	    else	      throw new NoSuchElementException();	      	    return nextNeighbor;	  } // end next	  	  public void remove()	  {	    throw new UnsupportedOperationException();	  } // end remove	} // end neighborIterator 	private class weightIterator implements Iterator<Double>	{		private Iterator<Edge> edges;				private weightIterator()		{			edges = new liveEdgeIterator();		} // end default constructor				public boolean hasNext() 		{			return edges.hasNext();		} // end hasNext				public Double next()		{			Double edgeWeight = new Double(0);						if (edges.hasNext())			{				Edge edgeToNextNeighbor = edges.next();				edgeWeight = edgeToNextNeighbor.getWeight();			}			else				throw new NoSuchElementException();					return edgeWeight;		} // end next				public void remove()		{		  throw new UnsupportedOperationException();		} // end remove	} // end weightIterator } // end Vertex
\ No newline at end of file
@@ -0,0 +1,50 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Stack;
+
+/**
+ * A class of paths through labeled vertices together with their costs, as
+ * found by FrozenDirectedGraph.getKCheapestPaths.
+ *
+ * @version 1.0
+ */
+public final class WeightedPath<T> implements java.io.Serializable
+{
+	private final List<T> vertices; // origin first
+	private final double cost;
+
+	/** Task: Creates a path.
+	 *  @param vertices  the labels of the path's vertices, origin first
+	 *  @param cost      the sum of the weights of the path's edges */
+	WeightedPath(List<T> vertices, double cost)
+	{
+		this.vertices = Collections.unmodifiableList(new ArrayList<T>(vertices));
+		this.cost = cost;
+	} // end constructor
+
+	/** Task: Gets the labels of the path's vertices, origin first. */
+	public List<T> getVertices()
+	{
+		return vertices;
+	} // end getVertices
+
+	/** Task: Pushes the labels of the path's vertices onto a stack so that
+	 *        the origin ends up on top, as getCheapestPath does.
+	 *  Precondition: path is an empty stack (NOT null) */
+	public void getPath(Stack<T> path)
+	{
+		for (int index = vertices.size() - 1; index >= 0; index--)
+			path.push(vertices.get(index));
+	} // end getPath
+
+	public double getCost()
+	{
+		return cost;
+	} // end getCost
+
+	public String toString()
+	{
+		return vertices + " " + cost;
+	} // end toString
+} // end WeightedPath